@@ -0,0 +1,83 @@
+package com.github.sfragata.gameapi.config;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The access log of the requests (logger gameapi.access), shared by the servlet and the reactive filters
+ * Each line has the fields method, path, status, latency (micros), gameId and playerId (- if the path has none). Only a
+ * sample of the requests is logged (sampleRate, between 0 and 1), the requests failed with a 5xx status are always
+ * logged
+ * @author Silvio Fragata
+ */
+class AccessLog {
+
+    static final String LOGGER_NAME = "gameapi.access";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private static final int SERVER_ERROR = 500;
+
+    private static final String NONE = "-";
+
+    private final double sampleRate;
+
+    /**
+     * Constructor
+     * @param sampleRate the fraction of the requests logged (0 logs only the failed requests, 1 logs all of them)
+     */
+    AccessLog(final double sampleRate) {
+
+        super();
+        if (!(sampleRate >= 0 && sampleRate <= 1)) {
+            throw new IllegalArgumentException("Invalid sample rate: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * @return false if the logger is disabled, so the requests aren't measured
+     */
+    boolean isEnabled() {
+
+        return LOGGER.isInfoEnabled();
+    }
+
+    /**
+     * method to log a request if it's sampled
+     * @param method the HTTP method
+     * @param path the path
+     * @param status the HTTP status
+     * @param latencyMicros the time to handle the request
+     * @param variables the variables of the path (gameId and playerId) or null
+     */
+    void log(
+        final String method,
+        final String path,
+        final int status,
+        final long latencyMicros,
+        final Map<String, String> variables) {
+
+        if (status < SERVER_ERROR && !isSampled()) {
+            return;
+        }
+        String gameId = NONE;
+        String playerId = NONE;
+        if (variables != null) {
+            gameId = variables.getOrDefault("gameId", NONE);
+            playerId = variables.getOrDefault("playerId", NONE);
+        }
+        LOGGER.info("method={} path={} status={} latencyMicros={} gameId={} playerId={}", method, path, status,
+            latencyMicros, gameId, playerId);
+    }
+
+    private boolean isSampled() {
+
+        return this.sampleRate >= 1
+            || this.sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < this.sampleRate;
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.github.sfragata.gameapi.config;
+
+import java.io.IOException;
+import java.util.Map;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Writes a sample of the requests to the access log (see {@link AccessLog})
+ * The request isn't wrapped and nothing is formatted for the requests not logged; the logger is expected to write
+ * asynchronously (see logback-spring.xml)
+ * @author Silvio Fragata
+ */
+public class AccessLogFilter
+    extends OncePerRequestFilter {
+
+    private final AccessLog accessLog;
+
+    /**
+     * Constructor
+     * @param sampleRate the fraction of the requests logged (0 logs only the failed requests, 1 logs all of them)
+     */
+    public AccessLogFilter(final double sampleRate) {
+
+        super();
+        this.accessLog = new AccessLog(sampleRate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void doFilterInternal(
+        final HttpServletRequest request,
+        final HttpServletResponse response,
+        final FilterChain filterChain)
+        throws ServletException,
+        IOException {
+
+        if (!this.accessLog.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        final long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            // an exception not handled becomes a 500 after the filter
+            this.accessLog.log(request.getMethod(), request.getRequestURI(),
+                completed ? response.getStatus() : HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                (System.nanoTime() - start) / 1000,
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE));
+        }
+    }
+
+}
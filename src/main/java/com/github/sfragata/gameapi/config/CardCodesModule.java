@@ -0,0 +1,123 @@
+package com.github.sfragata.gameapi.config;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.module.SimpleSerializers;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.github.sfragata.gameapi.domain.Card;
+
+/**
+ * Jackson module of the compact representation of the cards, used by the binary (CBOR) responses
+ * Each card is written as its code (see {@link Card#code()}, suit * 13 + face value index, one or two bytes in CBOR)
+ * instead of an object with the suit and the face value, and a list of cards (a hand or the shoe) as a byte string
+ * with one code per card. The JSON responses don't use it
+ * @author Silvio Fragata
+ *
+ */
+public class CardCodesModule
+    extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor
+     */
+    public CardCodesModule() {
+
+        super(CardCodesModule.class.getSimpleName());
+        final CardSerializers serializers = new CardSerializers();
+        serializers.addSerializer(Card.class, new CardSerializer());
+        setSerializers(serializers);
+    }
+
+    /**
+     * Serializers of the module, that also find the one of the lists of cards
+     */
+    private static final class CardSerializers
+        extends SimpleSerializers {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CardListSerializer cardListSerializer = new CardListSerializer();
+
+        CardSerializers() {
+
+            super();
+        }
+
+        @Override
+        public JsonSerializer<?> findCollectionSerializer(
+            final SerializationConfig config,
+            final CollectionType type,
+            final BeanDescription beanDesc,
+            final TypeSerializer elementTypeSerializer,
+            final JsonSerializer<Object> elementValueSerializer) {
+
+            if (List.class.isAssignableFrom(type.getRawClass()) && type.getContentType().hasRawClass(Card.class)) {
+                return this.cardListSerializer;
+            }
+            return super.findCollectionSerializer(config, type, beanDesc, elementTypeSerializer,
+                elementValueSerializer);
+        }
+
+    }
+
+    /**
+     * Writes a card as its code
+     */
+    private static final class CardSerializer
+        extends JsonSerializer<Card> {
+
+        CardSerializer() {
+
+            super();
+        }
+
+        @Override
+        public void serialize(
+            final Card card,
+            final JsonGenerator generator,
+            final SerializerProvider serializers)
+            throws IOException {
+
+            generator.writeNumber(card.code());
+        }
+
+    }
+
+    /**
+     * Writes a list of cards as a byte string of their codes
+     */
+    private static final class CardListSerializer
+        extends JsonSerializer<List<Card>> {
+
+        CardListSerializer() {
+
+            super();
+        }
+
+        @Override
+        public void serialize(
+            final List<Card> cards,
+            final JsonGenerator generator,
+            final SerializerProvider serializers)
+            throws IOException {
+
+            final byte[] codes = new byte[cards.size()];
+            for (int i = 0; i < codes.length; i++) {
+                codes[i] = cards.get(i).code();
+            }
+            generator.writeBinary(codes);
+        }
+
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.github.sfragata.gameapi.config;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.github.sfragata.gameapi.domain.Card;
+import com.github.sfragata.gameapi.domain.Player;
+import com.github.sfragata.gameapi.domain.Shoe;
+
+/**
+ * Jackson module of the JSON of the cards, the hands of the players and the shoe, written straight to the generator
+ * The JSON is the same of the bean serializers ({"suit":"HEARTS","faceValue":"ACE"} for each card), but the object of
+ * each of the 52 cards is encoded once and written as raw UTF-8 bytes, and the field names are encoded once too, so
+ * a shoe of 8 decks doesn't go through the bean serializer and the enum serializers 416 times. Only the JSON object
+ * mapper uses it, the CBOR one writes the codes of the cards (see {@link CardCodesModule})
+ * @author Silvio Fragata
+ *
+ */
+public class CardJsonModule
+    extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final SerializedString PLAYER_ID = new SerializedString("playerId");
+
+    private static final SerializedString CARDS = new SerializedString("cards");
+
+    private static final SerializedString TOTAL_VALUE = new SerializedString("totalValue");
+
+    /**
+     * the JSON object of each card, by card code
+     */
+    private static final SerializedString[] CARD_TOKENS = new SerializedString[Card.CARD_KINDS];
+
+    static {
+        for (int code = 0; code < Card.CARD_KINDS; code++) {
+            final Card card = Card.valueOf(code);
+            CARD_TOKENS[code] = new SerializedString(
+                "{\"suit\":\"" + card.getSuit().name() + "\",\"faceValue\":\"" + card.getFaceValue().name() + "\"}");
+        }
+    }
+
+    /**
+     * Constructor
+     */
+    public CardJsonModule() {
+
+        super(CardJsonModule.class.getSimpleName());
+        addSerializer(Card.class, new CardSerializer());
+        addSerializer(Player.class, new PlayerSerializer());
+        addSerializer(Shoe.class, new ShoeSerializer());
+    }
+
+    private static void writeCards(
+        final List<Card> cards,
+        final JsonGenerator generator)
+        throws IOException {
+
+        final int size = cards.size();
+        generator.writeStartArray(size);
+        for (int i = 0; i < size; i++) {
+            generator.writeRawValue(CARD_TOKENS[cards.get(i).code()]);
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Writes a card as its cached JSON object
+     */
+    private static final class CardSerializer
+        extends JsonSerializer<Card> {
+
+        CardSerializer() {
+
+            super();
+        }
+
+        @Override
+        public void serialize(
+            final Card card,
+            final JsonGenerator generator,
+            final SerializerProvider serializers)
+            throws IOException {
+
+            generator.writeRawValue(CARD_TOKENS[card.code()]);
+        }
+
+    }
+
+    /**
+     * Writes a player with the cached JSON objects of the cards in the hand
+     */
+    private static final class PlayerSerializer
+        extends JsonSerializer<Player> {
+
+        PlayerSerializer() {
+
+            super();
+        }
+
+        @Override
+        public void serialize(
+            final Player player,
+            final JsonGenerator generator,
+            final SerializerProvider serializers)
+            throws IOException {
+
+            generator.writeStartObject(player);
+            generator.writeFieldName(PLAYER_ID);
+            if (player.getPlayerId() == null) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(player.getPlayerId());
+            }
+            generator.writeFieldName(CARDS);
+            writeCards(player.getCards(), generator);
+            generator.writeFieldName(TOTAL_VALUE);
+            generator.writeNumber(player.getTotalValue());
+            generator.writeEndObject();
+        }
+
+    }
+
+    /**
+     * Writes a shoe with the cached JSON objects of the undealt cards
+     */
+    private static final class ShoeSerializer
+        extends JsonSerializer<Shoe> {
+
+        ShoeSerializer() {
+
+            super();
+        }
+
+        @Override
+        public void serialize(
+            final Shoe shoe,
+            final JsonGenerator generator,
+            final SerializerProvider serializers)
+            throws IOException {
+
+            generator.writeStartObject(shoe);
+            generator.writeFieldName(CARDS);
+            writeCards(shoe.getCards(), generator);
+            generator.writeEndObject();
+        }
+
+    }
+
+}
@@ -1,9 +1,26 @@
 package com.github.sfragata.gameapi.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.filter.CommonsRequestLoggingFilter;
 
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.github.sfragata.gameapi.helper.VirtualThreads;
+
 /**
  * Configuration class
  * @author Silvio Fragata
@@ -12,16 +29,98 @@ import org.springframework.web.filter.CommonsRequestLoggingFilter;
 @Configuration
 public class GameApiConfig {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(GameApiConfig.class);
+
     public GameApiConfig() {
 
         super();
     }
 
     /**
-     * Bean created to log (in debug mode) all requests sent to the application
+     * Bean created to log a sample of the requests sent to the application (see {@link AccessLogFilter})
+     * It's the first filter, so the latency includes the other filters
+     * @param sampleRate the fraction of the requests logged
+     * @return AccessLogFilter registered
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = Type.SERVLET)
+    @ConditionalOnProperty(name = "gameapi.access-log.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<AccessLogFilter> accessLogFilter(
+        @Value("${gameapi.access-log.sample-rate:1}") final double sampleRate) {
+
+        final FilterRegistrationBean<AccessLogFilter> registration =
+            new FilterRegistrationBean<>(new AccessLogFilter(sampleRate));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Bean created to handle each request in a new virtual thread (Java 21) instead of the pool of Tomcat workers,
+     * only with gameapi.virtual-threads.enabled=true. The number of requests handled at the same time is then only
+     * limited by server.tomcat.max-connections, server.tomcat.max-threads is ignored
+     * @return the customizer of Tomcat, that keeps the workers if the virtual threads aren't available
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = Type.SERVLET)
+    @ConditionalOnProperty(name = "gameapi.virtual-threads.enabled", havingValue = "true")
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> virtualThreadsCustomizer() {
+
+        return factory -> {
+            if (!VirtualThreads.isAvailable()) {
+                LOGGER.warn("Virtual threads aren't available in Java {}, the requests are handled by the workers",
+                    System.getProperty("java.version"));
+                return;
+            }
+            factory.addProtocolHandlerCustomizers(
+                protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("http-vt-")));
+        };
+    }
+
+    /**
+     * Bean created to write the cards, the hands and the shoe in the JSON responses without the bean serializers (see
+     * {@link CardJsonModule}), Spring Boot registers it in the JSON object mapper
+     * @return CardJsonModule
+     */
+    @Bean
+    public Module cardJsonModule() {
+
+        return new CardJsonModule();
+    }
+
+    /**
+     * Bean created to answer the requests with Accept: application/cbor in CBOR, with the cards as their codes (see
+     * {@link CardCodesModule}). It replaces the default CBOR converter, after the JSON one, so JSON is the default
+     * @param objectMapperBuilder the builder of the object mappers, with the settings of the application
+     * @return MappingJackson2CborHttpMessageConverter configured
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = Type.SERVLET)
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+        final Jackson2ObjectMapperBuilder objectMapperBuilder) {
+
+        return new MappingJackson2CborHttpMessageConverter(cborObjectMapper(objectMapperBuilder));
+    }
+
+    /**
+     * method to create the object mapper of the CBOR representation
+     * The modules to install replace the module beans (e.g. {@link CardJsonModule}), so the cards are written as codes
+     * @param objectMapperBuilder the builder of the object mappers, a new one for each bean
+     * @return the object mapper
+     */
+    static ObjectMapper cborObjectMapper(
+        final Jackson2ObjectMapperBuilder objectMapperBuilder) {
+
+        return objectMapperBuilder.factory(new CBORFactory()).modulesToInstall(new CardCodesModule()).build();
+    }
+
+    /**
+     * Bean created to log (in debug mode) all requests sent to the application, with headers and payload
+     * Only with gameapi.request-dump.enabled=true, the requests are wrapped to keep the payload
      * @return CommonsRequestLoggingFilter configured
      */
     @Bean
+    @ConditionalOnWebApplication(type = Type.SERVLET)
+    @ConditionalOnProperty(name = "gameapi.request-dump.enabled", havingValue = "true")
     public CommonsRequestLoggingFilter logFilter() {
 
         final CommonsRequestLoggingFilter filter = new CommonsRequestLoggingFilter();
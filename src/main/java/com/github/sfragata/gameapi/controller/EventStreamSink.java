@@ -0,0 +1,171 @@
+package com.github.sfragata.gameapi.controller;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.sfragata.gameapi.event.GameEventHub;
+
+/**
+ * Stream of server-sent events of a subscriber, written with the non-blocking I/O of the servlet (see
+ * {@link WriteListener}): a frame is only written when the response can take it without blocking, otherwise the
+ * container calls {@link #onWritePossible()} once it can and the subscription is resumed
+ * @author Silvio Fragata
+ */
+final class EventStreamSink
+    implements GameEventHub.Sink, WriteListener, AsyncListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventStreamSink.class);
+
+    private final AsyncContext asyncContext;
+
+    private final AtomicBoolean completed = new AtomicBoolean();
+
+    private volatile ServletOutputStream outputStream;
+
+    private volatile GameEventHub.Subscription subscription;
+
+    /**
+     * true after the headers were flushed by the container thread, so the writers never write at the same time
+     */
+    private volatile boolean started;
+
+    /**
+     * Constructor
+     * @param asyncContext the asynchronous context of the request, the response is written after the request returns
+     */
+    EventStreamSink(final AsyncContext asyncContext) {
+
+        super();
+        this.asyncContext = asyncContext;
+    }
+
+    /**
+     * method to start writing the frames of the subscription (the frames before it are kept in the subscription)
+     * @param gameSubscription the subscription
+     * @throws IOException if the response can't be written
+     */
+    void start(
+        final GameEventHub.Subscription gameSubscription)
+        throws IOException {
+
+        this.subscription = gameSubscription;
+        this.asyncContext.addListener(this);
+        this.outputStream = this.asyncContext.getResponse().getOutputStream();
+        // the container calls onWritePossible as soon as the response can be written
+        this.outputStream.setWriteListener(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isReady() {
+
+        return this.started && this.outputStream.isReady();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void send(
+        final byte[] frame)
+        throws IOException {
+
+        this.outputStream.write(frame);
+        if (this.outputStream.isReady()) {
+            this.outputStream.flush();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void complete() {
+
+        if (this.completed.compareAndSet(false, true)) {
+            this.asyncContext.complete();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onWritePossible()
+        throws IOException {
+
+        // sends the headers the first time (the client knows it's subscribed before the first change), then the end of
+        // the frame written when the response couldn't take it all
+        this.outputStream.flush();
+        this.started = true;
+        if (this.outputStream.isReady()) {
+            this.subscription.resume();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onError(
+        final Throwable throwable) {
+
+        LOGGER.debug("Stream of events failed: {}", throwable.toString());
+        this.subscription.cancel();
+        complete();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onComplete(
+        final AsyncEvent event) {
+
+        this.completed.set(true);
+        this.subscription.cancel();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onTimeout(
+        final AsyncEvent event) {
+
+        this.subscription.cancel();
+        complete();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onError(
+        final AsyncEvent event) {
+
+        onError(event.getThrowable());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onStartAsync(
+        final AsyncEvent event) {
+
+        // the listener is added after the request started the asynchronous processing
+    }
+
+}
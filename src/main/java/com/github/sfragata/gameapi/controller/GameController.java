@@ -1,44 +1,79 @@
 package com.github.sfragata.gameapi.controller;
 
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.github.sfragata.gameapi.domain.BatchDeal;
+import com.github.sfragata.gameapi.domain.DealRequest;
+import com.github.sfragata.gameapi.domain.DealResult;
 import com.github.sfragata.gameapi.domain.Deck;
 import com.github.sfragata.gameapi.domain.Game;
 import com.github.sfragata.gameapi.domain.Player;
+import com.github.sfragata.gameapi.event.GameChangeLog;
+import com.github.sfragata.gameapi.event.GameEventHub;
 import com.github.sfragata.gameapi.exception.GameAlreadyExistsException;
+import com.github.sfragata.gameapi.exception.GameBusyException;
 import com.github.sfragata.gameapi.exception.GameNotFoundException;
 import com.github.sfragata.gameapi.exception.PlayerNotFoundException;
+import com.github.sfragata.gameapi.helper.RandomStrategy;
 import com.github.sfragata.gameapi.service.GameService;
-import com.github.sfragata.gameapi.service.PlayerService;
+import com.github.sfragata.gameapi.service.PlayerIdGenerator;
 
 /**
- * Controller class serving all endpoints for the application
+ * Controller class serving all endpoints for the application (the reactive application uses GameRoutes instead)
  * @author Silvio Fragata
  *
  */
 @RestController
 @RequestMapping("/gameapi")
+@ConditionalOnWebApplication(type = Type.SERVLET)
 public class GameController {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private static final String INVALID_PAGE = "Invalid page %d of size %d";
+
+    private static final String INVALID_VERSION = "Invalid version %d";
+
     @Autowired
     private GameService gameService;
 
     @Autowired
-    private PlayerService playerService;
+    private PlayerIdGenerator playerIdGenerator;
 
-    private final AtomicInteger atomicInteger = new AtomicInteger(1);
+    @Autowired
+    private GameEventHub gameEventHub;
+
+    @Autowired
+    private GameChangeLog gameChangeLog;
+
+    @Value("${gameapi.events.timeout:30m}")
+    private Duration eventsTimeout;
 
     public GameController() {
 
@@ -48,19 +83,25 @@ public class GameController {
     /**
      * POST method to create a Game
      * @param gameId the game id
+     * @param random the random strategy used to shuffle the game (optional, the configured one is used if not passed)
+     * @param seed the seed of the random strategy (required by the SEEDED strategy)
      * @return HTTP status 201 if OK or HTTP status 400 with a message with the error
      */
     @PostMapping("/{gameId}")
     public ResponseEntity<String> createGame(
-        @PathVariable final Integer gameId) {
+        @PathVariable final Integer gameId,
+        @RequestParam(required = false) final RandomStrategy random,
+        @RequestParam(required = false) final Long seed) {
 
         try {
             final var game = new Game();
             game.setGameId(gameId);
+            game.setRandomStrategy(random);
+            game.setSeed(seed);
             this.gameService.createGame(game);
             return ResponseEntity.status(HttpStatus.CREATED).build();
-        } catch (final GameAlreadyExistsException gameAlreadyExistsException) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(gameAlreadyExistsException.getMessage());
+        } catch (final GameAlreadyExistsException | IllegalArgumentException exception) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exception.getMessage());
         }
 
     }
@@ -111,9 +152,11 @@ public class GameController {
         @PathVariable final Integer gameId) {
 
         try {
-            final var player = new Player(this.atomicInteger.getAndIncrement());
+            final var player = new Player(this.playerIdGenerator.nextId());
+            // the player added is dealt cards by other requests, so the response is the player before it's added
+            final Player added = player.copy();
             this.gameService.addPlayer(gameId, player);
-            return ResponseEntity.status(HttpStatus.OK).body(player);
+            return ResponseEntity.status(HttpStatus.OK).body(added);
         } catch (final GameNotFoundException gameNotFoundException) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(gameNotFoundException.getMessage());
         }
@@ -144,18 +187,53 @@ public class GameController {
      * POST method to deal a card to a Player from the Game
      * @param gameId the game id
      * @param playerId the player id
-     * @return HTTP status 200 with the Game object if OK or HTTP status 404 if the game or the player passed is not found (with message error)
+     * @param full if the whole Game object must be returned instead of only the result of the deal (default false)
+     * @return HTTP status 200 with the result of the deal (or the Game object if full) if OK or HTTP status 404 if the game or the player passed is not found (with message error)
      */
     @PostMapping("/{gameId}/player/{playerId}/deal")
     public ResponseEntity<?> dealCards(
         @PathVariable final Integer gameId,
-        @PathVariable final Integer playerId) {
+        @PathVariable final Integer playerId,
+        @RequestParam(defaultValue = "false") final boolean full) {
+
+        try {
+            if (full) {
+                final Game game = this.gameService.dealCards(gameId, playerId);
+                return ResponseEntity.status(HttpStatus.OK).body(game);
+            }
+            final DealResult dealResult = this.gameService.dealCard(gameId, playerId);
+            return ResponseEntity.status(HttpStatus.OK).body(dealResult);
+        } catch (final GameNotFoundException | PlayerNotFoundException exception) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(exception.getMessage());
+        }
+
+    }
+
+    /**
+     * POST method to deal cards to several Players from the Game in one request
+     * Without body, the cards are dealt in rounds to all players. With body, each item has the player id and how many
+     * cards must be dealt to the player
+     * @param gameId the game id
+     * @param cards how many cards must be dealt to each player when there is no body (default 1)
+     * @param dealRequests the list of player ids and how many cards must be dealt to each one (optional)
+     * @return HTTP status 200 with the cards dealt to each player and their totals if OK, HTTP status 400 if the number
+     *         of cards is invalid or HTTP status 404 if the game or any of the players passed is not found (with message
+     *         error)
+     */
+    @PostMapping("/{gameId}/deal")
+    public ResponseEntity<?> dealCardsBatch(
+        @PathVariable final Integer gameId,
+        @RequestParam(defaultValue = "1") final int cards,
+        @RequestBody(required = false) final List<DealRequest> dealRequests) {
 
         try {
-            final Game game = this.gameService.dealCards(gameId, playerId);
-            return ResponseEntity.status(HttpStatus.OK).body(game);
+            final BatchDeal batchDeal = dealRequests == null ? this.gameService.dealRound(gameId, cards)
+                : this.gameService.dealCards(gameId, dealRequests);
+            return ResponseEntity.status(HttpStatus.OK).body(batchDeal);
         } catch (final GameNotFoundException | PlayerNotFoundException exception) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(exception.getMessage());
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(illegalArgumentException.getMessage());
         }
 
     }
@@ -164,16 +242,21 @@ public class GameController {
      * GET method to get a Player from the Game
      * @param gameId the game id
      * @param playerId the player id
-     * @return HTTP status 200 with the Player object if OK or HTTP status 404 if the game or the player passed is not found (with message error)
+     * @param request the request, with the ETag of the game the client has (optional, header If-None-Match)
+     * @return HTTP status 200 with the Player object if OK, HTTP status 304 if the game didn't change or HTTP status
+     *         404 if the game or the player passed is not found (with message error)
      */
     @GetMapping("/{gameId}/player/{playerId}")
     public ResponseEntity<?> getPlayer(
         @PathVariable final Integer gameId,
-        @PathVariable final Integer playerId) {
+        @PathVariable final Integer playerId,
+        final WebRequest request) {
 
         try {
-            final Game game = this.gameService.getGame(gameId);
-            final Player player = this.playerService.getPlayer(playerId, game.getPlayers());
+            if (request.checkNotModified(eTag(this.gameService.getGame(gameId)))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+            final Player player = this.gameService.getPlayer(gameId, playerId);
             return ResponseEntity.status(HttpStatus.OK).body(player);
         } catch (final GameNotFoundException | PlayerNotFoundException exception) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(exception.getMessage());
@@ -182,20 +265,47 @@ public class GameController {
     }
 
     /**
-     * GET method to get all Players from the Game
+     * GET method to get the Players from the Game, from the highest total value to the lowest
      * @param gameId the game id
-     * @return HTTP status 200 with the list of Players if OK or HTTP status 404 if the game or the player passed is not found (with message error)
+     * @param top returns only the first players (optional)
+     * @param page the page of players, starting at 0 (optional, used when top isn't passed)
+     * @param size the number of players per page (optional, 20 by default)
+     * @param request the request, with the ETag of the game the client has (optional, header If-None-Match)
+     * @return HTTP status 200 with the list of Players if OK, HTTP status 304 if the game didn't change, HTTP status
+     *         400 if top, page or size are invalid or HTTP status 404 if the game passed is not found (with message
+     *         error)
      */
     @GetMapping("/{gameId}/players")
     public ResponseEntity<?> listPlayer(
-        @PathVariable final Integer gameId) {
+        @PathVariable final Integer gameId,
+        @RequestParam(required = false) final Integer top,
+        @RequestParam(required = false) final Integer page,
+        @RequestParam(required = false) final Integer size,
+        final WebRequest request) {
 
         try {
-            final var listPlayers = this.gameService.listPlayers(gameId);
-            Collections.sort(listPlayers, Comparator.reverseOrder());
+            if (request.checkNotModified(eTag(this.gameService.getGame(gameId)))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+            final List<Player> listPlayers;
+            if (top != null) {
+                listPlayers = this.gameService.listPlayers(gameId, 0, top);
+            } else if (page != null || size != null) {
+                final int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+                final int pageNumber = page != null ? page : 0;
+                if (pageSize < 1 || pageNumber < 0) {
+                    throw new IllegalArgumentException(String.format(INVALID_PAGE, pageNumber, pageSize));
+                }
+                listPlayers = this.gameService.listPlayers(gameId, (int) Math.min((long) pageNumber * pageSize,
+                    Integer.MAX_VALUE), pageSize);
+            } else {
+                listPlayers = this.gameService.listPlayers(gameId);
+            }
             return ResponseEntity.status(HttpStatus.OK).body(listPlayers);
         } catch (final GameNotFoundException gameNotFoundException) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(gameNotFoundException.getMessage());
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(illegalArgumentException.getMessage());
         }
 
     }
@@ -203,13 +313,19 @@ public class GameController {
     /**
      * GET method to list the cards undealt grouped by Suit in the game
      * @param gameId the game id
-     * @return HTTP status 200 with the list of cards if OK or HTTP status 404 if the game passed is not found (with message error)
+     * @param request the request, with the ETag of the game the client has (optional, header If-None-Match)
+     * @return HTTP status 200 with the list of cards if OK, HTTP status 304 if the game didn't change or HTTP status
+     *         404 if the game passed is not found (with message error)
      */
     @GetMapping("/{gameId}/deck")
     public ResponseEntity<?> listCardsUndealtBySuit(
-        @PathVariable final Integer gameId) {
+        @PathVariable final Integer gameId,
+        final WebRequest request) {
 
         try {
+            if (request.checkNotModified(eTag(this.gameService.getGame(gameId)))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
             return ResponseEntity.status(HttpStatus.OK).body(this.gameService.findCardsBySuit(gameId));
         } catch (final GameNotFoundException gameNotFoundException) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(gameNotFoundException.getMessage());
@@ -220,13 +336,19 @@ public class GameController {
     /**
      * GET method to list remaining cards in the game
      * @param gameId the game id
-     * @return HTTP status 200 with the list of remaining cards if OK or HTTP status 404 if the game passed is not found (with message error)
+     * @param request the request, with the ETag of the game the client has (optional, header If-None-Match)
+     * @return HTTP status 200 with the list of remaining cards if OK, HTTP status 304 if the game didn't change or HTTP
+     *         status 404 if the game passed is not found (with message error)
      */
     @GetMapping("/{gameId}/deck/cards")
     public ResponseEntity<?> listRemaingCards(
-        @PathVariable final Integer gameId) {
+        @PathVariable final Integer gameId,
+        final WebRequest request) {
 
         try {
+            if (request.checkNotModified(eTag(this.gameService.getGame(gameId)))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
             return ResponseEntity.status(HttpStatus.OK).body(this.gameService.findRemaingCards(gameId));
         } catch (final GameNotFoundException gameNotFoundException) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(gameNotFoundException.getMessage());
@@ -252,4 +374,110 @@ public class GameController {
 
     }
 
+    /**
+     * GET method to get the changes of the Game after the version the client has (instead of getting the game again)
+     * The response has the current version and the changes, each one with the version after it, the type and the same
+     * fields of the server-sent events. When the changes aren't kept anymore (only the last gameapi.changes.size are)
+     * resync is true and the client must get the game again
+     * @param gameId the game id
+     * @param since the version the client has
+     * @param request the request, with the ETag of the game the client has (optional, header If-None-Match)
+     * @return HTTP status 200 with the changes if OK, HTTP status 304 if the game didn't change, HTTP status 400 if the
+     *         version is invalid or HTTP status 404 if the game passed is not found (with message error)
+     */
+    @GetMapping("/{gameId}/changes")
+    public ResponseEntity<String> listChanges(
+        @PathVariable final Integer gameId,
+        @RequestParam final long since,
+        final WebRequest request) {
+
+        if (since < 0) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(String.format(INVALID_VERSION, since));
+        }
+        try {
+            final Game game = this.gameService.getGame(gameId);
+            // the version is read before the changes, so the ETag is never newer than the response
+            final long version = game.getVersion();
+            if (request.checkNotModified(eTag(game.getCreatedAt(), version))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+            return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_JSON)
+                .body(this.gameChangeLog.changesSince(gameId, since, version));
+        } catch (final GameNotFoundException gameNotFoundException) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(gameNotFoundException.getMessage());
+        }
+
+    }
+
+    /**
+     * GET method to subscribe to the changes of the Game, as server-sent events (instead of polling the game)
+     * Each event has the game version as id, its type (DECK_ADDED, PLAYER_ADDED, PLAYER_REMOVED, CARDS_DEALT,
+     * SHOE_SHUFFLED, or GAME_DELETED and GAME_EVICTED, that end the stream) and a JSON with the version and the players
+     * and cards. A client too slow to read the events receives a RESYNC event instead of the events it missed, and must
+     * get the game again, and a client that doesn't read them at all is dropped (its stream ends)
+     * The stream is written without blocking by the writers of {@link GameEventHub} (see {@link EventStreamSink})
+     * @param gameId the game id
+     * @param request the request, processed asynchronously
+     * @param response the response, HTTP status 200 with the stream of events if OK or HTTP status 404 if the game
+     *        passed is not found (with message error)
+     * @throws IOException if the message error can't be written
+     */
+    @GetMapping("/{gameId}/events")
+    public void subscribe(
+        @PathVariable final Integer gameId,
+        final HttpServletRequest request,
+        final HttpServletResponse response)
+        throws IOException {
+
+        final AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(this.eventsTimeout.toMillis());
+        final EventStreamSink sink = new EventStreamSink(asyncContext);
+        // subscribed before checking the game, so no change after the check is missed
+        final GameEventHub.Subscription subscription = this.gameEventHub.subscribe(gameId, sink);
+        try {
+            this.gameService.getGame(gameId);
+        } catch (final GameNotFoundException gameNotFoundException) {
+            subscription.cancel();
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write(gameNotFoundException.getMessage());
+            sink.complete();
+            return;
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        sink.start(subscription);
+    }
+
+    /**
+     * method to get the ETag of the state of a game, read before the state so the ETag is never newer than the response
+     * (the creation time tells apart a game deleted and created again with the same id)
+     */
+    private static String eTag(
+        final Game game) {
+
+        return eTag(game.getCreatedAt(), game.getVersion());
+    }
+
+    private static String eTag(
+        final long createdAt,
+        final long version) {
+
+        return "\"" + createdAt + '-' + version + '"';
+    }
+
+    /**
+     * Handler of the operations rejected because the game has too many pending operations
+     * @param gameBusyException the exception
+     * @return HTTP status 429 with message error, the client may retry after one second
+     */
+    @ExceptionHandler(GameBusyException.class)
+    public ResponseEntity<String> gameBusy(
+        final GameBusyException gameBusyException) {
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1")
+            .body(gameBusyException.getMessage());
+    }
+
 }
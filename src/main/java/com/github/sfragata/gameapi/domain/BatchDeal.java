@@ -0,0 +1,56 @@
+package com.github.sfragata.gameapi.domain;
+
+import java.util.List;
+
+/**
+ * Domain object representing the result of a batch deal: the cards dealt to each player and how many cards are left
+ * in the game deck (shoe) and the game version after the deal
+ * @author Silvio Fragata
+ */
+public class BatchDeal {
+
+    private final Integer gameId;
+
+    private final List<PlayerDeal> deals;
+
+    private final int remainingCards;
+
+    private final long version;
+
+    /**
+     * Constructor
+     * @param gameId the game id
+     * @param deals the cards dealt to each player
+     * @param remainingCards how many cards are left in the shoe
+     * @param version the game version after the deal
+     */
+    public BatchDeal(final Integer gameId, final List<PlayerDeal> deals, final int remainingCards, final long version) {
+
+        super();
+        this.gameId = gameId;
+        this.deals = deals;
+        this.remainingCards = remainingCards;
+        this.version = version;
+    }
+
+    public Integer getGameId() {
+
+        return this.gameId;
+    }
+
+    public List<PlayerDeal> getDeals() {
+
+        return this.deals;
+    }
+
+    public int getRemainingCards() {
+
+        return this.remainingCards;
+    }
+
+    public long getVersion() {
+
+        return this.version;
+    }
+
+}
@@ -1,22 +1,61 @@
 package com.github.sfragata.gameapi.domain;
 
 import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
 import java.util.Objects;
 
 /**
  * Domain class representing a Card
  * The information stored are: The Suit of the card and the Face with value of card
+ * The card is immutable and can be encoded in one byte (suit * 13 + face), the 52 canonical cards are shared
+ * (flyweight) and can be obtained by {@link #valueOf(Suit, FaceValue)} or {@link #valueOf(int)}
+ * The order of the cards (by suit and then by face value from the highest to the lowest) is precomputed as a rank, so
+ * comparing cards doesn't allocate and the cards can be sorted by counting them (see {@link #sort(List)})
  * @author Silvio Fragata
  */
 public class Card
     implements Comparable<Card> {
 
-    private Suit suit;
+    /**
+     * Number of distinct cards (suit and face value)
+     */
+    public static final int CARD_KINDS = Suit.values().length * FaceValue.values().length;
+
+    private static final FaceValue[] FACE_VALUES = FaceValue.values();
+
+    private static final Suit[] SUITS = Suit.values();
+
+    private static final Card[] CARDS = new Card[CARD_KINDS];
+
+    private static final Card[] CARDS_BY_RANK = new Card[CARD_KINDS];
+
+    static {
+        for (final Suit suit : SUITS) {
+            for (final FaceValue faceValue : FACE_VALUES) {
+                final Card card = new Card(suit, faceValue);
+                CARDS[card.code] = card;
+                CARDS_BY_RANK[card.rank] = card;
+            }
+        }
+    }
+
+    /**
+     * Comparator by rank, the same order of {@link #compareTo(Card)}
+     */
+    public static final Comparator<Card> RANK_ORDER = (card1, card2) -> Integer.compare(card1.rank, card2.rank);
 
-    private FaceValue faceValue;
+    private final Suit suit;
+
+    private final FaceValue faceValue;
+
+    private final byte code;
+
+    private final int rank;
 
     /**
      * Constructor
+     * Prefer {@link #valueOf(Suit, FaceValue)} that returns the shared instance
      * @param suit the Suit
      * @param faceValue the face value
      */
@@ -25,28 +64,106 @@ public class Card
         super();
         this.suit = suit;
         this.faceValue = faceValue;
+        this.code = encode(suit, faceValue);
+        this.rank = suit.ordinal() * FACE_VALUES.length + FACE_VALUES.length - faceValue.getValue();
     }
 
-    public Suit getSuit() {
+    /**
+     * Method to return the shared card instance
+     * @param suit the Suit
+     * @param faceValue the face value
+     * @return the card
+     */
+    public static Card valueOf(
+        final Suit suit,
+        final FaceValue faceValue) {
 
-        return this.suit;
+        return CARDS[encode(suit, faceValue)];
     }
 
-    public void setSuit(
-        final Suit suit) {
+    /**
+     * Method to decode a card
+     * @param code the card code (see {@link #code()})
+     * @return the shared card instance
+     */
+    public static Card valueOf(
+        final int code) {
 
-        this.suit = suit;
+        return CARDS[code];
     }
 
-    public FaceValue getFaceValue() {
+    /**
+     * Method to return the card in a position of the order of the cards
+     * @param rank the rank (see {@link #rank()})
+     * @return the shared card instance
+     */
+    public static Card valueOfRank(
+        final int rank) {
 
-        return this.faceValue;
+        return CARDS_BY_RANK[rank];
     }
 
-    public void setFaceValue(
+    /**
+     * Method to sort the cards by rank (the same order of {@link #compareTo(Card)}) counting how many cards there are of
+     * each of the 52 kinds, so it takes linear time
+     * The sorted list has the shared card instances
+     * @param cards the list of cards to be sorted
+     */
+    public static void sort(
+        final List<Card> cards) {
+
+        final int[] counts = new int[CARD_KINDS];
+        for (final Card card : cards) {
+            counts[card.rank]++;
+        }
+        final ListIterator<Card> iterator = cards.listIterator();
+        for (int rank = 0; rank < CARD_KINDS; rank++) {
+            final Card card = CARDS_BY_RANK[rank];
+            for (int i = counts[rank]; i > 0; i--) {
+                iterator.next();
+                iterator.set(card);
+            }
+        }
+    }
+
+    /**
+     * Method to encode a card in one byte
+     * @param suit the Suit
+     * @param faceValue the face value
+     * @return the code of the card, from 0 to 51
+     */
+    public static byte encode(
+        final Suit suit,
         final FaceValue faceValue) {
 
-        this.faceValue = faceValue;
+        return (byte) (suit.ordinal() * FACE_VALUES.length + faceValue.ordinal());
+    }
+
+    /**
+     * @return the code of the card, from 0 to 51
+     */
+    public byte code() {
+
+        return this.code;
+    }
+
+    /**
+     * @return the position of the card in the order of the cards (by suit and then by face value from the highest to
+     *         the lowest), from 0 to 51
+     */
+    public int rank() {
+
+        return this.rank;
+    }
+
+    public Suit getSuit() {
+
+        return this.suit;
+    }
+
+    public FaceValue getFaceValue() {
+
+        return this.faceValue;
     }
 
     @Override
@@ -86,8 +203,7 @@ public class Card
     public int compareTo(
         final Card pCard) {
 
-        return Comparator.comparing(Card::getSuit)
-            .thenComparing(card -> card.getFaceValue().getValue(), Comparator.reverseOrder()).compare(this, pCard);
+        return Integer.compare(this.rank, pCard.rank);
 
     }
 
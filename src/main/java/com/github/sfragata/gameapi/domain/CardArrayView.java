@@ -0,0 +1,57 @@
+package com.github.sfragata.gameapi.domain;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * List of cards backed by a range of an array of card codes (see {@link Card#code()})
+ * The list is read only
+ * @author Silvio Fragata
+ */
+class CardArrayView
+    extends AbstractList<Card>
+    implements RandomAccess {
+
+    private final byte[] codes;
+
+    private final int fromIndex;
+
+    private final int toIndex;
+
+    /**
+     * Constructor
+     * @param codes the array of card codes
+     * @param fromIndex the first index (inclusive)
+     * @param toIndex the last index (exclusive)
+     */
+    CardArrayView(final byte[] codes, final int fromIndex, final int toIndex) {
+
+        super();
+        this.codes = codes;
+        this.fromIndex = fromIndex;
+        this.toIndex = toIndex;
+    }
+
+    @Override
+    public Card get(
+        final int index) {
+
+        return Card.valueOf(this.codes[arrayIndex(index)]);
+    }
+
+    @Override
+    public int size() {
+
+        return this.toIndex - this.fromIndex;
+    }
+
+    private int arrayIndex(
+        final int index) {
+
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return this.fromIndex + index;
+    }
+
+}
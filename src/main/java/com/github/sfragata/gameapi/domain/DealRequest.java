@@ -0,0 +1,55 @@
+package com.github.sfragata.gameapi.domain;
+
+/**
+ * Domain object representing how many cards must be dealt to a player in a batch deal
+ * @author Silvio Fragata
+ */
+public class DealRequest {
+
+    private Integer playerId;
+
+    private int count = 1;
+
+    /**
+     * Default constructor
+     */
+    public DealRequest() {
+
+        super();
+    }
+
+    /**
+     * Constructor
+     * @param playerId the player id
+     * @param count how many cards must be dealt to the player
+     */
+    public DealRequest(final Integer playerId, final int count) {
+
+        super();
+        this.playerId = playerId;
+        this.count = count;
+    }
+
+    public Integer getPlayerId() {
+
+        return this.playerId;
+    }
+
+    public void setPlayerId(
+        final Integer playerId) {
+
+        this.playerId = playerId;
+    }
+
+    public int getCount() {
+
+        return this.count;
+    }
+
+    public void setCount(
+        final int count) {
+
+        this.count = count;
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.github.sfragata.gameapi.domain;
+
+/**
+ * Domain object representing the result of dealing a card to a player: the card dealt (null if the game deck is empty),
+ * the player's new total value, how many cards are left in the game deck (shoe) and the game version after the deal
+ * @author Silvio Fragata
+ */
+public class DealResult {
+
+    private final Integer gameId;
+
+    private final Integer playerId;
+
+    private final Card card;
+
+    private final int totalValue;
+
+    private final int remainingCards;
+
+    private final long version;
+
+    /**
+     * Constructor
+     * @param gameId the game id
+     * @param playerId the player id
+     * @param card the card dealt or null if no card was dealt
+     * @param totalValue the player's total value
+     * @param remainingCards how many cards are left in the shoe
+     * @param version the game version
+     */
+    public DealResult(final Integer gameId, final Integer playerId, final Card card, final int totalValue,
+        final int remainingCards, final long version) {
+
+        super();
+        this.gameId = gameId;
+        this.playerId = playerId;
+        this.card = card;
+        this.totalValue = totalValue;
+        this.remainingCards = remainingCards;
+        this.version = version;
+    }
+
+    public Integer getGameId() {
+
+        return this.gameId;
+    }
+
+    public Integer getPlayerId() {
+
+        return this.playerId;
+    }
+
+    public Card getCard() {
+
+        return this.card;
+    }
+
+    public int getTotalValue() {
+
+        return this.totalValue;
+    }
+
+    public int getRemainingCards() {
+
+        return this.remainingCards;
+    }
+
+    public long getVersion() {
+
+        return this.version;
+    }
+
+}
@@ -6,10 +6,12 @@ import java.util.List;
 
 /**
  * This class represents a Deck of cards -> 52 Cards. 13 Clubs, Diamonds, Spades, and Hearts. (Suit and FaceValue Enums)
+ * All decks share the same list of (immutable) cards
  * @author Silvio Fragata
  */
 public class Deck {
-    private final List<Card> cards = new ArrayList<>(52);
+
+    private static final List<Card> CARDS = initCards();
 
     /**
      * Default constructor
@@ -17,21 +19,22 @@ public class Deck {
     public Deck() {
 
         super();
-        initCards();
     }
 
     public List<Card> getCards() {
 
-        return Collections.unmodifiableList(this.cards);
+        return CARDS;
     }
 
-    private void initCards() {
+    private static List<Card> initCards() {
 
+        final List<Card> cards = new ArrayList<>(Card.CARD_KINDS);
         for (final Suit suit : Suit.values()) {
             for (final FaceValue faceValue : FaceValue.values()) {
-                this.cards.add(new Card(suit, faceValue));
+                cards.add(Card.valueOf(suit, faceValue));
             }
         }
+        return Collections.unmodifiableList(cards);
 
     }
 
@@ -21,9 +21,9 @@ public enum FaceValue {
 
     private String face;
 
-    private Integer value;
+    private int value;
 
-    FaceValue(final String pFace, final Integer pValue) {
+    FaceValue(final String pFace, final int pValue) {
 
         this.face = pFace;
         this.value = pValue;
@@ -34,7 +34,7 @@ public enum FaceValue {
         return this.face;
     }
 
-    public Integer getValue() {
+    public int getValue() {
 
         return this.value;
     }
@@ -1,10 +1,19 @@
 package com.github.sfragata.gameapi.domain;
 
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.github.sfragata.gameapi.helper.RandomSource;
+import com.github.sfragata.gameapi.helper.RandomStrategy;
 
 /**
- * Class that represents the game, storing its game id, the list of players and the game deck (shoe)
+ * Class that represents the game, storing its game id, the players and the game deck (shoe)
+ * The players are indexed by id (in the order they were added), so they are found and removed in constant time, and
+ * ranked by total value as the cards are dealt
  * @author Silvio Fragata
  *
  */
@@ -12,16 +21,34 @@ public class Game {
 
     private Integer gameId;
 
-    private final List<Player> players = new ArrayList<>();
+    private final Map<Integer, Player> players = new LinkedHashMap<>();
+
+    private final PlayerRanking ranking = new PlayerRanking();
 
     private Shoe shoe;
 
+    private RandomStrategy randomStrategy;
+
+    private Long seed;
+
+    private RandomSource randomSource;
+
+    private long randomPosition;
+
+    private volatile long version;
+
+    private long createdAt;
+
+    private volatile long lastAccess;
+
     /**
      * Default constructor
      */
     public Game() {
 
         super();
+        this.createdAt = System.currentTimeMillis();
+        this.lastAccess = this.createdAt;
     }
 
     public Integer getGameId() {
@@ -46,9 +73,216 @@ public class Game {
         this.shoe = shoe;
     }
 
-    public List<Player> getPlayers() {
+    /**
+     * @return a read only view of the players in the order they were added
+     */
+    public Collection<Player> getPlayers() {
+
+        return Collections.unmodifiableCollection(this.players.values());
+    }
+
+    /**
+     * Method to add a player to the game
+     * @param player the player
+     */
+    public void addPlayer(
+        final Player player) {
+
+        final Player previous = this.players.put(player.getPlayerId(), player);
+        if (previous != null) {
+            this.ranking.remove(previous);
+        }
+        this.ranking.add(player);
+    }
+
+    /**
+     * Method to find a player of the game
+     * @param playerId the player id
+     * @return the player or null if the player isn't in the game
+     */
+    public Player findPlayer(
+        final Integer playerId) {
+
+        return this.players.get(playerId);
+    }
+
+    /**
+     * Method to remove a player from the game
+     * @param playerId the player id
+     * @return the player removed or null if the player isn't in the game
+     */
+    public Player removePlayer(
+        final Integer playerId) {
+
+        final Player player = this.players.remove(playerId);
+        if (player != null) {
+            this.ranking.remove(player);
+        }
+        return player;
+    }
+
+    /**
+     * Method to return the players from the highest total value to the lowest (players with the same total value are
+     * ordered by player id), the ranking is kept while the cards are dealt so it isn't sorted here
+     * @param offset how many players are skipped
+     * @param limit the maximum number of players returned
+     * @return a snapshot of the players in the range
+     */
+    public List<Player> rankPlayers(
+        final int offset,
+        final int limit) {
+
+        return this.ranking.snapshot(offset, limit);
+    }
+
+    /**
+     * Method to copy the game to return it after the game executor released it, the cards being dealt to the players
+     * and the shoe aren't shared with the copy
+     * @return a game with the same id, version, shoe and players, without the source of random numbers
+     */
+    public Game copy() {
+
+        final Game copy = new Game();
+        copy.gameId = this.gameId;
+        copy.shoe = this.shoe != null ? this.shoe.copy() : null;
+        this.players.values().forEach(player -> copy.addPlayer(player.copy()));
+        copy.randomStrategy = this.randomStrategy;
+        copy.seed = this.seed;
+        copy.randomPosition = getRandomPosition();
+        copy.version = this.version;
+        copy.restoreTimes(this.createdAt, this.lastAccess);
+        return copy;
+    }
+
+    /**
+     * @return the game version, incremented on each change of the game
+     */
+    public long getVersion() {
+
+        return this.version;
+    }
+
+    /**
+     * Method to increment the game version, it must be called (by the game executor) after each change of the game
+     * @return the new version
+     */
+    public long incrementVersion() {
+
+        return ++this.version;
+    }
+
+    /**
+     * @return when the game was created (epoch millis)
+     */
+    @JsonIgnore
+    public long getCreatedAt() {
+
+        return this.createdAt;
+    }
+
+    /**
+     * @return when the game was last used (epoch millis)
+     */
+    @JsonIgnore
+    public long getLastAccess() {
+
+        return this.lastAccess;
+    }
+
+    /**
+     * Method to record that the game was used now, so it isn't evicted as idle
+     */
+    public void touch() {
+
+        this.lastAccess = System.currentTimeMillis();
+    }
+
+    /**
+     * Method to set when the game was created and last used when the game is recovered
+     * @param createdAt when the game was created (epoch millis)
+     * @param lastAccess when the game was last used (epoch millis)
+     */
+    public void restoreTimes(
+        final long createdAt,
+        final long lastAccess) {
+
+        this.createdAt = createdAt;
+        this.lastAccess = lastAccess;
+    }
+
+    /**
+     * Method to set the game version when the game is recovered
+     * @param version the version
+     */
+    public void restoreVersion(
+        final long version) {
+
+        this.version = version;
+    }
+
+    /**
+     * @return the strategy used to shuffle this game or null to use the default one
+     */
+    @JsonIgnore
+    public RandomStrategy getRandomStrategy() {
+
+        return this.randomStrategy;
+    }
+
+    public void setRandomStrategy(
+        final RandomStrategy randomStrategy) {
+
+        this.randomStrategy = randomStrategy;
+    }
+
+    /**
+     * @return the seed of the random strategy (not exposed, so the shuffles can't be predicted)
+     */
+    @JsonIgnore
+    public Long getSeed() {
+
+        return this.seed;
+    }
+
+    public void setSeed(
+        final Long seed) {
+
+        this.seed = seed;
+    }
+
+    /**
+     * @return the source of random numbers used to shuffle this game or null to use the default one
+     */
+    @JsonIgnore
+    public RandomSource getRandomSource() {
+
+        return this.randomSource;
+    }
+
+    public void setRandomSource(
+        final RandomSource randomSource) {
+
+        this.randomSource = randomSource;
+    }
+
+    /**
+     * @return the position of the random numbers used to shuffle this game (see {@link RandomSource#getPosition()}), so
+     *         a game with a seed continues its random numbers when it's recovered or reloaded
+     */
+    @JsonIgnore
+    public long getRandomPosition() {
+
+        return this.randomSource != null ? this.randomSource.getPosition() : this.randomPosition;
+    }
+
+    /**
+     * Method to set the position of the random numbers when the game is recovered, before its random source is created
+     * @param randomPosition the position
+     */
+    public void restoreRandomPosition(
+        final long randomPosition) {
 
-        return this.players;
+        this.randomPosition = randomPosition;
     }
 
 }
@@ -1,23 +1,30 @@
 package com.github.sfragata.gameapi.domain;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
 /**
  * Class representing a player (for this assignment the only the playerId will be used)
- * It stores the list of cards in its "hand" and the total value of cards
+ * It stores the list of cards in its "hand" (as card codes, see {@link Card#code()}) and the total value of cards
+ * When the player is in a game, adding a card also moves the player in the game ranking (see {@link Game#rankPlayers})
  * @author Silvio Fragata
  */
 public class Player
     implements Comparable<Player> {
 
+    private static final int INITIAL_HAND_CAPACITY = 8;
+
     private final Integer playerId;
 
-    private final List<Card> cards = new ArrayList<>();
+    private byte[] cards = new byte[INITIAL_HAND_CAPACITY];
+
+    private int cardCount;
 
     private int totalValue;
 
+    private PlayerRanking ranking;
+
     /**
      * Constructor
      * @param pPlayerId the player Id
@@ -36,8 +43,32 @@ public class Player
     public void addCard(
         final Card pCard) {
 
-        this.cards.add(pCard);
+        final PlayerRanking currentRanking = this.ranking;
+        if (currentRanking != null) {
+            currentRanking.beforeChange(this);
+        }
+        if (this.cardCount == this.cards.length) {
+            this.cards = Arrays.copyOf(this.cards, this.cardCount * 2);
+        }
+        this.cards[this.cardCount++] = pCard.code();
         this.totalValue += pCard.getFaceValue().getValue();
+        if (currentRanking != null) {
+            currentRanking.afterChange(this);
+        }
+    }
+
+    /**
+     * Method to copy the player (e.g. to return it after the game executor released the game, while the cards are
+     * still being dealt)
+     * @return a player with the same id, cards and total value, that isn't in any game
+     */
+    public Player copy() {
+
+        final Player copy = new Player(this.playerId);
+        copy.cards = Arrays.copyOf(this.cards, Math.max(this.cardCount, 1));
+        copy.cardCount = this.cardCount;
+        copy.totalValue = this.totalValue;
+        return copy;
     }
 
     public Integer getPlayerId() {
@@ -45,9 +76,13 @@ public class Player
         return this.playerId;
     }
 
+    /**
+     * @return a read only view of the cards in the player's hand, it must be read by the game executor while the
+     *         player is in a game (see {@link #copy()})
+     */
     public List<Card> getCards() {
 
-        return this.cards;
+        return new CardArrayView(this.cards, 0, this.cardCount);
     }
 
     public int getTotalValue() {
@@ -55,10 +90,20 @@ public class Player
         return this.totalValue;
     }
 
+    void setRanking(
+        final PlayerRanking ranking) {
+
+        this.ranking = ranking;
+    }
+
     @Override
     public int hashCode() {
 
-        return Objects.hash(this.cards, this.playerId);
+        int result = 1;
+        for (int i = 0; i < this.cardCount; i++) {
+            result = 31 * result + this.cards[i];
+        }
+        return 31 * result + Objects.hashCode(this.playerId);
     }
 
     @Override
@@ -75,7 +120,8 @@ public class Player
             return false;
         }
         final Player other = (Player) obj;
-        return Objects.equals(this.cards, other.cards) && Objects.equals(this.playerId, other.playerId);
+        return Objects.equals(this.playerId, other.playerId)
+            && Arrays.equals(this.cards, 0, this.cardCount, other.cards, 0, other.cardCount);
     }
 
     @Override
@@ -0,0 +1,49 @@
+package com.github.sfragata.gameapi.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Domain object representing the cards dealt to a player in a batch deal and the player's new total value
+ * @author Silvio Fragata
+ */
+public class PlayerDeal {
+
+    private final Integer playerId;
+
+    private final List<Card> cards = new ArrayList<>();
+
+    private int totalValue;
+
+    /**
+     * Constructor
+     * @param playerId the player id
+     */
+    public PlayerDeal(final Integer playerId) {
+
+        super();
+        this.playerId = playerId;
+    }
+
+    public Integer getPlayerId() {
+
+        return this.playerId;
+    }
+
+    public List<Card> getCards() {
+
+        return this.cards;
+    }
+
+    public int getTotalValue() {
+
+        return this.totalValue;
+    }
+
+    public void setTotalValue(
+        final int totalValue) {
+
+        this.totalValue = totalValue;
+    }
+
+}
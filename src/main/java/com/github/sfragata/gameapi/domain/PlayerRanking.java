@@ -0,0 +1,108 @@
+package com.github.sfragata.gameapi.domain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Ranking of the players of a game, from the highest total value to the lowest (players with the same total value are
+ * ordered by player id)
+ * The ranking is kept sorted while the cards are dealt (see {@link Player#addCard(Card)}), so reading it doesn't sort
+ * This class isn't thread safe, it must only be changed by the game executor
+ * @author Silvio Fragata
+ */
+class PlayerRanking {
+
+    static final Comparator<Player> RANKING_ORDER = Comparator.comparingInt(Player::getTotalValue).reversed()
+        .thenComparing(Player::getPlayerId);
+
+    private final NavigableSet<Player> players = new TreeSet<>(RANKING_ORDER);
+
+    /**
+     * Default constructor
+     */
+    PlayerRanking() {
+
+        super();
+    }
+
+    /**
+     * method to add a player to the ranking, the player is kept in order when receives a card
+     * @param player the player
+     */
+    void add(
+        final Player player) {
+
+        this.players.add(player);
+        player.setRanking(this);
+    }
+
+    /**
+     * method to remove a player from the ranking
+     * @param player the player
+     */
+    void remove(
+        final Player player) {
+
+        this.players.remove(player);
+        player.setRanking(null);
+    }
+
+    /**
+     * method to take the player out of the order, it must be called before the player's total value changes
+     * @param player the player
+     */
+    void beforeChange(
+        final Player player) {
+
+        this.players.remove(player);
+    }
+
+    /**
+     * method to put the player back in order, it must be called after the player's total value changed
+     * @param player the player
+     */
+    void afterChange(
+        final Player player) {
+
+        this.players.add(player);
+    }
+
+    /**
+     * method to return a range of the ranking
+     * @param offset how many players are skipped
+     * @param limit the maximum number of players returned
+     * @return a snapshot of the players in the range
+     */
+    List<Player> snapshot(
+        final int offset,
+        final int limit) {
+
+        final int size = this.players.size();
+        if (offset >= size || limit <= 0) {
+            return Collections.emptyList();
+        }
+        final List<Player> snapshot = new ArrayList<>(Math.min(limit, size - offset));
+        final Iterator<Player> iterator = this.players.iterator();
+        for (int i = 0; i < offset; i++) {
+            iterator.next();
+        }
+        while (iterator.hasNext() && snapshot.size() < limit) {
+            snapshot.add(iterator.next());
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return how many players are ranked
+     */
+    int size() {
+
+        return this.players.size();
+    }
+
+}
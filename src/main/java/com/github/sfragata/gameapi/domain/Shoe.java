@@ -1,16 +1,32 @@
 package com.github.sfragata.gameapi.domain;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 
+import com.github.sfragata.gameapi.helper.ListShuffleHelper;
+import com.github.sfragata.gameapi.helper.RandomSource;
+
 /**
  * This class represents a game deck (one or more decks)
+ * The cards are stored in an array of card codes (see {@link Card#code()}) and dealing only advances a cursor,
+ * so the cards before the cursor were already dealt and the cards from the cursor until the size are the undealt ones.
+ * It also keeps how many undealt cards there are per suit and per card, so they can be counted without walking the shoe.
+ * This class isn't thread safe, it must only be changed by the game executor (see GameExecutor)
  * @author Silvio Fragata
  */
 public class Shoe {
 
-    private final List<Card> cards = Collections.synchronizedList(new ArrayList<>());
+    private static final byte[] EMPTY = new byte[0];
+
+    private byte[] cards = EMPTY;
+
+    private int cursor;
+
+    private int size;
+
+    private final int[] suitCounts = new int[Suit.values().length];
+
+    private final int[] cardCounts = new int[Card.CARD_KINDS];
 
     /**
      * Default constructor
@@ -22,18 +38,168 @@ public class Shoe {
 
     /**
      * Method to add a Deck to the game deck (shoe)
+     * The array is reallocated with the exact capacity, discarding the cards already dealt
      * @param deck to be added
      */
     public void addCards(
         final Deck deck) {
 
-        this.cards.addAll(deck.getCards());
+        final List<Card> deckCards = deck.getCards();
+        final int remaining = size();
+        final byte[] newCards = new byte[remaining + deckCards.size()];
+        System.arraycopy(this.cards, this.cursor, newCards, 0, remaining);
+        int index = remaining;
+        for (final Card card : deckCards) {
+            newCards[index++] = card.code();
+            count(card, 1);
+        }
+        this.cards = newCards;
+        this.cursor = 0;
+        this.size = newCards.length;
+
+    }
+
+    /**
+     * Method to deal the next card of the game deck (shoe)
+     * @return the card dealt or null if there are no more cards
+     */
+    public Card deal() {
+
+        if (this.cursor == this.size) {
+            return null;
+        }
+        final Card card = Card.valueOf(this.cards[this.cursor++]);
+        count(card, -1);
+        return card;
+    }
+
+    /**
+     * Method to shuffle the undealt cards
+     * The array of card codes is shuffled in place
+     * @param listShuffleHelper the helper that shuffles the array
+     * @param random the source of random numbers or null to use the default one
+     */
+    public void shuffle(
+        final ListShuffleHelper listShuffleHelper,
+        final RandomSource random) {
+
+        if (random != null) {
+            listShuffleHelper.shuffle(this.cards, this.cursor, this.size, random);
+        } else {
+            listShuffleHelper.shuffle(this.cards, this.cursor, this.size);
+        }
+    }
+
+    /**
+     * @return a copy of the undealt cards (card codes) in the order they will be dealt
+     */
+    public byte[] undealtCodes() {
+
+        return Arrays.copyOfRange(this.cards, this.cursor, this.size);
+    }
+
+    /**
+     * Method to put the undealt cards in the given order (e.g. the order after a shuffle being recovered)
+     * @param codes the undealt cards (card codes) in the order they will be dealt
+     * @throws IllegalArgumentException if the cards aren't the same undealt cards
+     */
+    public void reorder(
+        final byte[] codes) {
+
+        final int[] counts = new int[Card.CARD_KINDS];
+        for (final byte code : codes) {
+            counts[code]++;
+        }
+        if (codes.length != size() || !Arrays.equals(counts, this.cardCounts)) {
+            throw new IllegalArgumentException("The cards aren't the undealt cards of the shoe");
+        }
+        System.arraycopy(codes, 0, this.cards, this.cursor, codes.length);
+    }
+
+    /**
+     * Method to replace the cards of the shoe (e.g. the undealt cards of a game being recovered from a snapshot)
+     * @param codes the undealt cards (card codes) in the order they will be dealt
+     * @throws IllegalArgumentException if any of the codes isn't a card
+     */
+    public void restore(
+        final byte[] codes) {
+
+        final int[] counts = new int[Card.CARD_KINDS];
+        for (final byte code : codes) {
+            if (code < 0 || code >= Card.CARD_KINDS) {
+                throw new IllegalArgumentException("Invalid card code: " + code);
+            }
+            counts[code]++;
+        }
+        Arrays.fill(this.suitCounts, 0);
+        Arrays.fill(this.cardCounts, 0);
+        for (int code = 0; code < Card.CARD_KINDS; code++) {
+            if (counts[code] > 0) {
+                count(Card.valueOf(code), counts[code]);
+            }
+        }
+        this.cards = codes.clone();
+        this.cursor = 0;
+        this.size = codes.length;
+    }
+
+    /**
+     * @return how many cards are undealt
+     */
+    public int size() {
+
+        return this.size - this.cursor;
+    }
+
+    /**
+     * @param suit the Suit
+     * @return how many cards of the suit are undealt
+     */
+    public int countBySuit(
+        final Suit suit) {
+
+        return this.suitCounts[suit.ordinal()];
+    }
+
+    /**
+     * @param card the card
+     * @return how many copies of the card are undealt
+     */
+    public int countOf(
+        final Card card) {
+
+        return this.cardCounts[card.code()];
+    }
+
+    /**
+     * Method to copy the shoe (e.g. to return the game after the game executor released it)
+     * @return a shoe with only the undealt cards, in the same order
+     */
+    public Shoe copy() {
 
+        final Shoe copy = new Shoe();
+        copy.cards = undealtCodes();
+        copy.size = copy.cards.length;
+        System.arraycopy(this.suitCounts, 0, copy.suitCounts, 0, this.suitCounts.length);
+        System.arraycopy(this.cardCounts, 0, copy.cardCounts, 0, this.cardCounts.length);
+        return copy;
     }
 
+    /**
+     * @return a read only view of the undealt cards, it must be read by the game executor while the shoe is in a game
+     *         (see {@link #copy()})
+     */
     public List<Card> getCards() {
 
-        return this.cards;
+        return new CardArrayView(this.cards, this.cursor, this.size);
+    }
+
+    private void count(
+        final Card card,
+        final int delta) {
+
+        this.suitCounts[card.getSuit().ordinal()] += delta;
+        this.cardCounts[card.code()] += delta;
     }
 
 }
@@ -0,0 +1,217 @@
+package com.github.sfragata.gameapi.event;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The last changes of each game, so a client polling the game gets only what changed since the version it has
+ * Each game keeps its last gameapi.changes.size changes in a ring buffer (the oldest one is overwritten), a client with
+ * an older version must get the game again. The buffers live while the game is in memory: they are removed when the
+ * game is deleted or evicted, and a game reloaded starts a new one
+ * The log is disabled by default (size 0): while enabled every change of every game builds its event, so it's only
+ * worth it for clients that poll the changes. A buffer grows with the changes of its game up to the size
+ * @author Silvio Fragata
+ */
+@Component
+public class GameChangeLog
+    implements GameEventListener {
+
+    private static final int DEFAULT_SIZE = 0;
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final ConcurrentMap<Integer, ChangeRing> rings = new ConcurrentHashMap<>();
+
+    private final int size;
+
+    /**
+     * Default constructor
+     */
+    public GameChangeLog() {
+
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * Constructor
+     * @param size the number of changes kept for each game (0 disables the log)
+     */
+    @Autowired
+    public GameChangeLog(
+        @Value("${gameapi.changes.size:" + DEFAULT_SIZE + "}") final int size) {
+
+        super();
+        if (size < 0) {
+            throw new IllegalArgumentException("Invalid size of the changes: " + size);
+        }
+        this.size = size;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Unless the log is disabled
+     */
+    @Override
+    public boolean isActive() {
+
+        return this.size > 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onEvent(
+        final GameEvent event) {
+
+        if (this.size == 0) {
+            return;
+        }
+        switch (event.getType()) {
+            case GAME_CREATED:
+                this.rings.put(event.getGameId(), new ChangeRing(this.size, event.getVersion()));
+                break;
+            case GAME_DELETED:
+            case GAME_EVICTED:
+                this.rings.remove(event.getGameId());
+                break;
+            case GAME_RELOADED:
+                break;
+            default:
+                // the events of the same game are published by one thread at a time
+                this.rings.computeIfAbsent(event.getGameId(), id -> new ChangeRing(this.size, event.getVersion() - 1))
+                    .add(event);
+        }
+    }
+
+    /**
+     * method to write the changes of a game after a version, as JSON: {"version":V,"resync":false,"changes":[...]}
+     * Each change has the version after it, the type and the same fields of the server-sent events. When the changes
+     * after the version aren't kept anymore, resync is true (without changes) and the client must get the game again
+     * @param gameId the game id
+     * @param since the version the client has
+     * @param version the current version of the game, read before the changes
+     * @return the JSON
+     */
+    public String changesSince(
+        final Integer gameId,
+        final long since,
+        final long version) {
+
+        final ChangeRing ring = this.rings.get(gameId);
+        final GameEvent[] changes = ring != null ? ring.since(since) : null;
+        final StringBuilder json = new StringBuilder(64);
+        if ((changes == null && since < version) || since > version) {
+            return json.append("{\"version\":").append(version).append(",\"resync\":true,\"changes\":[]}")
+                .toString();
+        }
+        // the game may have changed again after its version was read, so the version is the one of the last change
+        final long lastVersion = changes != null && changes.length > 0
+            ? Math.max(version, changes[changes.length - 1].getVersion()) : version;
+        json.append("{\"version\":").append(lastVersion).append(",\"resync\":false,\"changes\":[");
+        if (changes != null) {
+            for (int i = 0; i < changes.length; i++) {
+                json.append(i > 0 ? ",{\"version\":" : "{\"version\":").append(changes[i].getVersion())
+                    .append(",\"type\":\"").append(changes[i].getType()).append('"');
+                GameEventHub.appendFields(json, changes[i]);
+                json.append('}');
+            }
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * @return the number of games with changes kept
+     */
+    public int getGames() {
+
+        return this.rings.size();
+    }
+
+    /**
+     * The last changes of a game, the oldest one is overwritten when the ring is full
+     */
+    static final class ChangeRing {
+
+        private final int size;
+
+        private GameEvent[] events;
+
+        private int next;
+
+        private int count;
+
+        /**
+         * the version up to which the changes aren't kept anymore (every change after it is in the ring)
+         */
+        private long floor;
+
+        ChangeRing(final int size, final long floor) {
+
+            super();
+            this.size = size;
+            this.events = new GameEvent[Math.min(size, INITIAL_CAPACITY)];
+            this.floor = floor;
+        }
+
+        synchronized void add(
+            final GameEvent event) {
+
+            if (this.count == this.events.length && this.count < this.size) {
+                grow();
+            }
+            if (this.count == this.events.length) {
+                this.floor = this.events[this.next].getVersion();
+            } else {
+                this.count++;
+            }
+            this.events[this.next] = event;
+            this.next = (this.next + 1) % this.events.length;
+        }
+
+        /**
+         * @return the changes after the version, in order, or null if some of them aren't kept anymore
+         */
+        synchronized GameEvent[] since(
+            final long version) {
+
+            if (version < this.floor) {
+                return null;
+            }
+            int skipped = 0;
+            while (skipped < this.count && this.events[index(skipped)].getVersion() <= version) {
+                skipped++;
+            }
+            final GameEvent[] changes = new GameEvent[this.count - skipped];
+            for (int i = 0; i < changes.length; i++) {
+                changes[i] = this.events[index(skipped + i)];
+            }
+            return changes;
+        }
+
+        /**
+         * Doubles the capacity (up to the size), keeping the changes in order from the start
+         */
+        private void grow() {
+
+            final GameEvent[] grown = new GameEvent[Math.min(this.size, this.events.length * 2)];
+            for (int i = 0; i < this.count; i++) {
+                grown[i] = this.events[index(i)];
+            }
+            this.events = grown;
+            this.next = this.count;
+        }
+
+        private int index(
+            final int position) {
+
+            return (this.next - this.count + position + this.events.length) % this.events.length;
+        }
+
+    }
+
+}
@@ -0,0 +1,295 @@
+package com.github.sfragata.gameapi.event;
+
+import com.github.sfragata.gameapi.domain.Card;
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.helper.RandomStrategy;
+
+/**
+ * Class that represents a change of a game, with everything needed to apply the same change again (e.g. the cards dealt
+ * and the order of the cards after a shuffle, so the random numbers aren't needed)
+ * The events are immutable, the arrays returned must not be changed
+ * @author Silvio Fragata
+ */
+public final class GameEvent {
+
+    private static final int[] NO_PLAYERS = new int[0];
+
+    private static final byte[] NO_CARDS = new byte[0];
+
+    private static final byte[] NO_STATE = new byte[0];
+
+    private final GameEventType type;
+
+    private final int gameId;
+
+    private final long version;
+
+    private final long timestamp;
+
+    private final RandomStrategy randomStrategy;
+
+    private final Long seed;
+
+    private final long randomPosition;
+
+    private final int[] playerIds;
+
+    private final byte[] cards;
+
+    private final byte[] state;
+
+    private GameEvent(final GameEventType type, final int gameId, final long version, final long timestamp,
+        final RandomStrategy randomStrategy, final Long seed, final long randomPosition, final int[] playerIds,
+        final byte[] cards, final byte[] state) {
+
+        super();
+        this.type = type;
+        this.gameId = gameId;
+        this.version = version;
+        this.timestamp = timestamp;
+        this.randomStrategy = randomStrategy;
+        this.seed = seed;
+        this.randomPosition = randomPosition;
+        this.playerIds = playerIds;
+        this.cards = cards;
+        this.state = state;
+    }
+
+    private GameEvent(final GameEventType type, final Game game, final int[] playerIds, final byte[] cards) {
+
+        this(type, game.getGameId(), game.getVersion(), System.currentTimeMillis(), null, null, 0L, playerIds, cards,
+            NO_STATE);
+    }
+
+    /**
+     * Constructor used to decode an event
+     * @param type the type
+     * @param gameId the game id
+     * @param version the game version after the change
+     * @param timestamp when the change happened (epoch millis)
+     * @param randomStrategy the random strategy of a created game
+     * @param seed the seed of a created game
+     * @param randomPosition the position of the random numbers of the game after a shuffle
+     * @param playerIds the players added, removed or dealt
+     * @param cards the cards dealt or the undealt cards after a shuffle (card codes)
+     * @param state the encoded state of a reloaded game
+     * @return the event
+     */
+    public static GameEvent of(
+        final GameEventType type,
+        final int gameId,
+        final long version,
+        final long timestamp,
+        final RandomStrategy randomStrategy,
+        final Long seed,
+        final long randomPosition,
+        final int[] playerIds,
+        final byte[] cards,
+        final byte[] state) {
+
+        return new GameEvent(type, gameId, version, timestamp, randomStrategy, seed, randomPosition, playerIds, cards,
+            state);
+    }
+
+    /**
+     * @param game the game created
+     * @return the event of the creation of the game
+     */
+    public static GameEvent gameCreated(
+        final Game game) {
+
+        return new GameEvent(GameEventType.GAME_CREATED, game.getGameId(), game.getVersion(), game.getCreatedAt(),
+            game.getRandomStrategy(), game.getSeed(), 0L, NO_PLAYERS, NO_CARDS, NO_STATE);
+    }
+
+    /**
+     * @param game the game deleted
+     * @return the event of the removal of the game
+     */
+    public static GameEvent gameDeleted(
+        final Game game) {
+
+        return new GameEvent(GameEventType.GAME_DELETED, game, NO_PLAYERS, NO_CARDS);
+    }
+
+    /**
+     * @param game the game changed
+     * @return the event of a deck added to the game
+     */
+    public static GameEvent deckAdded(
+        final Game game) {
+
+        return new GameEvent(GameEventType.DECK_ADDED, game, NO_PLAYERS, NO_CARDS);
+    }
+
+    /**
+     * @param game the game changed
+     * @param playerId the player id
+     * @return the event of a player added to the game
+     */
+    public static GameEvent playerAdded(
+        final Game game,
+        final int playerId) {
+
+        return new GameEvent(GameEventType.PLAYER_ADDED, game, new int[] { playerId }, NO_CARDS);
+    }
+
+    /**
+     * @param game the game changed
+     * @param playerId the player id
+     * @return the event of a player removed from the game
+     */
+    public static GameEvent playerRemoved(
+        final Game game,
+        final int playerId) {
+
+        return new GameEvent(GameEventType.PLAYER_REMOVED, game, new int[] { playerId }, NO_CARDS);
+    }
+
+    /**
+     * @param game the game changed
+     * @param playerId the player id
+     * @param card the card dealt
+     * @return the event of a card dealt
+     */
+    public static GameEvent cardDealt(
+        final Game game,
+        final int playerId,
+        final Card card) {
+
+        return new GameEvent(GameEventType.CARDS_DEALT, game, new int[] { playerId }, new byte[] { card.code() });
+    }
+
+    /**
+     * @param game the game changed
+     * @param playerIds the player of each card, in the order the cards were dealt
+     * @param cards the cards dealt (card codes)
+     * @return the event of the cards dealt
+     */
+    public static GameEvent cardsDealt(
+        final Game game,
+        final int[] playerIds,
+        final byte[] cards) {
+
+        return new GameEvent(GameEventType.CARDS_DEALT, game, playerIds, cards);
+    }
+
+    /**
+     * @param game the game changed
+     * @param undealtCards the undealt cards after the shuffle (card codes)
+     * @return the event of the shuffle of the shoe, with the position of the random numbers after it
+     */
+    public static GameEvent shoeShuffled(
+        final Game game,
+        final byte[] undealtCards) {
+
+        return new GameEvent(GameEventType.SHOE_SHUFFLED, game.getGameId(), game.getVersion(),
+            System.currentTimeMillis(), null, null, game.getRandomPosition(), NO_PLAYERS, undealtCards, NO_STATE);
+    }
+
+    /**
+     * @param game the game evicted from memory
+     * @return the event of the eviction of the game
+     */
+    public static GameEvent gameEvicted(
+        final Game game) {
+
+        return new GameEvent(GameEventType.GAME_EVICTED, game, NO_PLAYERS, NO_CARDS);
+    }
+
+    /**
+     * @param game the game reloaded to memory
+     * @param state the encoded state of the game, so it can be registered again without the evicted copy
+     * @return the event of the reload of the game
+     */
+    public static GameEvent gameReloaded(
+        final Game game,
+        final byte[] state) {
+
+        return new GameEvent(GameEventType.GAME_RELOADED, game.getGameId(), game.getVersion(),
+            System.currentTimeMillis(), null, null, 0L, NO_PLAYERS, NO_CARDS, state);
+    }
+
+    public GameEventType getType() {
+
+        return this.type;
+    }
+
+    public int getGameId() {
+
+        return this.gameId;
+    }
+
+    /**
+     * @return the game version after the change
+     */
+    public long getVersion() {
+
+        return this.version;
+    }
+
+    /**
+     * @return when the change happened (epoch millis)
+     */
+    public long getTimestamp() {
+
+        return this.timestamp;
+    }
+
+    public RandomStrategy getRandomStrategy() {
+
+        return this.randomStrategy;
+    }
+
+    public Long getSeed() {
+
+        return this.seed;
+    }
+
+    /**
+     * @return the position of the random numbers of the game after a shuffle (see {@link Game#getRandomPosition()})
+     */
+    public long getRandomPosition() {
+
+        return this.randomPosition;
+    }
+
+    /**
+     * @return the player added or removed, or the player of the first card dealt
+     */
+    public int getPlayerId() {
+
+        return this.playerIds[0];
+    }
+
+    /**
+     * @return the players added, removed or dealt (the player of each card dealt)
+     */
+    public int[] getPlayerIds() {
+
+        return this.playerIds;
+    }
+
+    /**
+     * @return the cards dealt or the undealt cards after a shuffle (card codes)
+     */
+    public byte[] getCards() {
+
+        return this.cards;
+    }
+
+    /**
+     * @return the encoded state of a reloaded game
+     */
+    public byte[] getState() {
+
+        return this.state;
+    }
+
+    @Override
+    public String toString() {
+
+        return String.format("%s of game %d (version %d)", this.type, this.gameId, this.version);
+    }
+
+}
@@ -0,0 +1,446 @@
+package com.github.sfragata.gameapi.event;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.sfragata.gameapi.domain.Card;
+
+/**
+ * Fan-out of the changes of the games to their subscribers, as server-sent events
+ * Each change is encoded once (a frame with the event id, that is the game version, the type and a compact JSON) and
+ * queued to every subscriber of the game. The frames are written by a pool of writer threads, so the thread that
+ * changed the game never waits for a client. A subscriber with gameapi.events.queue-size frames not written yet is
+ * too slow: its frames are dropped and replaced by one RESYNC event, so the client reads the game again. If the queue
+ * fills up again before the RESYNC is written, the client isn't reading: its stream ends and it's dropped
+ * The stream ends after the game is deleted or evicted: the versions of a game reloaded or created again with the same
+ * id don't follow the ones already sent, so the client subscribes again
+ * The writes never block (see {@link Sink#isReady()}): a writer leaves a subscriber that can't take more bytes and
+ * the sink resumes it when it can, so the gameapi.events.writers threads are never held by a client that stops
+ * reading
+ * @author Silvio Fragata
+ */
+@Component
+public class GameEventHub
+    implements GameEventListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GameEventHub.class);
+
+    private static final int DEFAULT_QUEUE_SIZE = 256;
+
+    private static final String RESYNC = "RESYNC";
+
+    private final ConcurrentMap<Integer, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    private final LongAdder resyncs = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final ExecutorService writers;
+
+    private final int queueSize;
+
+    /**
+     * Default constructor
+     */
+    public GameEventHub() {
+
+        this(DEFAULT_QUEUE_SIZE);
+    }
+
+    /**
+     * Constructor with one writer per processor
+     * @param queueSize the maximum number of frames not written yet of each subscriber
+     */
+    public GameEventHub(
+        final int queueSize) {
+
+        this(queueSize, 0);
+    }
+
+    /**
+     * Constructor
+     * @param queueSize the maximum number of frames not written yet of each subscriber
+     * @param writers the number of threads writing the frames, 0 for one per processor
+     */
+    @Autowired
+    public GameEventHub(
+        @Value("${gameapi.events.queue-size:" + DEFAULT_QUEUE_SIZE + "}") final int queueSize,
+        @Value("${gameapi.events.writers:0}") final int writers) {
+
+        super();
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("Invalid queue size of the events: " + queueSize);
+        }
+        if (writers < 0) {
+            throw new IllegalArgumentException("Invalid number of writers of the events: " + writers);
+        }
+        this.queueSize = queueSize;
+        final AtomicInteger threadNumber = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writers > 0 ? writers : Runtime.getRuntime().availableProcessors(),
+            runnable -> {
+                final Thread thread = new Thread(runnable, "game-events-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * method to subscribe to the changes of a game
+     * @param gameId the game id
+     * @param sink where the frames are written
+     * @return the subscription, that must be cancelled when the client goes away
+     */
+    public Subscription subscribe(
+        final Integer gameId,
+        final Sink sink) {
+
+        final Subscription subscription = new Subscription(gameId, sink);
+        // added inside the compute: a subscription cancelled at the same time may remove the list of the game
+        this.subscriptions.compute(gameId, (id, gameSubscriptions) -> {
+            final List<Subscription> list = gameSubscriptions != null ? gameSubscriptions
+                : new CopyOnWriteArrayList<>();
+            list.add(subscription);
+            return list;
+        });
+        this.subscribers.incrementAndGet();
+        return subscription;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Only while any game has subscribers
+     */
+    @Override
+    public boolean isActive() {
+
+        return this.subscribers.get() > 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onEvent(
+        final GameEvent event) {
+
+        final List<Subscription> gameSubscriptions = this.subscriptions.get(event.getGameId());
+        if (gameSubscriptions == null || gameSubscriptions.isEmpty()) {
+            return;
+        }
+        final byte[] frame = encode(event);
+        if (frame == null) {
+            return;
+        }
+        final boolean last = event.getType() == GameEventType.GAME_DELETED
+            || event.getType() == GameEventType.GAME_EVICTED;
+        for (final Subscription subscription : gameSubscriptions) {
+            subscription.offer(frame, event.getVersion(), last);
+        }
+    }
+
+    /**
+     * @return the subscribers of all the games
+     */
+    public int getSubscribers() {
+
+        return this.subscribers.get();
+    }
+
+    /**
+     * @return how many times the frames of a slow subscriber were replaced by a RESYNC event
+     */
+    public long getResyncs() {
+
+        return this.resyncs.sum();
+    }
+
+    /**
+     * @return the subscribers dropped because they didn't read their events
+     */
+    public long getDropped() {
+
+        return this.dropped.sum();
+    }
+
+    /**
+     * method to stop the writers, the frames not written are lost
+     */
+    @PreDestroy
+    public void shutdown() {
+
+        this.writers.shutdownNow();
+    }
+
+    /**
+     * method to encode the frame of an event
+     * @param event the change of the game
+     * @return the frame, or null if the change isn't sent to the subscribers (e.g. a reload)
+     */
+    static byte[] encode(
+        final GameEvent event) {
+
+        final StringBuilder data = new StringBuilder(64);
+        if (!appendFields(data, event)) {
+            return null;
+        }
+        return frame(event.getType().name(), event.getVersion(), data);
+    }
+
+    /**
+     * method to append the JSON fields of an event after its version (e.g. the player added or the cards dealt)
+     * @param json where the fields are appended, each one preceded by a comma
+     * @param event the change of the game
+     * @return false if the change isn't sent to the subscribers (e.g. a reload)
+     */
+    static boolean appendFields(
+        final StringBuilder json,
+        final GameEvent event) {
+
+        switch (event.getType()) {
+            case DECK_ADDED:
+            case SHOE_SHUFFLED:
+            case GAME_DELETED:
+            case GAME_EVICTED:
+                return true;
+            case PLAYER_ADDED:
+            case PLAYER_REMOVED:
+                json.append(",\"playerId\":").append(event.getPlayerId());
+                return true;
+            case CARDS_DEALT:
+                json.append(",\"deals\":[");
+                for (int i = 0; i < event.getCards().length; i++) {
+                    final Card card = Card.valueOf(event.getCards()[i]);
+                    json.append(i > 0 ? ",{\"playerId\":" : "{\"playerId\":").append(event.getPlayerIds()[i])
+                        .append(",\"suit\":\"").append(card.getSuit()).append("\",\"faceValue\":\"")
+                        .append(card.getFaceValue()).append("\"}");
+                }
+                json.append(']');
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static byte[] frame(
+        final String type,
+        final long version,
+        final CharSequence data) {
+
+        return new StringBuilder(32 + data.length()).append("id: ").append(version).append("\nevent: ").append(type)
+            .append("\ndata: {\"version\":").append(version).append(data).append("}\n\n").toString()
+            .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Where the frames of a subscriber are written (e.g. the response of the request)
+     */
+    public interface Sink {
+
+        /**
+         * method to check if a frame can be written without blocking
+         * When it returns false the sink must call {@link Subscription#resume()} once it can be written again
+         * @return true if the next frame can be written
+         */
+        boolean isReady();
+
+        /**
+         * method to write a frame without blocking, only called when the sink is ready
+         * @param frame the frame
+         * @throws IOException if the client went away
+         */
+        void send(
+            byte[] frame)
+            throws IOException;
+
+        /**
+         * method to end the stream, after the game was deleted or evicted or if the client doesn't read the frames
+         */
+        void complete();
+
+    }
+
+    /**
+     * A subscriber of a game, with its frames not written yet
+     * The frames are written by one writer at a time, in order, while the sink is ready
+     */
+    public final class Subscription {
+
+        private final Integer gameId;
+
+        private final Sink sink;
+
+        private final Lock lock = new ReentrantLock();
+
+        private final Queue<byte[]> frames = new ArrayDeque<>();
+
+        private boolean scheduled;
+
+        private boolean waiting;
+
+        private boolean resynced;
+
+        private boolean last;
+
+        private boolean cancelled;
+
+        Subscription(final Integer gameId, final Sink sink) {
+
+            super();
+            this.gameId = gameId;
+            this.sink = sink;
+        }
+
+        /**
+         * method to stop the frames to the subscriber (idempotent)
+         */
+        public void cancel() {
+
+            this.lock.lock();
+            try {
+                if (this.cancelled) {
+                    return;
+                }
+                this.cancelled = true;
+                this.frames.clear();
+            } finally {
+                this.lock.unlock();
+            }
+            GameEventHub.this.subscriptions.computeIfPresent(this.gameId, (id, gameSubscriptions) -> {
+                gameSubscriptions.remove(this);
+                return gameSubscriptions.isEmpty() ? null : gameSubscriptions;
+            });
+            GameEventHub.this.subscribers.decrementAndGet();
+        }
+
+        /**
+         * method to write the frames again, called by the sink when it's ready after {@link Sink#isReady()} was false
+         */
+        public void resume() {
+
+            this.lock.lock();
+            try {
+                this.waiting = false;
+                schedule();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        /**
+         * Queues the frame, or replaces the frames not written by a RESYNC if the queue is full (or ends the stream if
+         * the last RESYNC wasn't written yet)
+         */
+        void offer(
+            final byte[] frame,
+            final long version,
+            final boolean lastFrame) {
+
+            this.lock.lock();
+            try {
+                if (this.cancelled || this.last) {
+                    return;
+                }
+                if (this.frames.size() < GameEventHub.this.queueSize) {
+                    this.frames.add(frame);
+                    this.last = lastFrame;
+                } else if (this.resynced) {
+                    // nothing was written since the last RESYNC, the client isn't reading
+                    LOGGER.debug("Subscriber of game {} dropped, it doesn't read its events", this.gameId);
+                    this.frames.clear();
+                    this.last = true;
+                    GameEventHub.this.dropped.increment();
+                } else {
+                    // the client will read the game again, the frames up to this version are useless
+                    this.frames.clear();
+                    this.frames.add(lastFrame ? frame : frame(RESYNC, version, ""));
+                    this.resynced = true;
+                    this.last = lastFrame;
+                    GameEventHub.this.resyncs.increment();
+                }
+                schedule();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        /**
+         * Schedules the writer (holding the lock) unless it's scheduled or waiting for the sink, the end of the stream
+         * doesn't wait for the sink
+         */
+        private void schedule() {
+
+            if (!this.scheduled && (!this.waiting || this.last && this.frames.isEmpty())) {
+                this.scheduled = true;
+                GameEventHub.this.writers.execute(this::write);
+            }
+        }
+
+        /**
+         * Writes the frames until there are no more or the sink isn't ready, then ends the stream if the game was
+         * deleted or evicted (or the subscriber dropped)
+         */
+        private void write() {
+
+            while (true) {
+                byte[] frame = null;
+                final boolean complete;
+                this.lock.lock();
+                try {
+                    if (this.frames.isEmpty()) {
+                        complete = this.last && !this.cancelled;
+                        this.scheduled = false;
+                    } else if (!this.cancelled && !this.sink.isReady()) {
+                        // checked holding the lock, so a resume of the sink meanwhile schedules the writer again
+                        this.waiting = true;
+                        this.scheduled = false;
+                        return;
+                    } else {
+                        frame = this.frames.poll();
+                        this.resynced = false;
+                        complete = false;
+                    }
+                } finally {
+                    this.lock.unlock();
+                }
+                if (frame == null) {
+                    if (complete) {
+                        cancel();
+                        this.sink.complete();
+                    }
+                    return;
+                }
+                try {
+                    this.sink.send(frame);
+                } catch (final IOException | RuntimeException exception) {
+                    LOGGER.debug("Subscriber of game {} gone: {}", this.gameId, exception.toString());
+                    cancel();
+                    return;
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.github.sfragata.gameapi.event;
+
+/**
+ * Interface for the listeners of the changes of the games
+ * The events of the same game are published in the order they happened, by the thread that changed the game (while no
+ * other change of the game can happen)
+ * @author Silvio Fragata
+ */
+@FunctionalInterface
+public interface GameEventListener {
+
+    /**
+     * method called after a game was changed
+     * @param event the change
+     */
+    void onEvent(
+        GameEvent event);
+
+    /**
+     * method to check if the listener needs the events at the moment, the events aren't built when no listener does
+     * @return true (by default) if the events must be published to the listener
+     */
+    default boolean isActive() {
+
+        return true;
+    }
+
+}
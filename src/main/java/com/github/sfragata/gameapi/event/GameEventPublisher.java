@@ -0,0 +1,73 @@
+package com.github.sfragata.gameapi.event;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the changes of the games to all {@link GameEventListener} beans
+ * @author Silvio Fragata
+ */
+@Component
+public class GameEventPublisher {
+
+    private final List<GameEventListener> listeners;
+
+    /**
+     * Default constructor, without listeners
+     */
+    public GameEventPublisher() {
+
+        this(Collections.emptyList());
+    }
+
+    /**
+     * Constructor
+     * @param listeners the listeners
+     */
+    @Autowired
+    public GameEventPublisher(final ObjectProvider<GameEventListener> listeners) {
+
+        this(listeners.orderedStream().collect(Collectors.toList()));
+    }
+
+    /**
+     * Constructor
+     * @param listeners the listeners
+     */
+    public GameEventPublisher(final List<GameEventListener> listeners) {
+
+        super();
+        this.listeners = List.copyOf(listeners);
+    }
+
+    /**
+     * @return true if any listener is active, so the events (that may be expensive to build) should be published
+     */
+    public boolean isActive() {
+
+        for (final GameEventListener listener : this.listeners) {
+            if (listener.isActive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * method to publish a change
+     * @param event the change
+     */
+    public void publish(
+        final GameEvent event) {
+
+        for (final GameEventListener listener : this.listeners) {
+            listener.onEvent(event);
+        }
+    }
+
+}
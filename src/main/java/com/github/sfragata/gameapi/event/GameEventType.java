@@ -0,0 +1,54 @@
+package com.github.sfragata.gameapi.event;
+
+/**
+ * Enum to represent the type of a change of a game
+ * The code of each type is stored by the journal, so it must never change
+ * @author Silvio Fragata
+ *
+ */
+public enum GameEventType {
+        GAME_CREATED(1),
+        GAME_DELETED(2),
+        DECK_ADDED(3),
+        PLAYER_ADDED(4),
+        PLAYER_REMOVED(5),
+        CARDS_DEALT(6),
+        SHOE_SHUFFLED(7),
+        GAME_EVICTED(8),
+        GAME_RELOADED(9);
+
+    private static final GameEventType[] BY_CODE = new GameEventType[10];
+
+    static {
+        for (final GameEventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final byte code;
+
+    GameEventType(final int pCode) {
+
+        this.code = (byte) pCode;
+    }
+
+    public byte getCode() {
+
+        return this.code;
+    }
+
+    /**
+     * method to return the type of a code
+     * @param code the code of the type
+     * @return the type
+     * @throws IllegalArgumentException if the code is unknown
+     */
+    public static GameEventType valueOf(
+        final byte code) {
+
+        if (code <= 0 || code >= BY_CODE.length || BY_CODE[code] == null) {
+            throw new IllegalArgumentException("Unknown event type: " + code);
+        }
+        return BY_CODE[code];
+    }
+}
@@ -0,0 +1,25 @@
+package com.github.sfragata.gameapi.exception;
+
+/**
+ * Exception to inform that the game has too many pending operations and the new one was rejected
+ * It is unchecked because any operation over a game can be rejected
+ * @author Silvio Fragata
+ *
+ */
+public class GameBusyException
+    extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String GAME_BUSY = "Game %d is busy, try again later";
+
+    /**
+     * Constructor
+     * @param gameId the game id
+     */
+    public GameBusyException(final Integer gameId) {
+
+        super(String.format(GAME_BUSY, gameId));
+    }
+
+}
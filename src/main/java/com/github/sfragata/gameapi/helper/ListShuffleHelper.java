@@ -1,55 +1,175 @@
 package com.github.sfragata.gameapi.helper;
 
 import java.util.List;
-import java.util.Random;
+import java.util.ListIterator;
+import java.util.RandomAccess;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
- * Helper class to "shuffle" a list
+ * Helper class to "shuffle" a list (or an array)
+ * The random numbers come from a {@link RandomSource}, by default created by the strategy configured in the property
+ * gameapi.shuffle.random-strategy (THREAD_LOCAL if not set)
  * @author Silvio Fragata
  *
  */
 @Component
 public class ListShuffleHelper {
 
-    private static final Random RANDOM = new Random();
-
     private static final Logger LOGGER = LoggerFactory.getLogger(ListShuffleHelper.class);
 
+    private final RandomStrategy defaultRandomStrategy;
+
     /**
      * Defeult constructor
      */
     public ListShuffleHelper() {
 
+        this(RandomStrategy.THREAD_LOCAL);
+    }
+
+    /**
+     * Constructor
+     * @param defaultRandomStrategy the strategy used when no random source is given
+     */
+    @Autowired
+    public ListShuffleHelper(
+        @Value("${gameapi.shuffle.random-strategy:THREAD_LOCAL}") final RandomStrategy defaultRandomStrategy) {
+
         super();
+        if (defaultRandomStrategy == RandomStrategy.SEEDED) {
+            throw new IllegalArgumentException("The SEEDED random strategy can only be chosen per game");
+        }
+        this.defaultRandomStrategy = defaultRandomStrategy;
     }
 
     /**
-     * Method to shuffle the list
-     * It swaps the current index by another using a random index
+     * Method to create a source of random numbers
+     * @param randomStrategy the strategy, if null the default strategy is used
+     * @param seed the seed (see {@link RandomStrategy#newSource(Long)})
+     * @return the source of random numbers
+     */
+    public RandomSource newRandomSource(
+        final RandomStrategy randomStrategy,
+        final Long seed) {
+
+        return (randomStrategy != null ? randomStrategy : this.defaultRandomStrategy).newSource(seed);
+    }
+
+    /**
+     * Method to create a source of random numbers that continues a sequence (e.g. of a game recovered)
+     * @param randomStrategy the strategy, if null the default strategy is used
+     * @param seed the seed (see {@link RandomStrategy#newSource(Long)})
+     * @param position the position of the sequence (see {@link RandomStrategy#newSource(Long, long)})
+     * @return the source of random numbers
+     */
+    public RandomSource newRandomSource(
+        final RandomStrategy randomStrategy,
+        final Long seed,
+        final long position) {
+
+        return (randomStrategy != null ? randomStrategy : this.defaultRandomStrategy).newSource(seed, position);
+    }
+
+    /**
+     * Method to shuffle the list using a source created by the default strategy
      * @param <T> the object into list
      * @param list the list of type T
      */
     public <T> void shuffle(
         final List<T> list) {
 
-        LOGGER.debug("BEFORE: {}", list);
+        shuffle(list, this.defaultRandomStrategy.newSource(null));
+    }
+
+    /**
+     * Method to shuffle the list
+     * It swaps the current index by another using a random index. Lists without random access are copied to an array,
+     * shuffled and then written back
+     * @param <T> the object into list
+     * @param list the list of type T
+     * @param random the source of random numbers
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void shuffle(
+        final List<T> list,
+        final RandomSource random) {
 
         if (list != null && !list.isEmpty()) {
             final int size = list.size();
 
-            for (int i = 0; i < size; i++) {
-                final int newIndex = i + RANDOM.nextInt(size - i);
-                swap(list, i, newIndex);
+            if (list instanceof RandomAccess) {
+                for (int i = 0; i < size; i++) {
+                    final int newIndex = i + random.nextInt(size - i);
+                    swap(list, i, newIndex);
+                }
+            } else {
+                final Object[] array = list.toArray();
+                shuffle(array, random);
+                final ListIterator<T> iterator = list.listIterator();
+                for (final Object element : array) {
+                    iterator.next();
+                    iterator.set((T) element);
+                }
             }
+            LOGGER.trace("{} elements shuffled", size);
         }
-        LOGGER.debug("AFTER: {}", list);
 
     }
 
+    /**
+     * Method to shuffle a range of the array using a source created by the default strategy
+     * @param array the array
+     * @param fromIndex the first index to be shuffled (inclusive)
+     * @param toIndex the last index to be shuffled (exclusive)
+     */
+    public void shuffle(
+        final byte[] array,
+        final int fromIndex,
+        final int toIndex) {
+
+        shuffle(array, fromIndex, toIndex, this.defaultRandomStrategy.newSource(null));
+    }
+
+    /**
+     * Method to shuffle a range of the array
+     * It swaps the current index by another (in the range) using a random index
+     * @param array the array
+     * @param fromIndex the first index to be shuffled (inclusive)
+     * @param toIndex the last index to be shuffled (exclusive)
+     * @param random the source of random numbers
+     */
+    public void shuffle(
+        final byte[] array,
+        final int fromIndex,
+        final int toIndex,
+        final RandomSource random) {
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            final int newIndex = i + random.nextInt(toIndex - i);
+            final byte content = array[i];
+            array[i] = array[newIndex];
+            array[newIndex] = content;
+        }
+        LOGGER.trace("{} elements shuffled", toIndex - fromIndex);
+    }
+
+    private static void shuffle(
+        final Object[] array,
+        final RandomSource random) {
+
+        for (int i = 0; i < array.length; i++) {
+            final int newIndex = i + random.nextInt(array.length - i);
+            final Object content = array[i];
+            array[i] = array[newIndex];
+            array[newIndex] = content;
+        }
+    }
+
     private <T> void swap(
         final List<T> list,
         final int index,
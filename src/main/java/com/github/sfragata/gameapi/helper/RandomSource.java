@@ -0,0 +1,29 @@
+package com.github.sfragata.gameapi.helper;
+
+/**
+ * Source of random numbers used to shuffle
+ * @author Silvio Fragata
+ *
+ */
+@FunctionalInterface
+public interface RandomSource {
+
+    /**
+     * method to return a random number
+     * @param bound the upper bound (exclusive), it must be positive
+     * @return a random number between zero (inclusive) and the bound (exclusive)
+     */
+    int nextInt(
+        int bound);
+
+    /**
+     * method to return the position of the source in its sequence, to create it again at the same position (see
+     * {@link RandomStrategy#newSource(Long, long)})
+     * @return how many random numbers the source generated, or 0 if the sequence can't be created again
+     */
+    default long getPosition() {
+
+        return 0L;
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.github.sfragata.gameapi.helper;
+
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Enum with the available strategies to create a {@link RandomSource}
+ * <ul>
+ * <li>THREAD_LOCAL: uses the {@link ThreadLocalRandom} of the current thread (no contention between threads)</li>
+ * <li>SPLITTABLE: creates a {@link SplittableRandom} for each source</li>
+ * <li>SECURE: uses one {@link SecureRandom} shared by all the threads, for regulated tables</li>
+ * <li>SEEDED: creates a {@link Random} with the seed given, the sequence is deterministic so it can be replayed and
+ * continued from a position</li>
+ * </ul>
+ * @author Silvio Fragata
+ *
+ */
+public enum RandomStrategy {
+        THREAD_LOCAL {
+
+            @Override
+            public RandomSource newSource(
+                final Long seed) {
+
+                return THREAD_LOCAL_SOURCE;
+            }
+        },
+        SPLITTABLE {
+
+            @Override
+            public RandomSource newSource(
+                final Long seed) {
+
+                final SplittableRandom random =
+                    new SplittableRandom(seed != null ? seed : ThreadLocalRandom.current().nextLong());
+                return random::nextInt;
+            }
+        },
+        SECURE {
+
+            @Override
+            public RandomSource newSource(
+                final Long seed) {
+
+                return SECURE_SOURCE;
+            }
+        },
+        SEEDED {
+
+            @Override
+            public RandomSource newSource(
+                final Long seed) {
+
+                return newSource(seed, 0L);
+            }
+
+            @Override
+            public RandomSource newSource(
+                final Long seed,
+                final long position) {
+
+                if (seed == null) {
+                    throw new IllegalArgumentException("A seed is required by the " + name() + " random strategy");
+                }
+                return new SeededRandomSource(seed, position);
+            }
+        };
+
+    private static final RandomSource THREAD_LOCAL_SOURCE = bound -> ThreadLocalRandom.current().nextInt(bound);
+
+    /**
+     * Shared (it's thread safe) instead of one per thread: with virtual threads each request runs in a new thread, that
+     * would create and seed a new one
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    private static final RandomSource SECURE_SOURCE = SECURE_RANDOM::nextInt;
+
+    /**
+     * method to create a source of random numbers
+     * The sources created by SPLITTABLE and SEEDED aren't thread safe
+     * @param seed the seed, required by SEEDED and optional to SPLITTABLE (ignored by the other strategies)
+     * @return the source of random numbers
+     */
+    public abstract RandomSource newSource(
+        Long seed);
+
+    /**
+     * method to create a source of random numbers that continues a sequence (e.g. of a game recovered), only SEEDED
+     * continues it, the other strategies ignore the position
+     * @param seed the seed, required by SEEDED and optional to SPLITTABLE (ignored by the other strategies)
+     * @param position the position of the sequence (see {@link RandomSource#getPosition()})
+     * @return the source of random numbers
+     */
+    public RandomSource newSource(
+        final Long seed,
+        final long position) {
+
+        return newSource(seed);
+    }
+
+}
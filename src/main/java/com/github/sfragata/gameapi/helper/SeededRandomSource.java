@@ -0,0 +1,78 @@
+package com.github.sfragata.gameapi.helper;
+
+import java.util.Random;
+
+/**
+ * Source of random numbers of the SEEDED strategy: a {@link Random} that counts the numbers it generated (its
+ * position), so a source created again with the seed and the position continues the same sequence
+ * The position is restored by jumping the generator of {@link Random} ahead, in a time logarithmic to the position
+ * @author Silvio Fragata
+ *
+ */
+final class SeededRandomSource
+    extends Random
+    implements RandomSource {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The constants of the linear congruential generator of {@link Random}
+     */
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+
+    private static final long ADDEND = 0xBL;
+
+    private static final long MASK = (1L << 48) - 1;
+
+    private long position;
+
+    /**
+     * Constructor
+     * @param seed the seed
+     * @param position how many numbers were generated from the seed
+     */
+    SeededRandomSource(final long seed, final long position) {
+
+        super(seed);
+        if (position > 0) {
+            // the state after position steps is multiplier * state + addend, the steps are composed by squaring
+            long multiplier = 1L;
+            long addend = 0L;
+            long stepMultiplier = MULTIPLIER;
+            long stepAddend = ADDEND;
+            for (long steps = position; steps > 0; steps >>>= 1) {
+                if ((steps & 1) != 0) {
+                    multiplier = multiplier * stepMultiplier & MASK;
+                    addend = (addend * stepMultiplier + stepAddend) & MASK;
+                }
+                stepAddend = (stepMultiplier + 1) * stepAddend & MASK;
+                stepMultiplier = stepMultiplier * stepMultiplier & MASK;
+            }
+            final long state = (multiplier * ((seed ^ MULTIPLIER) & MASK) + addend) & MASK;
+            // setSeed scrambles the seed given with the multiplier, so it's scrambled here to be undone
+            setSeed(state ^ MULTIPLIER);
+            this.position = position;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int next(
+        final int bits) {
+
+        this.position++;
+        return super.next(bits);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getPosition() {
+
+        return this.position;
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.github.sfragata.gameapi.helper;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Helper class to create virtual threads (Java 21) while the application is still compiled for Java 11
+ * The Java 21 methods are looked up once: Thread.ofVirtual().name(prefix, 1).factory() creates the thread factory and
+ * Executors.newThreadPerTaskExecutor(factory) the executor. In older Java versions {@link #isAvailable()} is false
+ * @author Silvio Fragata
+ *
+ */
+public final class VirtualThreads {
+
+    private static final MethodHandle OF_VIRTUAL;
+
+    private static final MethodHandle NAME;
+
+    private static final MethodHandle FACTORY;
+
+    private static final MethodHandle NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        MethodHandle ofVirtual = null;
+        MethodHandle name = null;
+        MethodHandle factory = null;
+        MethodHandle newThreadPerTaskExecutor = null;
+        try {
+            final Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            final Class<?> ofVirtualBuilder = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualBuilder));
+            name = lookup.findVirtual(ofVirtualBuilder, "name",
+                MethodType.methodType(ofVirtualBuilder, String.class, long.class));
+            factory = lookup.findVirtual(builder, "factory", MethodType.methodType(ThreadFactory.class));
+            newThreadPerTaskExecutor = lookup.findStatic(Executors.class, "newThreadPerTaskExecutor",
+                MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+        } catch (final ClassNotFoundException | NoSuchMethodException | IllegalAccessException exception) {
+            // before Java 21 there are no virtual threads (Java 19 and 20 only have them in preview)
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+    }
+
+    private VirtualThreads() {
+
+        super();
+    }
+
+    /**
+     * method to check if the virtual threads can be created
+     * @return true if the Java version running the application has virtual threads
+     */
+    public static boolean isAvailable() {
+
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * method to create a factory of virtual threads
+     * @param prefix the prefix of the thread names, followed by a number
+     * @return the thread factory
+     * @throws UnsupportedOperationException if the virtual threads aren't available
+     */
+    public static ThreadFactory newThreadFactory(
+        final String prefix) {
+
+        if (!isAvailable()) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21, running "
+                + System.getProperty("java.version"));
+        }
+        try {
+            return (ThreadFactory) FACTORY.invoke(NAME.invoke(OF_VIRTUAL.invoke(), prefix, 1L));
+        } catch (final RuntimeException | Error exception) {
+            throw exception;
+        } catch (final Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * method to create an executor that starts a virtual thread for each task
+     * @param prefix the prefix of the thread names, followed by a number
+     * @return the executor
+     * @throws UnsupportedOperationException if the virtual threads aren't available
+     */
+    public static ExecutorService newThreadPerTaskExecutor(
+        final String prefix) {
+
+        final ThreadFactory threadFactory = newThreadFactory(prefix);
+        try {
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(threadFactory);
+        } catch (final RuntimeException | Error exception) {
+            throw exception;
+        } catch (final Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.github.sfragata.gameapi.journal;
+
+import java.nio.ByteBuffer;
+
+import com.github.sfragata.gameapi.event.GameEvent;
+import com.github.sfragata.gameapi.event.GameEventType;
+import com.github.sfragata.gameapi.helper.RandomStrategy;
+
+/**
+ * Binary format of the events stored by the journal
+ * Every event starts with the type code (1 byte), the game id (4 bytes), the game version (8 bytes) and the timestamp
+ * (8 bytes), followed by: GAME_CREATED: the random strategy ordinal or -1 (1 byte), 1 if there is a seed (1 byte) and
+ * the seed (8 bytes); PLAYER_ADDED and PLAYER_REMOVED: the player id (4 bytes); CARDS_DEALT: the number of cards
+ * (4 bytes) and, for each card, the player id (4 bytes) and the card code (1 byte); SHOE_SHUFFLED: the number of cards
+ * (4 bytes), the card codes (1 byte each) and the position of the random numbers (8 bytes, missing in the events
+ * written before it was added); GAME_RELOADED: the size of the state (4 bytes) and the state
+ * @author Silvio Fragata
+ */
+final class GameEventCodec {
+
+    private static final int HEADER_SIZE = 1 + 4 + 8 + 8;
+
+    private static final RandomStrategy[] RANDOM_STRATEGIES = RandomStrategy.values();
+
+    private GameEventCodec() {
+
+        super();
+    }
+
+    /**
+     * method to encode an event
+     * @param event the event
+     * @return the bytes of the event
+     */
+    static byte[] encode(
+        final GameEvent event) {
+
+        final int[] playerIds = event.getPlayerIds();
+        final byte[] cards = event.getCards();
+        final ByteBuffer buffer = ByteBuffer.allocate(size(event));
+        buffer.put(event.getType().getCode()).putInt(event.getGameId()).putLong(event.getVersion())
+            .putLong(event.getTimestamp());
+        switch (event.getType()) {
+            case GAME_CREATED:
+                // the ordinal is stored, so new strategies must be added at the end of the enum
+                buffer.put(event.getRandomStrategy() != null ? (byte) event.getRandomStrategy().ordinal() : -1);
+                buffer.put(event.getSeed() != null ? (byte) 1 : 0);
+                buffer.putLong(event.getSeed() != null ? event.getSeed() : 0L);
+                break;
+            case PLAYER_ADDED:
+            case PLAYER_REMOVED:
+                buffer.putInt(event.getPlayerId());
+                break;
+            case CARDS_DEALT:
+                buffer.putInt(cards.length);
+                for (int i = 0; i < cards.length; i++) {
+                    buffer.putInt(playerIds[i]).put(cards[i]);
+                }
+                break;
+            case SHOE_SHUFFLED:
+                buffer.putInt(cards.length).put(cards).putLong(event.getRandomPosition());
+                break;
+            case GAME_RELOADED:
+                buffer.putInt(event.getState().length).put(event.getState());
+                break;
+            default:
+                break;
+        }
+        return buffer.array();
+    }
+
+    /**
+     * method to decode an event
+     * @param buffer the buffer positioned at the start of the event
+     * @return the event
+     * @throws IllegalArgumentException if the event is invalid
+     */
+    static GameEvent decode(
+        final ByteBuffer buffer) {
+
+        final GameEventType type = GameEventType.valueOf(buffer.get());
+        final int gameId = buffer.getInt();
+        final long version = buffer.getLong();
+        final long timestamp = buffer.getLong();
+        RandomStrategy randomStrategy = null;
+        Long seed = null;
+        long randomPosition = 0L;
+        int[] playerIds = new int[0];
+        byte[] cards = new byte[0];
+        byte[] state = new byte[0];
+        switch (type) {
+            case GAME_CREATED:
+                final byte strategy = buffer.get();
+                randomStrategy = strategy >= 0 ? RANDOM_STRATEGIES[strategy] : null;
+                final boolean hasSeed = buffer.get() != 0;
+                final long seedValue = buffer.getLong();
+                seed = hasSeed ? seedValue : null;
+                break;
+            case PLAYER_ADDED:
+            case PLAYER_REMOVED:
+                playerIds = new int[] { buffer.getInt() };
+                break;
+            case CARDS_DEALT:
+                final int dealt = buffer.getInt();
+                playerIds = new int[dealt];
+                cards = new byte[dealt];
+                for (int i = 0; i < dealt; i++) {
+                    playerIds[i] = buffer.getInt();
+                    cards[i] = buffer.get();
+                }
+                break;
+            case SHOE_SHUFFLED:
+                cards = new byte[buffer.getInt()];
+                buffer.get(cards);
+                randomPosition = buffer.remaining() >= 8 ? buffer.getLong() : 0L;
+                break;
+            case GAME_RELOADED:
+                state = new byte[buffer.getInt()];
+                buffer.get(state);
+                break;
+            default:
+                break;
+        }
+        return GameEvent.of(type, gameId, version, timestamp, randomStrategy, seed, randomPosition, playerIds, cards,
+            state);
+    }
+
+    private static int size(
+        final GameEvent event) {
+
+        switch (event.getType()) {
+            case GAME_CREATED:
+                return HEADER_SIZE + 1 + 1 + 8;
+            case PLAYER_ADDED:
+            case PLAYER_REMOVED:
+                return HEADER_SIZE + 4;
+            case CARDS_DEALT:
+                return HEADER_SIZE + 4 + event.getCards().length * (4 + 1);
+            case SHOE_SHUFFLED:
+                return HEADER_SIZE + 4 + event.getCards().length + 8;
+            case GAME_RELOADED:
+                return HEADER_SIZE + 4 + event.getState().length;
+            default:
+                return HEADER_SIZE;
+        }
+    }
+
+}
@@ -0,0 +1,576 @@
+package com.github.sfragata.gameapi.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ObjLongConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.github.sfragata.gameapi.event.GameEvent;
+import com.github.sfragata.gameapi.event.GameEventListener;
+
+/**
+ * Append only journal of the changes of the games (gameapi.journal.enabled=true), so the games can be recovered after a
+ * restart (see {@link #recover(ObjLongConsumer)})
+ * The events are written to memory mapped segment files (journal-[first sequence].log in gameapi.journal.directory),
+ * each record has its length, a CRC32 of the event, a sequence number and the event (see {@link GameEventCodec}).
+ * A flusher thread forces the written records to disk in batches (group commit): with gameapi.journal.sync=true (the
+ * default) a change only returns after the batch containing it is forced, otherwise the records are forced every
+ * gameapi.journal.flush-interval
+ * @author Silvio Fragata
+ */
+@Component
+@ConditionalOnProperty(name = "gameapi.journal.enabled", havingValue = "true")
+public class GameJournal
+    implements GameEventListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GameJournal.class);
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("journal-(\\d{20})\\.log");
+
+    /**
+     * length (4 bytes), CRC32 of the event (4 bytes) and sequence number (8 bytes)
+     */
+    static final int RECORD_HEADER_SIZE = 4 + 4 + 8;
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final boolean sync;
+
+    private final long flushIntervalNanos;
+
+    private final Lock lock = new ReentrantLock();
+
+    private final Condition dataWritten = this.lock.newCondition();
+
+    private final Condition dataForced = this.lock.newCondition();
+
+    private Segment segment;
+
+    private int position;
+
+    private long lastSequence;
+
+    private long forcedSequence;
+
+    private RuntimeException failure;
+
+    private boolean running;
+
+    private Thread flusher;
+
+    /**
+     * Constructor
+     * @param directory the directory of the segment files
+     * @param segmentSize the size of each segment file
+     * @param sync true if a change only returns after it is forced to disk
+     * @param flushInterval the maximum time between two flushes when sync is false
+     */
+    @Autowired
+    public GameJournal(
+        @Value("${gameapi.journal.directory:data/journal}") final String directory,
+        @Value("${gameapi.journal.segment-size:64MB}") final DataSize segmentSize,
+        @Value("${gameapi.journal.sync:true}") final boolean sync,
+        @Value("${gameapi.journal.flush-interval:10ms}") final Duration flushInterval) {
+
+        super();
+        if (segmentSize.toBytes() <= RECORD_HEADER_SIZE || segmentSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid journal segment size: " + segmentSize);
+        }
+        this.directory = Paths.get(directory);
+        this.segmentSize = (int) segmentSize.toBytes();
+        this.sync = sync;
+        this.flushIntervalNanos = flushInterval.toNanos();
+    }
+
+    /**
+     * method to read all the events of the journal and open it for writing after the last valid record
+     * A record that wasn't completely written (e.g. the application was killed while writing it) at the end of the
+     * journal is discarded, as its change was never confirmed
+     * @param consumer the consumer of the events and their sequence numbers, in the order they were written
+     * @return the number of events read
+     * @throws IllegalStateException if the journal is corrupted before its end or it was already recovered
+     */
+    public long recover(
+        final ObjLongConsumer<GameEvent> consumer) {
+
+        this.lock.lock();
+        try {
+            if (this.segment != null) {
+                throw new IllegalStateException("The journal was already recovered");
+            }
+            Files.createDirectories(this.directory);
+            final List<Path> paths = segmentPaths();
+            long events = 0;
+            for (int i = 0; i < paths.size(); i++) {
+                final Path path = paths.get(i);
+                final long firstSequence = firstSequence(path);
+                if (i > 0 && firstSequence != this.lastSequence + 1) {
+                    throw new IllegalStateException(String.format("Journal segment %s should start at %d", path,
+                        this.lastSequence + 1));
+                }
+                this.lastSequence = firstSequence - 1;
+                closeSegment();
+                this.segment = Segment.open(path, Math.max(Files.size(path), this.segmentSize));
+                final ReadResult result = read(this.segment, consumer);
+                events += this.lastSequence - firstSequence + 1;
+                this.position = result.end;
+                if (result.invalidTail) {
+                    if (i < paths.size() - 1) {
+                        throw new IllegalStateException("Journal segment " + path + " is corrupted");
+                    }
+                    discardTail();
+                }
+            }
+            if (this.segment == null) {
+                this.segment = Segment.create(this.directory, this.lastSequence + 1, this.segmentSize);
+                this.position = 0;
+            }
+            this.forcedSequence = this.lastSequence;
+            startFlusher();
+            LOGGER.info("{} events recovered from the journal in {}", events, this.directory.toAbsolutePath());
+            return events;
+        } catch (final IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * The event is appended to the journal
+     */
+    @Override
+    public void onEvent(
+        final GameEvent event) {
+
+        append(event);
+    }
+
+    /**
+     * method to append an event to the journal
+     * With gameapi.journal.sync=true it only returns after the event is forced to disk
+     * @param event the event
+     * @return the sequence number of the event
+     */
+    public long append(
+        final GameEvent event) {
+
+        final byte[] record = GameEventCodec.encode(event);
+        final CRC32 crc = new CRC32();
+        crc.update(record);
+
+        this.lock.lock();
+        try {
+            checkOpen();
+            if (this.position + RECORD_HEADER_SIZE + record.length > this.segment.capacity()) {
+                roll(RECORD_HEADER_SIZE + record.length);
+            }
+            final long sequence = ++this.lastSequence;
+            final ByteBuffer buffer = this.segment.writer;
+            buffer.putInt(this.position + 4, (int) crc.getValue());
+            buffer.putLong(this.position + 8, sequence);
+            buffer.position(this.position + RECORD_HEADER_SIZE);
+            buffer.put(record);
+            // the length is written last, so a record is only read when it was completely written
+            buffer.putInt(this.position, record.length);
+            this.position += RECORD_HEADER_SIZE + record.length;
+
+            if (this.sync) {
+                this.dataWritten.signal();
+                while (this.forcedSequence < sequence) {
+                    checkOpen();
+                    this.dataForced.awaitUninterruptibly();
+                }
+            }
+            return sequence;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * method to force the events written to disk
+     * @return the sequence number of the last event forced
+     */
+    public long force() {
+
+        this.lock.lock();
+        try {
+            checkOpen();
+            this.segment.buffer.force();
+            this.forcedSequence = this.lastSequence;
+            this.dataForced.signalAll();
+            return this.forcedSequence;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * method to delete the segments that only have events up to a sequence number (e.g. events already in a snapshot)
+     * The segment being written is never deleted
+     * @param sequence the sequence number
+     * @return the number of segments deleted
+     */
+    public int deleteSegmentsUpTo(
+        final long sequence) {
+
+        this.lock.lock();
+        try {
+            checkOpen();
+            final List<Path> paths = segmentPaths();
+            int deleted = 0;
+            // a segment only has events up to the sequence if the next one starts after it
+            for (int i = 0; i < paths.size() - 1 && firstSequence(paths.get(i + 1)) <= sequence + 1; i++) {
+                if (paths.get(i).equals(this.segment.path)) {
+                    break;
+                }
+                Files.delete(paths.get(i));
+                deleted++;
+            }
+            return deleted;
+        } catch (final IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return the sequence number of the last event written
+     */
+    public long lastSequence() {
+
+        this.lock.lock();
+        try {
+            return this.lastSequence;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return the sequence number of the last event forced to disk
+     */
+    public long forcedSequence() {
+
+        this.lock.lock();
+        try {
+            return this.forcedSequence;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * method to force the pending events to disk and close the journal
+     */
+    @PreDestroy
+    public void close() {
+
+        final Thread thread;
+        this.lock.lock();
+        try {
+            this.running = false;
+            this.dataWritten.signalAll();
+            thread = this.flusher;
+        } finally {
+            this.lock.unlock();
+        }
+        if (thread != null) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (final InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        this.lock.lock();
+        try {
+            if (this.segment != null && this.failure == null) {
+                this.segment.buffer.force();
+                this.forcedSequence = this.lastSequence;
+            }
+            closeSegment();
+            if (this.failure == null) {
+                this.failure = new IllegalStateException("The journal is closed");
+            }
+            this.dataForced.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the valid records of the segment
+     */
+    private ReadResult read(
+        final Segment readSegment,
+        final ObjLongConsumer<GameEvent> consumer) {
+
+        final ByteBuffer buffer = readSegment.buffer.duplicate();
+        final CRC32 crc = new CRC32();
+        int offset = 0;
+        while (offset + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            final int length = buffer.getInt(offset);
+            if (length == 0) {
+                return new ReadResult(offset, false);
+            }
+            if (length < 0 || offset + RECORD_HEADER_SIZE + length > buffer.capacity()) {
+                return new ReadResult(offset, true);
+            }
+            final int expectedCrc = buffer.getInt(offset + 4);
+            final long sequence = buffer.getLong(offset + 8);
+            final ByteBuffer record = buffer.duplicate();
+            record.position(offset + RECORD_HEADER_SIZE).limit(offset + RECORD_HEADER_SIZE + length);
+            crc.reset();
+            crc.update(record.duplicate());
+            if ((int) crc.getValue() != expectedCrc || sequence != this.lastSequence + 1) {
+                return new ReadResult(offset, true);
+            }
+            final GameEvent event;
+            try {
+                event = GameEventCodec.decode(record);
+            } catch (final RuntimeException exception) {
+                return new ReadResult(offset, true);
+            }
+            consumer.accept(event, sequence);
+            this.lastSequence = sequence;
+            offset += RECORD_HEADER_SIZE + length;
+        }
+        return new ReadResult(offset, false);
+    }
+
+    private void discardTail() {
+
+        LOGGER.warn("Discarding the incomplete record at {} of the journal segment {}", this.position,
+            this.segment.path);
+        final ByteBuffer buffer = this.segment.writer;
+        final byte[] zeros = new byte[4096];
+        buffer.position(this.position);
+        while (buffer.hasRemaining()) {
+            buffer.put(zeros, 0, Math.min(zeros.length, buffer.remaining()));
+        }
+        this.segment.buffer.force();
+    }
+
+    private void roll(
+        final int recordSize) {
+
+        this.segment.buffer.force();
+        this.forcedSequence = this.lastSequence;
+        this.dataForced.signalAll();
+        closeSegment();
+        try {
+            this.segment = Segment.create(this.directory, this.lastSequence + 1,
+                Math.max(this.segmentSize, recordSize));
+        } catch (final IOException ioException) {
+            this.failure = new UncheckedIOException(ioException);
+            throw this.failure;
+        }
+        this.position = 0;
+    }
+
+    private void startFlusher() {
+
+        this.running = true;
+        this.flusher = new Thread(this::flush, "game-journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    private void flush() {
+
+        while (true) {
+            final long sequence;
+            final MappedByteBuffer buffer;
+            this.lock.lock();
+            try {
+                while (this.running && this.lastSequence == this.forcedSequence) {
+                    this.dataWritten.awaitNanos(this.flushIntervalNanos);
+                }
+                if (!this.running) {
+                    return;
+                }
+                if (!this.sync) {
+                    // waits the interval so more records are forced together
+                    this.dataWritten.awaitNanos(this.flushIntervalNanos);
+                }
+                sequence = this.lastSequence;
+                buffer = this.segment.buffer;
+            } catch (final InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                this.lock.unlock();
+            }
+
+            // forced without the lock, so the next records are written meanwhile (and forced in the next batch)
+            RuntimeException forceFailure = null;
+            try {
+                buffer.force();
+            } catch (final UncheckedIOException exception) {
+                LOGGER.error("Error forcing the journal to disk", exception);
+                forceFailure = exception;
+            }
+
+            this.lock.lock();
+            try {
+                if (forceFailure != null) {
+                    this.failure = forceFailure;
+                } else if (sequence > this.forcedSequence) {
+                    this.forcedSequence = sequence;
+                }
+                this.dataForced.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    private void checkOpen() {
+
+        if (this.failure != null) {
+            throw this.failure;
+        }
+        if (this.segment == null) {
+            throw new IllegalStateException("The journal wasn't recovered");
+        }
+    }
+
+    private void closeSegment() {
+
+        if (this.segment != null) {
+            try {
+                this.segment.channel.close();
+            } catch (final IOException ioException) {
+                LOGGER.warn("Error closing the journal segment {}", this.segment.path, ioException);
+            }
+            this.segment = null;
+        }
+    }
+
+    private List<Path> segmentPaths()
+        throws IOException {
+
+        try (Stream<Path> paths = Files.list(this.directory)) {
+            return paths.filter(path -> SEGMENT_NAME.matcher(path.getFileName().toString()).matches()).sorted()
+                .collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    private static long firstSequence(
+        final Path path) {
+
+        final Matcher matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid journal segment: " + path);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    /**
+     * A segment file mapped in memory
+     */
+    private static final class Segment {
+
+        private final Path path;
+
+        private final FileChannel channel;
+
+        private final MappedByteBuffer buffer;
+
+        /**
+         * view of the buffer used only by the writer, so its position isn't shared
+         */
+        private final ByteBuffer writer;
+
+        private Segment(final Path path, final FileChannel channel, final MappedByteBuffer buffer) {
+
+            super();
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.writer = buffer.duplicate();
+        }
+
+        static Segment create(
+            final Path directory,
+            final long firstSequence,
+            final int size)
+            throws IOException {
+
+            return open(directory.resolve(String.format("journal-%020d.log", firstSequence)), size);
+        }
+
+        static Segment open(
+            final Path path,
+            final long size)
+            throws IOException {
+
+            final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+            try {
+                return new Segment(path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            } catch (final IOException ioException) {
+                channel.close();
+                throw ioException;
+            }
+        }
+
+        int capacity() {
+
+            return this.buffer.capacity();
+        }
+
+    }
+
+    /**
+     * Position after the last valid record of a segment and if there is an invalid record after it
+     */
+    private static final class ReadResult {
+
+        private final int end;
+
+        private final boolean invalidTail;
+
+        ReadResult(final int end, final boolean invalidTail) {
+
+            super();
+            this.end = end;
+            this.invalidTail = invalidTail;
+        }
+
+    }
+
+}
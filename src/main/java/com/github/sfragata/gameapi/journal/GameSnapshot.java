@@ -0,0 +1,190 @@
+package com.github.sfragata.gameapi.journal;
+
+import java.nio.ByteBuffer;
+
+import com.github.sfragata.gameapi.domain.Card;
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.domain.Player;
+import com.github.sfragata.gameapi.domain.Shoe;
+import com.github.sfragata.gameapi.helper.RandomStrategy;
+
+/**
+ * State of a game encoded when it had all the changes of the journal up to a sequence number (and none after it), so
+ * the changes after that sequence can be applied to the game decoded
+ * The game is encoded as the game id (4 bytes), the version (8 bytes), when it was created and last used (8 bytes
+ * each), the random strategy ordinal or -1 (1 byte), 1 if there is a seed (1 byte) and the seed (8 bytes), the number
+ * of undealt cards or -1 if there is no shoe (4 bytes) and their card codes (1 byte each), the number of players
+ * (4 bytes) and, for each player, the player id (4 bytes), the number of cards (4 bytes) and their card codes (1 byte
+ * each), and the position of the random numbers (8 bytes, see {@link Game#getRandomPosition()})
+ * The random source isn't part of the state, it's created again at the position, so a game with a seed continues its
+ * random numbers where they stopped (the states written before the position was added start them from the seed)
+ * @author Silvio Fragata
+ */
+public final class GameSnapshot {
+
+    private static final RandomStrategy[] RANDOM_STRATEGIES = RandomStrategy.values();
+
+    private final int gameId;
+
+    private final long sequence;
+
+    private final byte[] state;
+
+    private GameSnapshot(final int gameId, final long sequence, final byte[] state) {
+
+        super();
+        this.gameId = gameId;
+        this.sequence = sequence;
+        this.state = state;
+    }
+
+    /**
+     * method to encode the state of a game, it must be called by the game executor so the game doesn't change meanwhile
+     * @param game the game
+     * @param sequence the sequence number of the last change of the journal (the game has no changes after it)
+     * @return the snapshot of the game
+     */
+    public static GameSnapshot of(
+        final Game game,
+        final long sequence) {
+
+        return new GameSnapshot(game.getGameId(), sequence, encode(game));
+    }
+
+    /**
+     * method to encode the state of a game, it must be called by the game executor so the game doesn't change meanwhile
+     * @param game the game
+     * @return the state of the game
+     */
+    public static byte[] encode(
+        final Game game) {
+
+        final Shoe shoe = game.getShoe();
+        final byte[] undealtCards = shoe != null ? shoe.undealtCodes() : null;
+        int size = 4 + 8 + 8 + 8 + 1 + 1 + 8 + 4 + (undealtCards != null ? undealtCards.length : 0) + 4;
+        for (final Player player : game.getPlayers()) {
+            size += 4 + 4 + player.getCards().size();
+        }
+        size += 8;
+
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(game.getGameId()).putLong(game.getVersion()).putLong(game.getCreatedAt())
+            .putLong(game.getLastAccess());
+        // the ordinal is stored, so new strategies must be added at the end of the enum
+        buffer.put(game.getRandomStrategy() != null ? (byte) game.getRandomStrategy().ordinal() : -1);
+        buffer.put(game.getSeed() != null ? (byte) 1 : 0);
+        buffer.putLong(game.getSeed() != null ? game.getSeed() : 0L);
+        if (undealtCards != null) {
+            buffer.putInt(undealtCards.length).put(undealtCards);
+        } else {
+            buffer.putInt(-1);
+        }
+        buffer.putInt(game.getPlayers().size());
+        for (final Player player : game.getPlayers()) {
+            buffer.putInt(player.getPlayerId()).putInt(player.getCards().size());
+            for (final Card card : player.getCards()) {
+                buffer.put(card.code());
+            }
+        }
+        buffer.putLong(game.getRandomPosition());
+        return buffer.array();
+    }
+
+    /**
+     * method to read a snapshot written by {@link #writeTo(ByteBuffer)}
+     * @param buffer the buffer positioned at the start of the snapshot
+     * @return the snapshot
+     */
+    static GameSnapshot readFrom(
+        final ByteBuffer buffer) {
+
+        final long sequence = buffer.getLong();
+        final byte[] state = new byte[buffer.getInt()];
+        buffer.get(state);
+        return new GameSnapshot(ByteBuffer.wrap(state).getInt(), sequence, state);
+    }
+
+    /**
+     * method to write the snapshot, as the sequence number (8 bytes), the size of the state (4 bytes) and the state
+     * @param buffer the buffer
+     */
+    void writeTo(
+        final ByteBuffer buffer) {
+
+        buffer.putLong(this.sequence).putInt(this.state.length).put(this.state);
+    }
+
+    /**
+     * @return the number of bytes written by {@link #writeTo(ByteBuffer)}
+     */
+    int size() {
+
+        return 8 + 4 + this.state.length;
+    }
+
+    /**
+     * method to decode the game
+     * @return a new game with the state of the snapshot, without random source (see {@link Game#getRandomPosition()})
+     */
+    public Game toGame() {
+
+        return decode(this.state);
+    }
+
+    /**
+     * method to decode the state of a game
+     * @param state the state written by {@link #encode(Game)}
+     * @return a new game with the state, without random source (see {@link Game#getRandomPosition()})
+     */
+    public static Game decode(
+        final byte[] state) {
+
+        final ByteBuffer buffer = ByteBuffer.wrap(state);
+        final Game game = new Game();
+        game.setGameId(buffer.getInt());
+        game.restoreVersion(buffer.getLong());
+        final long createdAt = buffer.getLong();
+        game.restoreTimes(createdAt, buffer.getLong());
+        final byte strategy = buffer.get();
+        game.setRandomStrategy(strategy >= 0 ? RANDOM_STRATEGIES[strategy] : null);
+        final boolean hasSeed = buffer.get() != 0;
+        final long seed = buffer.getLong();
+        game.setSeed(hasSeed ? seed : null);
+        final int undealt = buffer.getInt();
+        if (undealt >= 0) {
+            final byte[] codes = new byte[undealt];
+            buffer.get(codes);
+            final Shoe shoe = new Shoe();
+            shoe.restore(codes);
+            game.setShoe(shoe);
+        }
+        final int players = buffer.getInt();
+        for (int i = 0; i < players; i++) {
+            final Player player = new Player(buffer.getInt());
+            final int cards = buffer.getInt();
+            for (int j = 0; j < cards; j++) {
+                player.addCard(Card.valueOf(buffer.get()));
+            }
+            // added after its cards, so the ranking of the game is only updated once
+            game.addPlayer(player);
+        }
+        if (buffer.remaining() >= 8) {
+            game.restoreRandomPosition(buffer.getLong());
+        }
+        return game;
+    }
+
+    public int getGameId() {
+
+        return this.gameId;
+    }
+
+    /**
+     * @return the sequence number of the last change of the journal in the snapshot (the game has no changes after it)
+     */
+    public long getSequence() {
+
+        return this.sequence;
+    }
+
+}
@@ -0,0 +1,164 @@
+package com.github.sfragata.gameapi.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Snapshot of all the games, so the journal only needs to be replayed after it
+ * The snapshot is taken while the games change: startSequence is the last change of the journal when it started and
+ * endSequence the last one when it finished, each game has its own sequence (see {@link GameSnapshot}), between them
+ * The file has a magic number (4 bytes), the format version (1 byte), the start and the end sequences (8 bytes each),
+ * the last player id (4 bytes), the number of games (4 bytes), the games and a CRC32 of everything before it (4 bytes)
+ * @author Silvio Fragata
+ */
+public final class GameSnapshotFile {
+
+    private static final int MAGIC = 0x47534E50;
+
+    private static final byte FORMAT_VERSION = 2;
+
+    private static final int HEADER_SIZE = 4 + 1 + 8 + 8 + 4 + 4;
+
+    private final long startSequence;
+
+    private final long endSequence;
+
+    private final int lastPlayerId;
+
+    private final List<GameSnapshot> games;
+
+    /**
+     * Constructor
+     * @param startSequence the last change of the journal when the snapshot started
+     * @param endSequence the last change of the journal when the snapshot finished
+     * @param lastPlayerId the last player id generated
+     * @param games the games
+     */
+    public GameSnapshotFile(final long startSequence, final long endSequence, final int lastPlayerId,
+        final List<GameSnapshot> games) {
+
+        super();
+        this.startSequence = startSequence;
+        this.endSequence = endSequence;
+        this.lastPlayerId = lastPlayerId;
+        this.games = Collections.unmodifiableList(games);
+    }
+
+    /**
+     * method to read a snapshot file
+     * @param path the file
+     * @return the snapshot or null if the file doesn't exist
+     * @throws IllegalStateException if the file is corrupted
+     */
+    public static GameSnapshotFile read(
+        final Path path) {
+
+        final byte[] bytes;
+        try {
+            if (!Files.exists(path)) {
+                return null;
+            }
+            bytes = Files.readAllBytes(path);
+        } catch (final IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length < HEADER_SIZE + 4 || buffer.getInt() != MAGIC || buffer.get() != FORMAT_VERSION) {
+            throw new IllegalStateException("Invalid snapshot file: " + path);
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 4);
+        if ((int) crc.getValue() != buffer.getInt(bytes.length - 4)) {
+            throw new IllegalStateException("Snapshot file " + path + " is corrupted");
+        }
+        final long startSequence = buffer.getLong();
+        final long endSequence = buffer.getLong();
+        final int lastPlayerId = buffer.getInt();
+        final int count = buffer.getInt();
+        final List<GameSnapshot> games = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            games.add(GameSnapshot.readFrom(buffer));
+        }
+        return new GameSnapshotFile(startSequence, endSequence, lastPlayerId, games);
+    }
+
+    /**
+     * method to write the snapshot to a file
+     * It's written to a temporary file, forced to disk and renamed, so the file has either the previous snapshot or
+     * this one
+     * @param path the file
+     */
+    public void write(
+        final Path path) {
+
+        int size = HEADER_SIZE + 4;
+        for (final GameSnapshot game : this.games) {
+            size += game.size();
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).put(FORMAT_VERSION).putLong(this.startSequence).putLong(this.endSequence)
+            .putInt(this.lastPlayerId).putInt(this.games.size());
+        for (final GameSnapshot game : this.games) {
+            game.writeTo(buffer);
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+
+        final Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    /**
+     * @return the last change of the journal when the snapshot started (the changes up to it are in the snapshot)
+     */
+    public long getStartSequence() {
+
+        return this.startSequence;
+    }
+
+    /**
+     * @return the last change of the journal when the snapshot finished (and it was forced to disk)
+     */
+    public long getEndSequence() {
+
+        return this.endSequence;
+    }
+
+    /**
+     * @return the last player id generated when the snapshot finished
+     */
+    public int getLastPlayerId() {
+
+        return this.lastPlayerId;
+    }
+
+    public List<GameSnapshot> getGames() {
+
+        return this.games;
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.github.sfragata.gameapi.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Files of the games evicted from memory (game-[game id].dat), so they can be reloaded when they are used again
+ * Each file is a snapshot file (see {@link GameSnapshotFile}) with only that game
+ * @author Silvio Fragata
+ */
+public class GameSpillStore {
+
+    private final Path directory;
+
+    /**
+     * Constructor
+     * @param directory the directory of the files
+     */
+    public GameSpillStore(final Path directory) {
+
+        super();
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (final IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    /**
+     * method to write the file of a game, replacing the previous one
+     * @param gameSnapshot the state of the game
+     */
+    public void write(
+        final GameSnapshot gameSnapshot) {
+
+        new GameSnapshotFile(gameSnapshot.getSequence(), gameSnapshot.getSequence(), 0, List.of(gameSnapshot))
+            .write(path(gameSnapshot.getGameId()));
+    }
+
+    /**
+     * method to read the file of a game
+     * @param gameId the game id
+     * @return the state of the game or null if the game has no file
+     */
+    public GameSnapshot read(
+        final int gameId) {
+
+        final GameSnapshotFile snapshotFile = GameSnapshotFile.read(path(gameId));
+        return snapshotFile != null ? snapshotFile.getGames().get(0) : null;
+    }
+
+    /**
+     * method to delete the file of a game
+     * @param gameId the game id
+     * @return true if the file was deleted, false if the game has no file
+     */
+    public boolean delete(
+        final int gameId) {
+
+        try {
+            return Files.deleteIfExists(path(gameId));
+        } catch (final IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    /**
+     * @return how many games have a file
+     */
+    public long size() {
+
+        try (Stream<Path> paths = Files.list(this.directory)) {
+            return paths.filter(path -> path.getFileName().toString().matches("game--?\\d+\\.dat")).count();
+        } catch (final IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    private Path path(
+        final int gameId) {
+
+        return this.directory.resolve("game-" + gameId + ".dat");
+    }
+
+}
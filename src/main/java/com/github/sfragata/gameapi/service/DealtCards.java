@@ -0,0 +1,62 @@
+package com.github.sfragata.gameapi.service;
+
+import java.util.Arrays;
+
+import com.github.sfragata.gameapi.domain.Card;
+
+/**
+ * Cards dealt by a batch deal, in the order they were dealt, with the player of each card
+ * @author Silvio Fragata
+ */
+class DealtCards {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] playerIds = new int[INITIAL_CAPACITY];
+
+    private byte[] cards = new byte[INITIAL_CAPACITY];
+
+    private int size;
+
+    /**
+     * Default constructor
+     */
+    DealtCards() {
+
+        super();
+    }
+
+    /**
+     * method to record a card dealt
+     * @param playerId the player id
+     * @param card the card
+     */
+    void add(
+        final int playerId,
+        final Card card) {
+
+        if (this.size == this.cards.length) {
+            this.playerIds = Arrays.copyOf(this.playerIds, this.size * 2);
+            this.cards = Arrays.copyOf(this.cards, this.size * 2);
+        }
+        this.playerIds[this.size] = playerId;
+        this.cards[this.size++] = card.code();
+    }
+
+    /**
+     * @return the player of each card dealt
+     */
+    int[] getPlayerIds() {
+
+        return Arrays.copyOf(this.playerIds, this.size);
+    }
+
+    /**
+     * @return the cards dealt (card codes)
+     */
+    byte[] getCards() {
+
+        return Arrays.copyOf(this.cards, this.size);
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.github.sfragata.gameapi.service;
+
+import com.github.sfragata.gameapi.domain.Game;
+
+/**
+ * Functional interface representing an operation executed over a game by a {@link GameExecutor}
+ * @author Silvio Fragata
+ * @param <T> the type returned by the operation
+ * @param <E> the exception thrown by the operation
+ */
+@FunctionalInterface
+public interface GameCommand<T, E extends Exception> {
+
+    /**
+     * method to execute the operation
+     * @param game the game object
+     * @return the result of the operation
+     * @throws E if the operation fails
+     */
+    T execute(
+        Game game)
+        throws E;
+
+}
@@ -0,0 +1,325 @@
+package com.github.sfragata.gameapi.service;
+
+import java.lang.ref.WeakReference;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.domain.Player;
+import com.github.sfragata.gameapi.event.GameEvent;
+import com.github.sfragata.gameapi.event.GameEventPublisher;
+import com.github.sfragata.gameapi.exception.GameBusyException;
+import com.github.sfragata.gameapi.exception.GameNotFoundException;
+import com.github.sfragata.gameapi.helper.ListShuffleHelper;
+import com.github.sfragata.gameapi.journal.GameSnapshot;
+import com.github.sfragata.gameapi.journal.GameSpillStore;
+
+/**
+ * Evicts the games not used for gameapi.eviction.idle-timeout or created more than gameapi.eviction.ttl ago (both
+ * disabled by default)
+ * The games are kept in a timer wheel by their deadline and the requests only record when the game was used (see
+ * {@link Game#touch()}), so when the deadline of a game comes it's checked again and the game is scheduled again if it
+ * was used meanwhile. The wheel only has weak references, so a deleted game isn't kept in memory until its deadline.
+ * With gameapi.eviction.spill.enabled=true the games evicted are written to gameapi.eviction.spill.directory and
+ * reloaded when they are used again, otherwise they are removed as if they were deleted
+ * @author Silvio Fragata
+ */
+@Component
+public class GameEvictor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GameEvictor.class);
+
+    private static final int WHEEL_SIZE = 512;
+
+    private static final long NOT_EVICTED = -1;
+
+    private final GameRegistry gameRegistry;
+
+    private final GameExecutor gameExecutor;
+
+    private final GameEventPublisher gameEventPublisher;
+
+    private final ListShuffleHelper listShuffleHelper;
+
+    private final GameSpillStore gameSpillStore;
+
+    private final long idleTimeoutMillis;
+
+    private final long ttlMillis;
+
+    private final long tickMillis;
+
+    private final TimerWheel<WeakReference<Game>> timerWheel;
+
+    private final AtomicLong evictedGames = new AtomicLong();
+
+    private final AtomicLong spilledGames = new AtomicLong();
+
+    private final AtomicLong reloadedGames = new AtomicLong();
+
+    private final AtomicLong reclaimedCards = new AtomicLong();
+
+    private ScheduledExecutorService timer;
+
+    /**
+     * Constructor
+     * @param gameRegistry the registry of games
+     * @param gameExecutor the executor of the operations over the games
+     * @param gameEventPublisher the publisher of the changes of the games
+     * @param listShuffleHelper the helper that creates the random sources of the games reloaded
+     * @param idleTimeout the time a game can stay unused, 0 to never evict idle games
+     * @param ttl the time a game can exist, 0 to never evict old games
+     * @param tick the resolution of the timer wheel (the games are evicted up to a tick after their deadline)
+     * @param spill true if the games evicted are written to disk and reloaded when they are used again
+     * @param spillDirectory the directory of the games evicted
+     */
+    @Autowired
+    public GameEvictor(final GameRegistry gameRegistry, final GameExecutor gameExecutor,
+        final GameEventPublisher gameEventPublisher, final ListShuffleHelper listShuffleHelper,
+        @Value("${gameapi.eviction.idle-timeout:0}") final Duration idleTimeout,
+        @Value("${gameapi.eviction.ttl:0}") final Duration ttl,
+        @Value("${gameapi.eviction.tick:1s}") final Duration tick,
+        @Value("${gameapi.eviction.spill.enabled:false}") final boolean spill,
+        @Value("${gameapi.eviction.spill.directory:data/spill}") final String spillDirectory) {
+
+        super();
+        if (idleTimeout.isNegative() || ttl.isNegative()) {
+            throw new IllegalArgumentException("Invalid eviction timeout: " + idleTimeout + ", " + ttl);
+        }
+        this.gameRegistry = gameRegistry;
+        this.gameExecutor = gameExecutor;
+        this.gameEventPublisher = gameEventPublisher;
+        this.listShuffleHelper = listShuffleHelper;
+        this.gameSpillStore = spill ? new GameSpillStore(Paths.get(spillDirectory)) : null;
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+        this.ttlMillis = ttl.toMillis();
+        this.tickMillis = tick.toMillis();
+        this.timerWheel = isEnabled() ? new TimerWheel<>(this.tickMillis, WHEEL_SIZE, System.currentTimeMillis())
+            : null;
+    }
+
+    /**
+     * method to start evicting the games, including the ones already registered, and reloading the games evicted
+     */
+    @PostConstruct
+    public void start() {
+
+        if (this.gameSpillStore != null) {
+            this.gameRegistry.setLoader(this::reload);
+        }
+        if (!isEnabled() && this.gameSpillStore == null) {
+            return;
+        }
+        this.gameRegistry.addRegistrationListener(this::registered);
+        this.gameRegistry.getGames().forEach(this::registered);
+        if (isEnabled()) {
+            this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "game-evictor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.timer.scheduleAtFixedRate(() -> {
+                try {
+                    advance(System.currentTimeMillis());
+                } catch (final RuntimeException exception) {
+                    LOGGER.error("Error evicting the games", exception);
+                }
+            }, this.tickMillis, this.tickMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * method to stop evicting the games
+     */
+    @PreDestroy
+    public void shutdown() {
+
+        if (this.timer != null) {
+            this.timer.shutdownNow();
+        }
+    }
+
+    /**
+     * method to evict the games whose deadline is up to a time
+     * @param now the time (epoch millis)
+     */
+    void advance(
+        final long now) {
+
+        final long evicted = this.evictedGames.get();
+        final long cards = this.reclaimedCards.get();
+        this.timerWheel.advance(now, reference -> expired(reference, now));
+        if (this.evictedGames.get() > evicted) {
+            LOGGER.info("{} games evicted ({} cards reclaimed)", this.evictedGames.get() - evicted,
+                this.reclaimedCards.get() - cards);
+        }
+    }
+
+    /**
+     * @return how many games were evicted
+     */
+    public long getEvictedGames() {
+
+        return this.evictedGames.get();
+    }
+
+    /**
+     * @return how many of the games evicted were written to disk
+     */
+    public long getSpilledGames() {
+
+        return this.spilledGames.get();
+    }
+
+    /**
+     * @return how many games were reloaded from disk
+     */
+    public long getReloadedGames() {
+
+        return this.reloadedGames.get();
+    }
+
+    /**
+     * @return how many cards (undealt and in the players' hands) were removed from memory by the evictions
+     */
+    public long getReclaimedCards() {
+
+        return this.reclaimedCards.get();
+    }
+
+    private boolean isEnabled() {
+
+        return this.idleTimeoutMillis > 0 || this.ttlMillis > 0;
+    }
+
+    private void registered(
+        final Game game) {
+
+        if (this.gameSpillStore != null) {
+            // a registered game is never on disk (the file is from an eviction before a crash or already reloaded)
+            this.gameSpillStore.delete(game.getGameId());
+        }
+        if (isEnabled()) {
+            this.timerWheel.schedule(new WeakReference<>(game), deadlineOf(game));
+        }
+    }
+
+    private void expired(
+        final WeakReference<Game> reference,
+        final long now) {
+
+        final Game game = reference.get();
+        if (game == null || this.gameRegistry.findById(game.getGameId()).orElse(null) != game) {
+            // deleted (or evicted) meanwhile
+            return;
+        }
+        long deadline = deadlineOf(game);
+        if (deadline <= now) {
+            deadline = evict(game, now);
+        }
+        if (deadline != NOT_EVICTED && deadline != 0) {
+            this.timerWheel.schedule(reference, deadline);
+        }
+    }
+
+    /**
+     * Evicts the game by the game executor, so no operation over it runs meanwhile
+     * @return 0 if the game was evicted (or deleted), NOT_EVICTED if the deadline is gone or the new deadline if it was
+     * used meanwhile
+     */
+    private long evict(
+        final Game game,
+        final long now) {
+
+        try {
+            return this.gameExecutor.execute(game.getGameId(), current -> {
+                if (current != game) {
+                    return NOT_EVICTED;
+                }
+                final long deadline = deadlineOf(current);
+                if (deadline > now) {
+                    return deadline;
+                }
+                if (this.gameSpillStore != null) {
+                    this.gameSpillStore.write(GameSnapshot.of(current, 0));
+                    this.spilledGames.incrementAndGet();
+                }
+                this.gameRegistry.remove(current.getGameId(), removed -> {
+                    if (this.gameEventPublisher.isActive()) {
+                        this.gameEventPublisher.publish(GameEvent.gameEvicted(removed));
+                    }
+                });
+                this.evictedGames.incrementAndGet();
+                this.reclaimedCards.addAndGet(countCards(current));
+                return 0L;
+            });
+        } catch (final GameNotFoundException gameNotFoundException) {
+            return 0;
+        } catch (final GameBusyException gameBusyException) {
+            // tries again in the next tick
+            return now + this.tickMillis;
+        }
+    }
+
+    /**
+     * Loads a game evicted to disk, called by the registry when the game is used again
+     */
+    private Game reload(
+        final Integer gameId) {
+
+        final GameSnapshot gameSnapshot = this.gameSpillStore.read(gameId);
+        if (gameSnapshot == null) {
+            return null;
+        }
+        final Game game = gameSnapshot.toGame();
+        if (game.getRandomStrategy() != null) {
+            // a game with a seed continues its random numbers, as if it wasn't evicted
+            game.setRandomSource(this.listShuffleHelper.newRandomSource(game.getRandomStrategy(), game.getSeed(),
+                game.getRandomPosition()));
+        }
+        game.touch();
+        if (this.gameEventPublisher.isActive()) {
+            // the whole state is published, so the game can be recovered without the file (deleted once registered)
+            this.gameEventPublisher.publish(GameEvent.gameReloaded(game, GameSnapshot.encode(game)));
+        }
+        this.reloadedGames.incrementAndGet();
+        return game;
+    }
+
+    private long deadlineOf(
+        final Game game) {
+
+        long deadline = Long.MAX_VALUE;
+        if (this.idleTimeoutMillis > 0) {
+            deadline = game.getLastAccess() + this.idleTimeoutMillis;
+        }
+        if (this.ttlMillis > 0) {
+            deadline = Math.min(deadline, game.getCreatedAt() + this.ttlMillis);
+        }
+        return deadline;
+    }
+
+    private static long countCards(
+        final Game game) {
+
+        long cards = game.getShoe() != null ? game.getShoe().size() : 0;
+        for (final Player player : game.getPlayers()) {
+            cards += player.getCards().size();
+        }
+        return cards;
+    }
+
+}
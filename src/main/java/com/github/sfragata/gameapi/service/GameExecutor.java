@@ -0,0 +1,29 @@
+package com.github.sfragata.gameapi.service;
+
+import com.github.sfragata.gameapi.exception.GameNotFoundException;
+
+/**
+ * Interface for the strategy that executes the operations over a game, it guarantees that the operations over the same
+ * game never run at the same time
+ * @author Silvio Fragata
+ */
+public interface GameExecutor {
+
+    /**
+     * method to execute an operation over a game
+     * @param <T> the type returned by the operation
+     * @param <E> the exception thrown by the operation
+     * @param gameId the game id
+     * @param command the operation
+     * @return the value returned by the operation
+     * @throws GameNotFoundException if the game doesn't exist
+     * @throws E if the operation fails
+     * @throws com.github.sfragata.gameapi.exception.GameBusyException if the game has too many pending operations
+     */
+    <T, E extends Exception> T execute(
+        Integer gameId,
+        GameCommand<T, E> command)
+        throws GameNotFoundException,
+        E;
+
+}
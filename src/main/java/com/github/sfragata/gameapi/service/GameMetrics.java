@@ -0,0 +1,125 @@
+package com.github.sfragata.gameapi.service;
+
+import java.util.function.ToIntFunction;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.domain.Shoe;
+import com.github.sfragata.gameapi.event.GameEventHub;
+import com.github.sfragata.gameapi.journal.GameJournal;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Metrics of the games in memory (games, cards in the shoes and players), of the eviction, of the subscribers of the
+ * changes and of the journal
+ * The gauges are computed when they are read (walking all the games, without their executor), so the operations over
+ * the games don't pay for them
+ * @author Silvio Fragata
+ */
+@Component
+public class GameMetrics
+    implements MeterBinder {
+
+    private final GameRegistry gameRegistry;
+
+    private final GameEvictor gameEvictor;
+
+    private final GameEventHub gameEventHub;
+
+    private final GameJournal gameJournal;
+
+    /**
+     * Constructor
+     * @param gameRegistry the registry of games
+     * @param gameEvictor the evictor of the games
+     * @param gameEventHub the hub of the subscribers of the changes of the games
+     * @param gameJournal the journal of the changes of the games, if it's enabled
+     */
+    @Autowired
+    public GameMetrics(final GameRegistry gameRegistry, final GameEvictor gameEvictor,
+        final GameEventHub gameEventHub, final ObjectProvider<GameJournal> gameJournal) {
+
+        super();
+        this.gameRegistry = gameRegistry;
+        this.gameEvictor = gameEvictor;
+        this.gameEventHub = gameEventHub;
+        this.gameJournal = gameJournal.getIfAvailable();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void bindTo(
+        final MeterRegistry meterRegistry) {
+
+        Gauge.builder("gameapi.games", this.gameRegistry, GameRegistry::size).description("Games in memory")
+            .register(meterRegistry);
+        Gauge.builder("gameapi.shoe.cards", this, metrics -> metrics.sum(GameMetrics::shoeSize))
+            .description("Cards left in the shoes of all the games").register(meterRegistry);
+        Gauge.builder("gameapi.shoe.cards.max", this, metrics -> metrics.max(GameMetrics::shoeSize))
+            .description("Cards left in the largest shoe").register(meterRegistry);
+        Gauge.builder("gameapi.players", this, metrics -> metrics.sum(game -> game.getPlayers().size()))
+            .description("Players of all the games").register(meterRegistry);
+        Gauge.builder("gameapi.players.max", this, metrics -> metrics.max(game -> game.getPlayers().size()))
+            .description("Players of the game with most players").register(meterRegistry);
+
+        FunctionCounter.builder("gameapi.eviction.games", this.gameEvictor, GameEvictor::getEvictedGames)
+            .description("Games evicted").tag("result", "evicted").register(meterRegistry);
+        FunctionCounter.builder("gameapi.eviction.games", this.gameEvictor, GameEvictor::getSpilledGames)
+            .description("Games evicted").tag("result", "spilled").register(meterRegistry);
+        FunctionCounter.builder("gameapi.eviction.games", this.gameEvictor, GameEvictor::getReloadedGames)
+            .description("Games evicted").tag("result", "reloaded").register(meterRegistry);
+        FunctionCounter.builder("gameapi.eviction.cards", this.gameEvictor, GameEvictor::getReclaimedCards)
+            .description("Cards removed from memory by the evictions").register(meterRegistry);
+
+        Gauge.builder("gameapi.events.subscribers", this.gameEventHub, GameEventHub::getSubscribers)
+            .description("Subscribers of the changes of the games").register(meterRegistry);
+        FunctionCounter.builder("gameapi.events.resyncs", this.gameEventHub, GameEventHub::getResyncs)
+            .description("Events dropped for slow subscribers, replaced by a RESYNC event").register(meterRegistry);
+        FunctionCounter.builder("gameapi.events.dropped", this.gameEventHub, GameEventHub::getDropped)
+            .description("Subscribers dropped because they didn't read their events").register(meterRegistry);
+
+        if (this.gameJournal != null) {
+            Gauge.builder("gameapi.journal.sequence", this.gameJournal, GameJournal::lastSequence)
+                .description("Last change of the journal").tag("state", "written").register(meterRegistry);
+            Gauge.builder("gameapi.journal.sequence", this.gameJournal, GameJournal::forcedSequence)
+                .description("Last change of the journal").tag("state", "forced").register(meterRegistry);
+        }
+    }
+
+    private long sum(
+        final ToIntFunction<Game> function) {
+
+        long sum = 0;
+        for (final Game game : this.gameRegistry.getGames()) {
+            sum += function.applyAsInt(game);
+        }
+        return sum;
+    }
+
+    private int max(
+        final ToIntFunction<Game> function) {
+
+        int max = 0;
+        for (final Game game : this.gameRegistry.getGames()) {
+            max = Math.max(max, function.applyAsInt(game));
+        }
+        return max;
+    }
+
+    private static int shoeSize(
+        final Game game) {
+
+        final Shoe shoe = game.getShoe();
+        return shoe != null ? shoe.size() : 0;
+    }
+
+}
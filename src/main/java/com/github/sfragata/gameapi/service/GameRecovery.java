@@ -0,0 +1,278 @@
+package com.github.sfragata.gameapi.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.github.sfragata.gameapi.domain.Card;
+import com.github.sfragata.gameapi.domain.Deck;
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.domain.Player;
+import com.github.sfragata.gameapi.domain.Shoe;
+import com.github.sfragata.gameapi.event.GameEvent;
+import com.github.sfragata.gameapi.event.GameEventType;
+import com.github.sfragata.gameapi.helper.ListShuffleHelper;
+import com.github.sfragata.gameapi.journal.GameJournal;
+import com.github.sfragata.gameapi.journal.GameSnapshot;
+import com.github.sfragata.gameapi.journal.GameSnapshotFile;
+
+/**
+ * Rebuilds the games from the last snapshot and the journal when the application starts (gameapi.journal.enabled=true),
+ * before any request is served
+ * The games are decoded from the snapshot and only the events of the journal after the snapshot of each game are
+ * applied, straight to the games of the registry, so they aren't published (journaled) again
+ * @author Silvio Fragata
+ */
+@Component
+@ConditionalOnProperty(name = "gameapi.journal.enabled", havingValue = "true")
+public class GameRecovery {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GameRecovery.class);
+
+    private final GameJournal gameJournal;
+
+    private final GameRegistry gameRegistry;
+
+    private final ListShuffleHelper listShuffleHelper;
+
+    private final PlayerIdGenerator playerIdGenerator;
+
+    private final GameSnapshotter gameSnapshotter;
+
+    /**
+     * Constructor
+     * @param gameJournal the journal
+     * @param gameRegistry the registry of games
+     * @param listShuffleHelper the helper that creates the random sources of the games
+     * @param playerIdGenerator the generator of player ids, advanced past the recovered players
+     * @param gameSnapshotter the snapshotter, started after the recovery
+     */
+    @Autowired
+    public GameRecovery(final GameJournal gameJournal, final GameRegistry gameRegistry,
+        final ListShuffleHelper listShuffleHelper, final PlayerIdGenerator playerIdGenerator,
+        final GameSnapshotter gameSnapshotter) {
+
+        super();
+        this.gameJournal = gameJournal;
+        this.gameRegistry = gameRegistry;
+        this.listShuffleHelper = listShuffleHelper;
+        this.playerIdGenerator = playerIdGenerator;
+        this.gameSnapshotter = gameSnapshotter;
+    }
+
+    /**
+     * method to rebuild the games from the last snapshot and the journal
+     * @throws IllegalStateException if the journal doesn't continue the snapshot
+     */
+    @PostConstruct
+    public void recover() {
+
+        final long start = System.nanoTime();
+        final GameSnapshotFile snapshotFile = this.gameSnapshotter.load();
+        final long events;
+        if (snapshotFile == null) {
+            events = this.gameJournal.recover((event, sequence) -> apply(event));
+        } else {
+            final Replay replay = restore(snapshotFile);
+            events = this.gameJournal.recover(replay::apply);
+            if (this.gameJournal.lastSequence() < snapshotFile.getEndSequence()) {
+                throw new IllegalStateException(String.format("The journal ends at %d, before the snapshot (%d)",
+                    this.gameJournal.lastSequence(), snapshotFile.getEndSequence()));
+            }
+        }
+        LOGGER.info("{} games recovered from the snapshot and {} events in {} ms", this.gameRegistry.size(), events,
+            (System.nanoTime() - start) / 1_000_000);
+        this.gameSnapshotter.start();
+    }
+
+    /**
+     * method to register the games of a snapshot
+     * @param snapshotFile the snapshot
+     * @return the replay of the journal after the snapshot
+     */
+    Replay restore(
+        final GameSnapshotFile snapshotFile) {
+
+        final Map<Integer, Long> sequences = new HashMap<>();
+        for (final GameSnapshot gameSnapshot : snapshotFile.getGames()) {
+            final Game game = gameSnapshot.toGame();
+            restoreRandomSource(game, game.getRandomPosition());
+            if (!this.gameRegistry.putIfAbsent(game)) {
+                throw new IllegalStateException("Game " + game.getGameId() + " already exists in the snapshot");
+            }
+            sequences.put(game.getGameId(), gameSnapshot.getSequence());
+        }
+        this.playerIdGenerator.advancePast(snapshotFile.getLastPlayerId());
+        return new Replay(snapshotFile, sequences);
+    }
+
+    /**
+     * method to apply a change to the games
+     * @param event the change
+     * @throws IllegalStateException if the change can't be applied (the journal doesn't match the games)
+     */
+    void apply(
+        final GameEvent event) {
+
+        if (event.getType() == GameEventType.GAME_CREATED) {
+            final Game game = new Game();
+            game.setGameId(event.getGameId());
+            game.setRandomStrategy(event.getRandomStrategy());
+            game.setSeed(event.getSeed());
+            game.restoreVersion(event.getVersion());
+            game.restoreTimes(event.getTimestamp(), event.getTimestamp());
+            register(game, event);
+            return;
+        }
+        if (event.getType() == GameEventType.GAME_RELOADED) {
+            final Game game = GameSnapshot.decode(event.getState());
+            game.restoreTimes(game.getCreatedAt(), event.getTimestamp());
+            register(game, event);
+            game.getPlayers().forEach(player -> this.playerIdGenerator.advancePast(player.getPlayerId()));
+            return;
+        }
+
+        final Game game = this.gameRegistry.findById(event.getGameId())
+            .orElseThrow(() -> new IllegalStateException("Game " + event.getGameId() + " not found: " + event));
+        switch (event.getType()) {
+            case GAME_DELETED:
+            case GAME_EVICTED:
+                this.gameRegistry.remove(event.getGameId());
+                return;
+            case DECK_ADDED:
+                if (game.getShoe() == null) {
+                    game.setShoe(new Shoe());
+                }
+                game.getShoe().addCards(new Deck());
+                break;
+            case PLAYER_ADDED:
+                game.addPlayer(new Player(event.getPlayerId()));
+                this.playerIdGenerator.advancePast(event.getPlayerId());
+                break;
+            case PLAYER_REMOVED:
+                game.removePlayer(event.getPlayerId());
+                break;
+            case CARDS_DEALT:
+                deal(game, event);
+                break;
+            case SHOE_SHUFFLED:
+                shoe(game, event).reorder(event.getCards());
+                restoreRandomSource(game, event.getRandomPosition());
+                break;
+            default:
+                throw new IllegalStateException("Unexpected event: " + event);
+        }
+        game.restoreVersion(event.getVersion());
+        game.restoreTimes(game.getCreatedAt(), event.getTimestamp());
+    }
+
+    private void register(
+        final Game game,
+        final GameEvent event) {
+
+        restoreRandomSource(game, game.getRandomPosition());
+        if (!this.gameRegistry.putIfAbsent(game)) {
+            throw new IllegalStateException("Game " + event.getGameId() + " already exists: " + event);
+        }
+    }
+
+    /**
+     * Creates the random source of the game at the position, so a game with a seed continues its random numbers where
+     * they stopped (the shuffles replayed don't use them, the order of the cards is in the journal)
+     */
+    private void restoreRandomSource(
+        final Game game,
+        final long position) {
+
+        if (game.getRandomStrategy() != null) {
+            game.setRandomSource(this.listShuffleHelper.newRandomSource(game.getRandomStrategy(), game.getSeed(),
+                position));
+        }
+    }
+
+    private static void deal(
+        final Game game,
+        final GameEvent event) {
+
+        final Shoe shoe = shoe(game, event);
+        final int[] playerIds = event.getPlayerIds();
+        final byte[] cards = event.getCards();
+        for (int i = 0; i < cards.length; i++) {
+            final Player player = game.findPlayer(playerIds[i]);
+            final Card card = shoe.deal();
+            if (player == null || card == null || card.code() != cards[i]) {
+                throw new IllegalStateException("The cards dealt don't match the shoe: " + event);
+            }
+            player.addCard(card);
+        }
+    }
+
+    private static Shoe shoe(
+        final Game game,
+        final GameEvent event) {
+
+        if (game.getShoe() == null) {
+            throw new IllegalStateException("Game without shoe: " + event);
+        }
+        return game.getShoe();
+    }
+
+    /**
+     * Replay of the journal after a snapshot: the events already in the snapshot of their game are skipped
+     */
+    final class Replay {
+
+        private final GameSnapshotFile snapshotFile;
+
+        private final Map<Integer, Long> sequences;
+
+        private boolean started;
+
+        Replay(final GameSnapshotFile snapshotFile, final Map<Integer, Long> sequences) {
+
+            super();
+            this.snapshotFile = snapshotFile;
+            this.sequences = sequences;
+        }
+
+        /**
+         * method to apply an event of the journal, if it's after the snapshot
+         * @param event the event
+         * @param sequence the sequence number of the event
+         * @throws IllegalStateException if the journal doesn't continue the snapshot
+         */
+        void apply(
+            final GameEvent event,
+            final long sequence) {
+
+            if (!this.started && sequence > this.snapshotFile.getStartSequence() + 1) {
+                throw new IllegalStateException(String.format("The journal starts at %d, after the snapshot (%d)",
+                    sequence, this.snapshotFile.getStartSequence()));
+            }
+            this.started = true;
+            if (sequence <= this.snapshotFile.getStartSequence()) {
+                return;
+            }
+            final Long gameSequence = this.sequences.get(event.getGameId());
+            if (gameSequence != null && sequence <= gameSequence) {
+                return;
+            }
+            if (event.getType() != GameEventType.GAME_CREATED && event.getType() != GameEventType.GAME_RELOADED
+                && sequence <= this.snapshotFile.getEndSequence()
+                && GameRecovery.this.gameRegistry.findById(event.getGameId()).isEmpty()) {
+                // a game deleted (or evicted) while the snapshot was taken, before its turn
+                return;
+            }
+            GameRecovery.this.apply(event);
+        }
+
+    }
+
+}
@@ -0,0 +1,270 @@
+package com.github.sfragata.gameapi.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.github.sfragata.gameapi.domain.Game;
+
+/**
+ * Registry of the live games, indexed by game id
+ * Lookups, creations and removals are constant time and safe to be called concurrently.
+ * It also provides a striped set of locks, so the operations over the same game are serialized
+ * while operations over different games don't contend (unless they fall into the same stripe)
+ * A game that isn't registered can be loaded on demand by a loader (e.g. a game evicted to disk, see
+ * {@link #findOrLoad(Integer)}) and the listeners are notified of every game registered
+ * @author Silvio Fragata
+ */
+@Component
+public class GameRegistry {
+
+    private static final int DEFAULT_LOCK_STRIPES = 1024;
+
+    private final ConcurrentMap<Integer, Game> games = new ConcurrentHashMap<>();
+
+    private final Lock[] locks;
+
+    private final int mask;
+
+    private final List<Consumer<Game>> registrationListeners = new CopyOnWriteArrayList<>();
+
+    private volatile Function<Integer, Game> loader;
+
+    /**
+     * Default constructor
+     */
+    public GameRegistry() {
+
+        this(DEFAULT_LOCK_STRIPES);
+    }
+
+    /**
+     * Constructor
+     * @param lockStripes the number of lock stripes (rounded up to the next power of two)
+     */
+    public GameRegistry(final int lockStripes) {
+
+        super();
+        final int stripes = lockStripes <= 1 ? 1 : Integer.highestOneBit(lockStripes - 1) << 1;
+        this.locks = new Lock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.locks[i] = new ReentrantLock();
+        }
+        this.mask = stripes - 1;
+    }
+
+    /**
+     * method to find a game by its id
+     * @param gameId the game id
+     * @return the game or empty if it doesn't exist
+     */
+    public Optional<Game> findById(
+        final Integer gameId) {
+
+        if (gameId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(this.games.get(gameId));
+    }
+
+    /**
+     * method to find a game by its id, loading it if it isn't registered and the loader has it
+     * @param gameId the game id
+     * @return the game or empty if it doesn't exist
+     */
+    public Optional<Game> findOrLoad(
+        final Integer gameId) {
+
+        final Optional<Game> game = findById(gameId);
+        if (game.isPresent() || gameId == null || this.loader == null) {
+            return game;
+        }
+        // loaded holding the lock of the game, not inside the map: the lookups of other games never wait for the disk
+        final Lock lock = getLock(gameId);
+        lock.lock();
+        try {
+            final Game current = this.games.get(gameId);
+            if (current != null) {
+                return Optional.of(current);
+            }
+            final Game loaded = this.loader.apply(gameId);
+            if (loaded != null) {
+                this.games.put(gameId, loaded);
+                notifyRegistered(loaded);
+            }
+            return Optional.ofNullable(loaded);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * method to register a game if there isn't another game with the same id
+     * @param game the game object
+     * @return true if the game was registered, false if the game id already exists
+     */
+    public boolean putIfAbsent(
+        final Game game) {
+
+        if (this.games.putIfAbsent(game.getGameId(), game) != null) {
+            return false;
+        }
+        notifyRegistered(game);
+        return true;
+    }
+
+    /**
+     * method to register a game if there isn't another game with the same id (registered or that can be loaded),
+     * calling the callback atomically with the registration (no other registration or removal of the same id happens
+     * meanwhile)
+     * The callback runs holding the lock of the game (see {@link #getLock(Integer)}), not inside the map, so it may
+     * wait (e.g. for the journal) without blocking the lookups and the registrations of other games
+     * @param game the game object
+     * @param onRegistered called with the game before it is visible to other threads
+     * @return true if the game was registered, false if the game id already exists
+     */
+    public boolean putIfAbsent(
+        final Game game,
+        final Consumer<Game> onRegistered) {
+
+        final Integer gameId = game.getGameId();
+        final Lock lock = getLock(gameId);
+        lock.lock();
+        try {
+            if (this.games.containsKey(gameId)) {
+                return false;
+            }
+            final Game loaded = this.loader != null ? this.loader.apply(gameId) : null;
+            if (loaded == null) {
+                onRegistered.accept(game);
+            }
+            final Game registered = loaded != null ? loaded : game;
+            this.games.put(gameId, registered);
+            notifyRegistered(registered);
+            return registered == game;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * method to remove a game
+     * @param gameId the game id
+     * @return the removed game or empty if it doesn't exist
+     */
+    public Optional<Game> remove(
+        final Integer gameId) {
+
+        if (gameId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(this.games.remove(gameId));
+    }
+
+    /**
+     * method to remove a game, calling the callback atomically with the removal (no other registration or removal of
+     * the same id happens meanwhile)
+     * The callback runs after the removal holding the lock of the game (see {@link #getLock(Integer)})
+     * @param gameId the game id
+     * @param onRemoved called with the game removed
+     * @return the removed game or empty if it doesn't exist
+     */
+    public Optional<Game> remove(
+        final Integer gameId,
+        final Consumer<Game> onRemoved) {
+
+        if (gameId == null) {
+            return Optional.empty();
+        }
+        final Lock lock = getLock(gameId);
+        lock.lock();
+        try {
+            final Game removed = this.games.remove(gameId);
+            if (removed != null) {
+                onRemoved.accept(removed);
+            }
+            return Optional.ofNullable(removed);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * method to set the loader of the games that aren't registered
+     * It's called atomically with the registration of the game loaded (no other registration or removal of the same
+     * id happens meanwhile) holding the lock of the game, so it may read the disk without blocking the other games
+     * @param loader the loader, returns the game of an id or null if it doesn't have it
+     */
+    public void setLoader(
+        final Function<Integer, Game> loader) {
+
+        this.loader = loader;
+    }
+
+    /**
+     * method to add a listener notified after each game is registered (created, recovered or loaded)
+     * @param listener the listener
+     */
+    public void addRegistrationListener(
+        final Consumer<Game> listener) {
+
+        this.registrationListeners.add(listener);
+    }
+
+    /**
+     * method to return the lock guarding the game
+     * @param gameId the game id
+     * @return the lock of the stripe for the game id
+     */
+    public Lock getLock(
+        final Integer gameId) {
+
+        return this.locks[stripe(gameId)];
+    }
+
+    /**
+     * @return the number of live games
+     */
+    public int size() {
+
+        return this.games.size();
+    }
+
+    /**
+     * @return a read only view of the live games
+     */
+    public Collection<Game> getGames() {
+
+        return Collections.unmodifiableCollection(this.games.values());
+    }
+
+    private void notifyRegistered(
+        final Game game) {
+
+        for (final Consumer<Game> listener : this.registrationListeners) {
+            listener.accept(game);
+        }
+    }
+
+    private int stripe(
+        final Integer gameId) {
+
+        if (gameId == null) {
+            return 0;
+        }
+        // spreads the higher bits, so ids multiple of the stripe count don't share the same lock
+        final int hash = gameId;
+        return (hash ^ hash >>> 16) & this.mask;
+    }
+
+}
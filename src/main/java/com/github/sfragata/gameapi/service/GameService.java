@@ -3,7 +3,10 @@ package com.github.sfragata.gameapi.service;
 import java.util.List;
 import java.util.Map;
 
+import com.github.sfragata.gameapi.domain.BatchDeal;
 import com.github.sfragata.gameapi.domain.CardCount;
+import com.github.sfragata.gameapi.domain.DealRequest;
+import com.github.sfragata.gameapi.domain.DealResult;
 import com.github.sfragata.gameapi.domain.Deck;
 import com.github.sfragata.gameapi.domain.Game;
 import com.github.sfragata.gameapi.domain.Player;
@@ -20,6 +23,8 @@ public interface GameService {
 
     /**
      * method to create a game
+     * If the game has a random strategy, the source of random numbers used by its shuffles is created from it
+     * (an IllegalArgumentException is thrown if the strategy requires a seed that wasn't given)
      * @param game the game object
      * @throws GameAlreadyExistsException if the game id already exists
      */
@@ -81,11 +86,25 @@ public interface GameService {
         Integer gameId)
         throws GameNotFoundException;
 
+    /**
+     * method to return a player of the game
+     * @param gameId the game id
+     * @param playerId the player id
+     * @return a copy of the player, taken by the game executor (the player keeps changing while the cards are dealt)
+     * @throws GameNotFoundException if the game doesn't exist
+     * @throws PlayerNotFoundException if the player doesn't exist
+     */
+    Player getPlayer(
+        Integer gameId,
+        Integer playerId)
+        throws GameNotFoundException,
+        PlayerNotFoundException;
+
     /**
      * method to deal a card to a player
      * @param gameId the game id
      * @param playerId the player id
-     * @return the game object
+     * @return a copy of the game object, taken by the game executor after the deal
      * @throws GameNotFoundException if the game doesn't exist
      * @throws PlayerNotFoundException if the player doesn't exist
      */
@@ -96,15 +115,76 @@ public interface GameService {
         PlayerNotFoundException;
 
     /**
-     * method to return the players of the game
+     * method to deal a card to a player, returning only the result of the deal
+     * @param gameId the game id
+     * @param playerId the player id
+     * @return the card dealt, the player's total value, how many cards are left and the game version
+     * @throws GameNotFoundException if the game doesn't exist
+     * @throws PlayerNotFoundException if the player doesn't exist
+     */
+    DealResult dealCard(
+        Integer gameId,
+        Integer playerId)
+        throws GameNotFoundException,
+        PlayerNotFoundException;
+
+    /**
+     * method to deal one or more rounds of cards to all players of the game, one card to each player per round
+     * All cards are dealt atomically (no other operation over the game is executed in the middle)
      * @param gameId the game id
-     * @return the list of players
+     * @param cardsPerPlayer how many cards must be dealt to each player (rounds), up to the cards in the shoe (the
+     *        dealing stops when the shoe is empty)
+     * @return the cards dealt to each player
+     * @throws GameNotFoundException if the game doesn't exist
+     * @throws IllegalArgumentException if the number of cards is less than 1 or more than the cards in the shoe
+     */
+    BatchDeal dealRound(
+        Integer gameId,
+        int cardsPerPlayer)
+        throws GameNotFoundException;
+
+    /**
+     * method to deal cards to several players of the game, in the order of the requests
+     * All cards are dealt atomically and nothing is dealt if any of the players doesn't exist
+     * @param gameId the game id
+     * @param dealRequests how many cards must be dealt to each player, up to the cards in the shoe (the dealing stops
+     *        when the shoe is empty)
+     * @return the cards dealt to each player
+     * @throws GameNotFoundException if the game doesn't exist
+     * @throws PlayerNotFoundException if any of the players doesn't exist
+     * @throws IllegalArgumentException if any number of cards is less than 1 or more than the cards in the shoe
+     */
+    BatchDeal dealCards(
+        Integer gameId,
+        List<DealRequest> dealRequests)
+        throws GameNotFoundException,
+        PlayerNotFoundException;
+
+    /**
+     * method to return the players of the game, from the highest total value to the lowest
+     * @param gameId the game id
+     * @return the list of players (copies taken by the game executor)
      * @throws GameNotFoundException if the game doesn't exist
      */
     List<Player> listPlayers(
         Integer gameId)
         throws GameNotFoundException;
 
+    /**
+     * method to return a range of the players of the game, from the highest total value to the lowest
+     * @param gameId the game id
+     * @param offset how many players are skipped
+     * @param limit the maximum number of players returned
+     * @return the list of players (copies taken by the game executor)
+     * @throws GameNotFoundException if the game doesn't exist
+     * @throws IllegalArgumentException if the offset is negative or the limit isn't positive
+     */
+    List<Player> listPlayers(
+        Integer gameId,
+        int offset,
+        int limit)
+        throws GameNotFoundException;
+
     /**
      * method to return quantity of cards grouped by suit
      * @param gameId the game id
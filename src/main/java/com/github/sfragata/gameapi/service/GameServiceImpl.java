@@ -1,22 +1,27 @@
 package com.github.sfragata.gameapi.service;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.github.sfragata.gameapi.domain.BatchDeal;
 import com.github.sfragata.gameapi.domain.Card;
 import com.github.sfragata.gameapi.domain.CardCount;
+import com.github.sfragata.gameapi.domain.DealRequest;
+import com.github.sfragata.gameapi.domain.DealResult;
 import com.github.sfragata.gameapi.domain.Deck;
 import com.github.sfragata.gameapi.domain.Game;
 import com.github.sfragata.gameapi.domain.Player;
+import com.github.sfragata.gameapi.domain.PlayerDeal;
 import com.github.sfragata.gameapi.domain.Shoe;
 import com.github.sfragata.gameapi.domain.Suit;
+import com.github.sfragata.gameapi.event.GameEvent;
+import com.github.sfragata.gameapi.event.GameEventPublisher;
 import com.github.sfragata.gameapi.exception.GameAlreadyExistsException;
 import com.github.sfragata.gameapi.exception.GameNotFoundException;
 import com.github.sfragata.gameapi.exception.PlayerNotFoundException;
@@ -30,13 +35,28 @@ import com.github.sfragata.gameapi.helper.ListShuffleHelper;
 public class GameServiceImpl
     implements GameService {
 
+    private static final String INVALID_COUNT = "Invalid number of cards: %d";
+
+    private static final String TOO_MANY_CARDS = "Invalid number of cards: %d, the shoe has %d";
+
+    private static final String INVALID_OFFSET = "Invalid offset of players: %d";
+
+    private static final String INVALID_LIMIT = "Invalid number of players: %d";
+
     @Autowired
     private PlayerService playerService;
 
     @Autowired
     private ListShuffleHelper listShuffleHelper;
 
-    private final List<Game> games = new ArrayList<>();
+    @Autowired
+    private GameRegistry gameRegistry;
+
+    @Autowired
+    private GameExecutor gameExecutor;
+
+    @Autowired
+    private GameEventPublisher gameEventPublisher;
 
     /**
      * Default constructor
@@ -54,11 +74,11 @@ public class GameServiceImpl
         final Game pGame)
         throws GameAlreadyExistsException {
 
-        final var game = findById(pGame.getGameId());
-        if (game.isPresent()) {
+        if (pGame.getRandomStrategy() != null && pGame.getRandomSource() == null) {
+            pGame.setRandomSource(this.listShuffleHelper.newRandomSource(pGame.getRandomStrategy(), pGame.getSeed()));
+        }
+        if (!this.gameRegistry.putIfAbsent(pGame, game -> publish(GameEvent.gameCreated(game)))) {
             throw new GameAlreadyExistsException(pGame.getGameId());
-        } else {
-            this.games.add(pGame);
         }
     }
 
@@ -70,9 +90,8 @@ public class GameServiceImpl
         final Integer gameId)
         throws GameNotFoundException {
 
-        final var game = findById(gameId).orElseThrow(() -> new GameNotFoundException(gameId));
-
-        this.games.remove(game);
+        this.gameExecutor.execute(gameId,
+            game -> this.gameRegistry.remove(gameId, removed -> publish(GameEvent.gameDeleted(removed))));
 
     }
 
@@ -85,13 +104,17 @@ public class GameServiceImpl
         final Deck deck)
         throws GameNotFoundException {
 
-        final var game = findById(gameId).orElseThrow(() -> new GameNotFoundException(gameId));
-        Shoe shoe = game.getShoe();
-        if (shoe == null) {
-            shoe = new Shoe();
-            game.setShoe(shoe);
-        }
-        shoe.addCards(deck);
+        execute(gameId, game -> {
+            Shoe shoe = game.getShoe();
+            if (shoe == null) {
+                shoe = new Shoe();
+                game.setShoe(shoe);
+            }
+            shoe.addCards(deck);
+            game.incrementVersion();
+            publish(GameEvent.deckAdded(game));
+            return shoe;
+        });
     }
 
     /**
@@ -103,8 +126,12 @@ public class GameServiceImpl
         final Player player)
         throws GameNotFoundException {
 
-        final var game = findById(gameId).orElseThrow(() -> new GameNotFoundException(gameId));
-        game.getPlayers().add(player);
+        execute(gameId, game -> {
+            game.addPlayer(player);
+            game.incrementVersion();
+            publish(GameEvent.playerAdded(game, player.getPlayerId()));
+            return player;
+        });
 
     }
 
@@ -118,9 +145,13 @@ public class GameServiceImpl
         throws GameNotFoundException,
         PlayerNotFoundException {
 
-        final var game = findById(gameId).orElseThrow(() -> new GameNotFoundException(gameId));
-        final Player player = this.playerService.getPlayer(playerId, game.getPlayers());
-        game.getPlayers().remove(player);
+        execute(gameId, game -> {
+            this.playerService.getPlayer(playerId, game);
+            game.removePlayer(playerId);
+            game.incrementVersion();
+            publish(GameEvent.playerRemoved(game, playerId));
+            return playerId;
+        });
     }
 
     /**
@@ -131,8 +162,23 @@ public class GameServiceImpl
         final Integer gameId)
         throws GameNotFoundException {
 
-        return findById(gameId).orElseThrow(() -> new GameNotFoundException(gameId));
+        final Game game = this.gameRegistry.findOrLoad(gameId).orElseThrow(() -> new GameNotFoundException(gameId));
+        game.touch();
+        return game;
+
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Player getPlayer(
+        final Integer gameId,
+        final Integer playerId)
+        throws GameNotFoundException,
+        PlayerNotFoundException {
 
+        return execute(gameId, game -> this.playerService.getPlayer(playerId, game).copy());
     }
 
     /**
@@ -145,15 +191,97 @@ public class GameServiceImpl
         throws GameNotFoundException,
         PlayerNotFoundException {
 
-        final var game = findById(gameId).orElseThrow(() -> new GameNotFoundException(gameId));
-        final Player player = this.playerService.getPlayer(playerId, game.getPlayers());
+        return execute(gameId, game -> {
+            final Player player = this.playerService.getPlayer(playerId, game);
+            dealCard(game, player);
+            return game.copy();
+        });
 
-        if (game.getShoe() != null && !game.getShoe().getCards().isEmpty()) {
-            final Card card = game.getShoe().getCards().remove(0);
-            player.addCard(card);
-        }
-        return game;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DealResult dealCard(
+        final Integer gameId,
+        final Integer playerId)
+        throws GameNotFoundException,
+        PlayerNotFoundException {
+
+        return execute(gameId, game -> {
+            final Player player = this.playerService.getPlayer(playerId, game);
+            final Card card = dealCard(game, player);
+            return new DealResult(game.getGameId(), player.getPlayerId(), card, player.getTotalValue(),
+                game.getShoe() != null ? game.getShoe().size() : 0, game.getVersion());
+        });
+
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchDeal dealRound(
+        final Integer gameId,
+        final int cardsPerPlayer)
+        throws GameNotFoundException {
+
+        checkCount(cardsPerPlayer);
+        return execute(gameId, game -> {
+            checkCount(cardsPerPlayer, game.getShoe());
+            final List<Player> players = new ArrayList<>(game.getPlayers());
+            final List<PlayerDeal> deals = new ArrayList<>(players.size());
+            players.forEach(player -> deals.add(new PlayerDeal(player.getPlayerId())));
+            final DealtCards dealtCards = newDealtCards();
+
+            boolean dealing = true;
+            for (int round = 0; round < cardsPerPlayer && dealing; round++) {
+                for (int i = 0; i < players.size() && dealing; i++) {
+                    dealing = deal(game.getShoe(), players.get(i), deals.get(i), dealtCards);
+                }
+            }
+            return newBatchDeal(game, players, deals, dealtCards);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchDeal dealCards(
+        final Integer gameId,
+        final List<DealRequest> dealRequests)
+        throws GameNotFoundException,
+        PlayerNotFoundException {
+
+        dealRequests.forEach(dealRequest -> checkCount(dealRequest.getCount()));
+        return execute(gameId, game -> {
+            // all players are found before dealing, so nothing is dealt if any of them doesn't exist
+            final Map<Integer, Player> players = new LinkedHashMap<>();
+            final Map<Integer, PlayerDeal> deals = new LinkedHashMap<>();
+            for (final DealRequest dealRequest : dealRequests) {
+                checkCount(dealRequest.getCount(), game.getShoe());
+                final Integer playerId = dealRequest.getPlayerId();
+                if (!players.containsKey(playerId)) {
+                    players.put(playerId, this.playerService.getPlayer(playerId, game));
+                    deals.put(playerId, new PlayerDeal(playerId));
+                }
+            }
 
+            final DealtCards dealtCards = newDealtCards();
+            boolean dealing = true;
+            for (int request = 0; request < dealRequests.size() && dealing; request++) {
+                final DealRequest dealRequest = dealRequests.get(request);
+                final Player player = players.get(dealRequest.getPlayerId());
+                final PlayerDeal playerDeal = deals.get(dealRequest.getPlayerId());
+                for (int i = 0; i < dealRequest.getCount() && dealing; i++) {
+                    dealing = deal(game.getShoe(), player, playerDeal, dealtCards);
+                }
+            }
+            return newBatchDeal(game, new ArrayList<>(players.values()), new ArrayList<>(deals.values()),
+                dealtCards);
+        });
     }
 
     /**
@@ -164,8 +292,26 @@ public class GameServiceImpl
         final Integer gameId)
         throws GameNotFoundException {
 
-        final var game = findById(gameId).orElseThrow(() -> new GameNotFoundException(gameId));
-        return game.getPlayers();
+        return execute(gameId, game -> copyOf(game.rankPlayers(0, Integer.MAX_VALUE)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Player> listPlayers(
+        final Integer gameId,
+        final int offset,
+        final int limit)
+        throws GameNotFoundException {
+
+        if (offset < 0) {
+            throw new IllegalArgumentException(String.format(INVALID_OFFSET, offset));
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException(String.format(INVALID_LIMIT, limit));
+        }
+        return execute(gameId, game -> copyOf(game.rankPlayers(offset, limit)));
     }
 
     /**
@@ -176,19 +322,23 @@ public class GameServiceImpl
         final Integer gameId)
         throws GameNotFoundException {
 
-        final var game = findById(gameId).orElseThrow(() -> new GameNotFoundException(gameId));
+        return execute(gameId, game -> {
 
-        final EnumMap<Suit, Integer> map = new EnumMap<>(Suit.class);
+            final EnumMap<Suit, Integer> map = new EnumMap<>(Suit.class);
 
-        final Shoe shoe = game.getShoe();
+            final Shoe shoe = game.getShoe();
 
-        if (shoe != null && !shoe.getCards().isEmpty()) {
-
-            shoe.getCards().forEach(
-                card -> map.put(card.getSuit(), map.get(card.getSuit()) != null ? map.get(card.getSuit()) + 1 : 1));
-        }
+            if (shoe != null) {
+                for (final Suit suit : Suit.values()) {
+                    final int count = shoe.countBySuit(suit);
+                    if (count > 0) {
+                        map.put(suit, count);
+                    }
+                }
+            }
 
-        return map;
+            return map;
+        });
     }
 
     /**
@@ -199,30 +349,27 @@ public class GameServiceImpl
         final Integer gameId)
         throws GameNotFoundException {
 
-        final var cardCountList = new ArrayList<CardCount>();
-
-        final var game = findById(gameId).orElseThrow(() -> new GameNotFoundException(gameId));
-        final Shoe shoe = game.getShoe();
-
-        if (shoe != null && !shoe.getCards().isEmpty()) {
-            final List<Card> sortedList = new ArrayList<>(shoe.getCards());
-            Collections.sort(sortedList);
-            for (final Card card : sortedList) {
-                final Optional<CardCount> cardCountOptional =
-                    cardCountList.stream().filter(filter -> filter.getCard().equals(card)).findAny();
-
-                if (cardCountOptional.isPresent()) {
-                    cardCountOptional.get().getCount().incrementAndGet();
-                } else {
-                    final CardCount cardCount = new CardCount();
-                    cardCount.setCard(card);
-                    cardCount.getCount().incrementAndGet();
-                    cardCountList.add(cardCount);
-                }
+        return execute(gameId, game -> {
+
+            final var cardCountList = new ArrayList<CardCount>();
 
+            final Shoe shoe = game.getShoe();
+
+            if (shoe != null) {
+                // sorted by suit and then by face value from the highest to the lowest
+                for (int rank = 0; rank < Card.CARD_KINDS; rank++) {
+                    final Card card = Card.valueOfRank(rank);
+                    final int count = shoe.countOf(card);
+                    if (count > 0) {
+                        final CardCount cardCount = new CardCount();
+                        cardCount.setCard(card);
+                        cardCount.getCount().set(count);
+                        cardCountList.add(cardCount);
+                    }
+                }
             }
-        }
-        return cardCountList;
+            return cardCountList;
+        });
     }
 
     /**
@@ -233,17 +380,138 @@ public class GameServiceImpl
         final Integer gameId)
         throws GameNotFoundException {
 
-        final var game = findById(gameId).orElseThrow(() -> new GameNotFoundException(gameId));
-        final Shoe shoe = game.getShoe();
-        if (shoe != null) {
-            this.listShuffleHelper.shuffle(shoe.getCards());
+        execute(gameId, game -> {
+            final Shoe shoe = game.getShoe();
+            if (shoe != null) {
+                shoe.shuffle(this.listShuffleHelper, game.getRandomSource());
+                game.incrementVersion();
+                if (this.gameEventPublisher.isActive()) {
+                    // the order is published (not the random numbers), so the shuffle is the same when applied again
+                    publish(GameEvent.shoeShuffled(game, shoe.undealtCodes()));
+                }
+            }
+            return shoe;
+        });
+    }
+
+    /**
+     * Executes the operation by the game executor, recording that the game was used (so it isn't evicted as idle)
+     */
+    private <T, E extends Exception> T execute(
+        final Integer gameId,
+        final GameCommand<T, E> command)
+        throws GameNotFoundException,
+        E {
+
+        return this.gameExecutor.execute(gameId, game -> {
+            game.touch();
+            return command.execute(game);
+        });
+    }
+
+    private Card dealCard(
+        final Game game,
+        final Player player) {
+
+        if (game.getShoe() != null) {
+            final Card card = game.getShoe().deal();
+            if (card != null) {
+                player.addCard(card);
+                game.incrementVersion();
+                if (this.gameEventPublisher.isActive()) {
+                    publish(GameEvent.cardDealt(game, player.getPlayerId(), card));
+                }
+            }
+            return card;
+        }
+        return null;
+    }
+
+    /**
+     * Deals a card of the shoe to the player
+     * @return false if the shoe is empty (nothing was dealt), so the caller stops dealing
+     */
+    private static boolean deal(
+        final Shoe shoe,
+        final Player player,
+        final PlayerDeal playerDeal,
+        final DealtCards dealtCards) {
+
+        final Card card = shoe != null ? shoe.deal() : null;
+        if (card == null) {
+            return false;
+        }
+        player.addCard(card);
+        playerDeal.getCards().add(card);
+        if (dealtCards != null) {
+            dealtCards.add(player.getPlayerId(), card);
+        }
+        return true;
+    }
+
+    private DealtCards newDealtCards() {
+
+        return this.gameEventPublisher.isActive() ? new DealtCards() : null;
+    }
+
+    private BatchDeal newBatchDeal(
+        final Game game,
+        final List<Player> players,
+        final List<PlayerDeal> deals,
+        final DealtCards dealtCards) {
+
+        boolean dealt = false;
+        for (int i = 0; i < players.size(); i++) {
+            deals.get(i).setTotalValue(players.get(i).getTotalValue());
+            dealt |= !deals.get(i).getCards().isEmpty();
+        }
+        if (dealt) {
+            game.incrementVersion();
+            if (dealtCards != null) {
+                publish(GameEvent.cardsDealt(game, dealtCards.getPlayerIds(), dealtCards.getCards()));
+            }
+        }
+        return new BatchDeal(game.getGameId(), deals, game.getShoe() != null ? game.getShoe().size() : 0,
+            game.getVersion());
+    }
+
+    /**
+     * Copies the players, so their cards are read after the game executor released the game
+     */
+    private static List<Player> copyOf(
+        final List<Player> players) {
+
+        final List<Player> copies = new ArrayList<>(players.size());
+        players.forEach(player -> copies.add(player.copy()));
+        return copies;
+    }
+
+    private void publish(
+        final GameEvent event) {
+
+        this.gameEventPublisher.publish(event);
+    }
+
+    private static void checkCount(
+        final int count) {
+
+        if (count < 1) {
+            throw new IllegalArgumentException(String.format(INVALID_COUNT, count));
         }
     }
 
-    private Optional<Game> findById(
-        final Integer gameId) {
+    /**
+     * Rejects a count above the cards in the shoe (one card can always be asked, like a single deal), checked holding
+     * the game so a request can't keep it busy dealing from an empty shoe
+     */
+    private static void checkCount(
+        final int count,
+        final Shoe shoe) {
 
-        return this.games.stream().filter(game -> game.getGameId().equals(gameId)).findAny();
+        final int cards = shoe != null ? shoe.size() : 0;
+        if (count > Math.max(1, cards)) {
+            throw new IllegalArgumentException(String.format(TOO_MANY_CARDS, count, cards));
+        }
     }
 
 }
@@ -0,0 +1,181 @@
+package com.github.sfragata.gameapi.service;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.exception.GameNotFoundException;
+import com.github.sfragata.gameapi.journal.GameJournal;
+import com.github.sfragata.gameapi.journal.GameSnapshot;
+import com.github.sfragata.gameapi.journal.GameSnapshotFile;
+
+/**
+ * Takes snapshots of all the games every gameapi.journal.snapshot-interval (when the journal is enabled), so the
+ * journal segments before them can be deleted and the recovery only replays the changes after the last snapshot
+ * The games keep changing while the snapshot is taken: each game is encoded by its game executor, so it's a consistent
+ * cut of the game with the sequence number of its last change (see {@link GameSnapshot})
+ * A lock (not synchronized) guards the snapshots, because taking one waits for the game executors and the disk, which
+ * would pin the carrier of a virtual thread to it
+ * @author Silvio Fragata
+ */
+@Component
+@ConditionalOnProperty(name = "gameapi.journal.enabled", havingValue = "true")
+public class GameSnapshotter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GameSnapshotter.class);
+
+    static final String SNAPSHOT_FILE = "snapshot.dat";
+
+    private final GameJournal gameJournal;
+
+    private final GameRegistry gameRegistry;
+
+    private final GameExecutor gameExecutor;
+
+    private final PlayerIdGenerator playerIdGenerator;
+
+    private final Path path;
+
+    private final Duration interval;
+
+    private final Lock lock = new ReentrantLock();
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Constructor
+     * @param gameJournal the journal
+     * @param gameRegistry the registry of games
+     * @param gameExecutor the executor of the operations over the games
+     * @param playerIdGenerator the generator of player ids
+     * @param directory the directory of the journal, where the snapshot is written
+     * @param interval the time between two snapshots, 0 to only take them when {@link #snapshot()} is called
+     */
+    @Autowired
+    public GameSnapshotter(final GameJournal gameJournal, final GameRegistry gameRegistry,
+        final GameExecutor gameExecutor, final PlayerIdGenerator playerIdGenerator,
+        @Value("${gameapi.journal.directory:data/journal}") final String directory,
+        @Value("${gameapi.journal.snapshot-interval:5m}") final Duration interval) {
+
+        super();
+        if (interval.isNegative()) {
+            throw new IllegalArgumentException("Invalid snapshot interval: " + interval);
+        }
+        this.gameJournal = gameJournal;
+        this.gameRegistry = gameRegistry;
+        this.gameExecutor = gameExecutor;
+        this.playerIdGenerator = playerIdGenerator;
+        this.path = Paths.get(directory).resolve(SNAPSHOT_FILE);
+        this.interval = interval;
+    }
+
+    /**
+     * method to read the last snapshot
+     * @return the snapshot or null if there is none
+     */
+    public GameSnapshotFile load() {
+
+        return GameSnapshotFile.read(this.path);
+    }
+
+    /**
+     * method to start taking snapshots every interval, after the games are recovered
+     */
+    public void start() {
+
+        this.lock.lock();
+        try {
+            if (this.interval.isZero() || this.scheduler != null) {
+                return;
+            }
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "game-snapshotter");
+                thread.setDaemon(true);
+                return thread;
+            });
+            final long millis = this.interval.toMillis();
+            this.scheduler.scheduleWithFixedDelay(() -> {
+                try {
+                    snapshot();
+                } catch (final RuntimeException exception) {
+                    // the previous snapshot and the journal are kept, so nothing is lost
+                    LOGGER.error("Error taking the snapshot of the games", exception);
+                }
+            }, millis, millis, TimeUnit.MILLISECONDS);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * method to take a snapshot of all the games and delete the journal segments before it
+     * @return the snapshot
+     */
+    public GameSnapshotFile snapshot() {
+
+        this.lock.lock();
+        try {
+            final long start = System.nanoTime();
+            final long startSequence = this.gameJournal.lastSequence();
+            final List<GameSnapshot> games = new ArrayList<>(this.gameRegistry.size());
+            for (final Game game : this.gameRegistry.getGames()) {
+                if (this.gameRegistry.findById(game.getGameId()).orElse(null) != game) {
+                    // deleted or evicted meanwhile, the executor would reload an evicted game
+                    continue;
+                }
+                try {
+                    games.add(this.gameExecutor.execute(game.getGameId(),
+                        current -> GameSnapshot.of(current, this.gameJournal.lastSequence())));
+                } catch (final GameNotFoundException gameNotFoundException) {
+                    // deleted meanwhile, its deletion is after the start of the snapshot
+                }
+            }
+            // the changes in the snapshot must be in the journal, or their sequence numbers could be used again
+            final long endSequence = this.gameJournal.force();
+            final GameSnapshotFile snapshotFile =
+                new GameSnapshotFile(startSequence, endSequence, this.playerIdGenerator.lastId(), games);
+            snapshotFile.write(this.path);
+            final int segments = this.gameJournal.deleteSegmentsUpTo(startSequence);
+            LOGGER.info("Snapshot of {} games at sequence {} taken in {} ms, {} journal segments deleted", games.size(),
+                endSequence, (System.nanoTime() - start) / 1_000_000, segments);
+            return snapshotFile;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * method to stop taking snapshots
+     */
+    @PreDestroy
+    public void shutdown() {
+
+        this.lock.lock();
+        try {
+            if (this.scheduler != null) {
+                this.scheduler.shutdownNow();
+                this.scheduler = null;
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.github.sfragata.gameapi.service;
+
+import java.util.concurrent.locks.Lock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.exception.GameNotFoundException;
+
+/**
+ * Executes the operations in the caller thread while holding the game lock (see {@link GameRegistry#getLock(Integer)})
+ * This is the default execution mode (gameapi.execution.mode=lock)
+ * @author Silvio Fragata
+ */
+@Component
+@ConditionalOnProperty(name = "gameapi.execution.mode", havingValue = "lock", matchIfMissing = true)
+public class LockingGameExecutor
+    implements GameExecutor {
+
+    private final GameRegistry gameRegistry;
+
+    /**
+     * Constructor
+     * @param gameRegistry the registry of games
+     */
+    @Autowired
+    public LockingGameExecutor(final GameRegistry gameRegistry) {
+
+        super();
+        this.gameRegistry = gameRegistry;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T, E extends Exception> T execute(
+        final Integer gameId,
+        final GameCommand<T, E> command)
+        throws GameNotFoundException,
+        E {
+
+        final Lock lock = this.gameRegistry.getLock(gameId);
+        lock.lock();
+        try {
+            final Game game = this.gameRegistry.findOrLoad(gameId).orElseThrow(() -> new GameNotFoundException(gameId));
+            return command.execute(game);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
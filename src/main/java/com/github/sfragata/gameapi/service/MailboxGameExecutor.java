@@ -0,0 +1,303 @@
+package com.github.sfragata.gameapi.service;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.exception.GameBusyException;
+import com.github.sfragata.gameapi.exception.GameNotFoundException;
+import com.github.sfragata.gameapi.helper.VirtualThreads;
+
+/**
+ * Executes the operations in a mailbox per game (gameapi.execution.mode=mailbox)
+ * Each mailbox is drained by one thread at a time of a shared pool, so the operations over the same game run one after
+ * another without locks while different games run in parallel. A mailbox holds at most
+ * gameapi.execution.mailbox.capacity operations (pending or running), further operations are rejected with
+ * {@link GameBusyException}
+ * @author Silvio Fragata
+ */
+@Component
+@ConditionalOnProperty(name = "gameapi.execution.mode", havingValue = "mailbox")
+public class MailboxGameExecutor
+    implements GameExecutor {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private static final int BATCH_SIZE = 64;
+
+    private static final ThreadLocal<Mailbox> CURRENT_MAILBOX = new ThreadLocal<>();
+
+    private final GameRegistry gameRegistry;
+
+    private final ConcurrentMap<Integer, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    private final ExecutorService executorService;
+
+    private final int capacity;
+
+    /**
+     * Constructor with default capacity and one thread per processor
+     * @param gameRegistry the registry of games
+     */
+    public MailboxGameExecutor(final GameRegistry gameRegistry) {
+
+        this(gameRegistry, DEFAULT_CAPACITY, 0);
+    }
+
+    /**
+     * Constructor with platform threads
+     * @param gameRegistry the registry of games
+     * @param capacity the maximum number of operations per game
+     * @param threads the number of threads draining the mailboxes, 0 for one per processor
+     */
+    public MailboxGameExecutor(
+        final GameRegistry gameRegistry,
+        final int capacity,
+        final int threads) {
+
+        this(gameRegistry, capacity, threads, false);
+    }
+
+    /**
+     * Constructor
+     * With virtual threads (Java 21) each mailbox is drained by a new virtual thread, so an operation waiting for the
+     * journal doesn't hold one of the few threads of the pool, and the number of threads is ignored
+     * @param gameRegistry the registry of games
+     * @param capacity the maximum number of operations per game
+     * @param threads the number of threads draining the mailboxes, 0 for one per processor
+     * @param virtualThreads if the mailboxes are drained by virtual threads, when available
+     */
+    @Autowired
+    public MailboxGameExecutor(
+        final GameRegistry gameRegistry,
+        @Value("${gameapi.execution.mailbox.capacity:" + DEFAULT_CAPACITY + "}") final int capacity,
+        @Value("${gameapi.execution.mailbox.threads:0}") final int threads,
+        @Value("${gameapi.virtual-threads.enabled:false}") final boolean virtualThreads) {
+
+        super();
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Invalid mailbox capacity: " + capacity);
+        }
+        this.gameRegistry = gameRegistry;
+        this.capacity = capacity;
+        this.executorService = virtualThreads && VirtualThreads.isAvailable()
+            ? VirtualThreads.newThreadPerTaskExecutor("game-mailbox-")
+            : Executors.newFixedThreadPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                new MailboxThreadFactory());
+    }
+
+    /**
+     * {@inheritDoc}
+     * The caller waits for the operation to be executed by the game mailbox
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T, E extends Exception> T execute(
+        final Integer gameId,
+        final GameCommand<T, E> command)
+        throws GameNotFoundException,
+        E {
+
+        final Game game = findGame(gameId);
+        final Mailbox mailbox = mailboxOf(game);
+        if (CURRENT_MAILBOX.get() == mailbox) {
+            // already running in the game mailbox, waiting would never finish
+            return command.execute(game);
+        }
+
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        mailbox.submit(() -> {
+            try {
+                future.complete(command.execute(mailbox.checkGame()));
+            } catch (final Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        });
+
+        try {
+            return future.get();
+        } catch (final InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for game " + gameId, interruptedException);
+        } catch (final ExecutionException executionException) {
+            final Throwable cause = executionException.getCause();
+            if (cause instanceof GameNotFoundException) {
+                throw (GameNotFoundException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            // the command only throws checked exceptions of type E
+            throw (E) cause;
+        }
+    }
+
+    /**
+     * @return how many games have a mailbox
+     */
+    int mailboxCount() {
+
+        return this.mailboxes.size();
+    }
+
+    /**
+     * @param gameId the game id
+     * @return how many operations of the game are pending or running
+     */
+    int pendingOperations(
+        final Integer gameId) {
+
+        final Mailbox mailbox = this.mailboxes.get(gameId);
+        return mailbox != null ? mailbox.depth.get() : 0;
+    }
+
+    /**
+     * method to stop the threads draining the mailboxes
+     */
+    @PreDestroy
+    public void shutdown() {
+
+        this.executorService.shutdown();
+    }
+
+    private Mailbox mailboxOf(
+        final Game game) {
+
+        final Mailbox mailbox = this.mailboxes.get(game.getGameId());
+        if (mailbox != null && mailbox.game == game) {
+            return mailbox;
+        }
+        // the mailbox belongs to a deleted game with the same id (or there is no mailbox yet)
+        return this.mailboxes.compute(game.getGameId(),
+            (gameId, current) -> current != null && current.game == game ? current : new Mailbox(game));
+    }
+
+    private Game findGame(
+        final Integer gameId)
+        throws GameNotFoundException {
+
+        return this.gameRegistry.findOrLoad(gameId).orElseThrow(() -> new GameNotFoundException(gameId));
+    }
+
+    /**
+     * Queue of operations of a game, drained by at most one thread at a time
+     */
+    private final class Mailbox
+        implements Runnable {
+
+        private final Game game;
+
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger depth = new AtomicInteger();
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Mailbox(final Game game) {
+
+            super();
+            this.game = game;
+        }
+
+        Game checkGame()
+            throws GameNotFoundException {
+
+            if (!isCurrent()) {
+                throw new GameNotFoundException(this.game.getGameId());
+            }
+            return this.game;
+        }
+
+        boolean isCurrent() {
+
+            return MailboxGameExecutor.this.gameRegistry.findById(this.game.getGameId()).orElse(null) == this.game;
+        }
+
+        void submit(
+            final Runnable task) {
+
+            if (this.depth.incrementAndGet() > MailboxGameExecutor.this.capacity) {
+                this.depth.decrementAndGet();
+                throw new GameBusyException(this.game.getGameId());
+            }
+            this.queue.offer(task);
+            schedule();
+        }
+
+        @Override
+        public void run() {
+
+            CURRENT_MAILBOX.set(this);
+            try {
+                Runnable task;
+                int executed = 0;
+                // limits the tasks per turn so one busy game doesn't starve the others
+                while (executed < BATCH_SIZE && (task = this.queue.poll()) != null) {
+                    try {
+                        task.run();
+                    } finally {
+                        this.depth.decrementAndGet();
+                    }
+                    executed++;
+                }
+            } finally {
+                CURRENT_MAILBOX.remove();
+                this.scheduled.set(false);
+            }
+
+            if (!this.queue.isEmpty()) {
+                schedule();
+            } else if (!isCurrent()) {
+                // the game was deleted, the operations still submitted here fail with GameNotFoundException
+                MailboxGameExecutor.this.mailboxes.remove(this.game.getGameId(), this);
+            }
+        }
+
+        private void schedule() {
+
+            if (this.scheduled.compareAndSet(false, true)) {
+                MailboxGameExecutor.this.executorService.execute(this);
+            }
+        }
+
+    }
+
+    /**
+     * Creates the (daemon) threads that drain the mailboxes
+     */
+    private static final class MailboxThreadFactory
+        implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(
+            final Runnable runnable) {
+
+            final Thread thread = new Thread(runnable, "game-mailbox-" + this.threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
+}
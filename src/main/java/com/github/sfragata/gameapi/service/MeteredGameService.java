@@ -0,0 +1,458 @@
+package com.github.sfragata.gameapi.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import com.github.sfragata.gameapi.domain.BatchDeal;
+import com.github.sfragata.gameapi.domain.CardCount;
+import com.github.sfragata.gameapi.domain.DealRequest;
+import com.github.sfragata.gameapi.domain.DealResult;
+import com.github.sfragata.gameapi.domain.Deck;
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.domain.Player;
+import com.github.sfragata.gameapi.domain.Suit;
+import com.github.sfragata.gameapi.exception.GameAlreadyExistsException;
+import com.github.sfragata.gameapi.exception.GameNotFoundException;
+import com.github.sfragata.gameapi.exception.PlayerNotFoundException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Game service that records the metrics of the operations of {@link GameServiceImpl}: the time of each operation
+ * (gameapi.service timer with tag operation) and how many operations failed because the game or the player doesn't
+ * exist or the game already exists (gameapi.service.errors counter with tag exception)
+ * The meters are created once, so an operation only reads the clock twice and updates the timer
+ * @author Silvio Fragata
+ */
+@Service
+@Primary
+public class MeteredGameService
+    implements GameService {
+
+    static final String TIMER = "gameapi.service";
+
+    static final String ERRORS = "gameapi.service.errors";
+
+    private final GameService gameService;
+
+    private final Timer createGameTimer;
+
+    private final Timer deleteGameTimer;
+
+    private final Timer addDeckTimer;
+
+    private final Timer addPlayerTimer;
+
+    private final Timer removePlayerTimer;
+
+    private final Timer getGameTimer;
+
+    private final Timer getPlayerTimer;
+
+    private final Timer dealCardTimer;
+
+    private final Timer dealRoundTimer;
+
+    private final Timer dealCardsTimer;
+
+    private final Timer listPlayersTimer;
+
+    private final Timer findCardsBySuitTimer;
+
+    private final Timer findRemaingCardsTimer;
+
+    private final Timer shuffleTimer;
+
+    private final Counter gameNotFound;
+
+    private final Counter playerNotFound;
+
+    private final Counter gameAlreadyExists;
+
+    /**
+     * Constructor
+     * @param gameService the service that runs the operations
+     * @param meterRegistry the registry of the meters
+     */
+    @Autowired
+    public MeteredGameService(final GameServiceImpl gameService, final MeterRegistry meterRegistry) {
+
+        super();
+        this.gameService = gameService;
+        this.createGameTimer = timer(meterRegistry, "createGame");
+        this.deleteGameTimer = timer(meterRegistry, "deleteGame");
+        this.addDeckTimer = timer(meterRegistry, "addDeck");
+        this.addPlayerTimer = timer(meterRegistry, "addPlayer");
+        this.removePlayerTimer = timer(meterRegistry, "removePlayer");
+        this.getGameTimer = timer(meterRegistry, "getGame");
+        this.getPlayerTimer = timer(meterRegistry, "getPlayer");
+        this.dealCardTimer = timer(meterRegistry, "dealCard");
+        this.dealRoundTimer = timer(meterRegistry, "dealRound");
+        this.dealCardsTimer = timer(meterRegistry, "dealCards");
+        this.listPlayersTimer = timer(meterRegistry, "listPlayers");
+        this.findCardsBySuitTimer = timer(meterRegistry, "findCardsBySuit");
+        this.findRemaingCardsTimer = timer(meterRegistry, "findRemaingCards");
+        this.shuffleTimer = timer(meterRegistry, "shuffle");
+        this.gameNotFound = counter(meterRegistry, GameNotFoundException.class);
+        this.playerNotFound = counter(meterRegistry, PlayerNotFoundException.class);
+        this.gameAlreadyExists = counter(meterRegistry, GameAlreadyExistsException.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void createGame(
+        final Game game)
+        throws GameAlreadyExistsException {
+
+        final long start = System.nanoTime();
+        try {
+            this.gameService.createGame(game);
+        } catch (final GameAlreadyExistsException gameAlreadyExistsException) {
+            this.gameAlreadyExists.increment();
+            throw gameAlreadyExistsException;
+        } finally {
+            this.createGameTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteGame(
+        final Integer gameId)
+        throws GameNotFoundException {
+
+        final long start = System.nanoTime();
+        try {
+            this.gameService.deleteGame(gameId);
+        } catch (final GameNotFoundException gameNotFoundException) {
+            this.gameNotFound.increment();
+            throw gameNotFoundException;
+        } finally {
+            this.deleteGameTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addDeck(
+        final Integer gameId,
+        final Deck deck)
+        throws GameNotFoundException {
+
+        final long start = System.nanoTime();
+        try {
+            this.gameService.addDeck(gameId, deck);
+        } catch (final GameNotFoundException gameNotFoundException) {
+            this.gameNotFound.increment();
+            throw gameNotFoundException;
+        } finally {
+            this.addDeckTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addPlayer(
+        final Integer gameId,
+        final Player player)
+        throws GameNotFoundException {
+
+        final long start = System.nanoTime();
+        try {
+            this.gameService.addPlayer(gameId, player);
+        } catch (final GameNotFoundException gameNotFoundException) {
+            this.gameNotFound.increment();
+            throw gameNotFoundException;
+        } finally {
+            this.addPlayerTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removePlayer(
+        final Integer gameId,
+        final Integer playerId)
+        throws GameNotFoundException,
+        PlayerNotFoundException {
+
+        final long start = System.nanoTime();
+        try {
+            this.gameService.removePlayer(gameId, playerId);
+        } catch (final GameNotFoundException gameNotFoundException) {
+            this.gameNotFound.increment();
+            throw gameNotFoundException;
+        } catch (final PlayerNotFoundException playerNotFoundException) {
+            this.playerNotFound.increment();
+            throw playerNotFoundException;
+        } finally {
+            this.removePlayerTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Game getGame(
+        final Integer gameId)
+        throws GameNotFoundException {
+
+        final long start = System.nanoTime();
+        try {
+            return this.gameService.getGame(gameId);
+        } catch (final GameNotFoundException gameNotFoundException) {
+            this.gameNotFound.increment();
+            throw gameNotFoundException;
+        } finally {
+            this.getGameTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Player getPlayer(
+        final Integer gameId,
+        final Integer playerId)
+        throws GameNotFoundException,
+        PlayerNotFoundException {
+
+        final long start = System.nanoTime();
+        try {
+            return this.gameService.getPlayer(gameId, playerId);
+        } catch (final GameNotFoundException gameNotFoundException) {
+            this.gameNotFound.increment();
+            throw gameNotFoundException;
+        } catch (final PlayerNotFoundException playerNotFoundException) {
+            this.playerNotFound.increment();
+            throw playerNotFoundException;
+        } finally {
+            this.getPlayerTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Game dealCards(
+        final Integer gameId,
+        final Integer playerId)
+        throws GameNotFoundException,
+        PlayerNotFoundException {
+
+        final long start = System.nanoTime();
+        try {
+            return this.gameService.dealCards(gameId, playerId);
+        } catch (final GameNotFoundException gameNotFoundException) {
+            this.gameNotFound.increment();
+            throw gameNotFoundException;
+        } catch (final PlayerNotFoundException playerNotFoundException) {
+            this.playerNotFound.increment();
+            throw playerNotFoundException;
+        } finally {
+            this.dealCardTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DealResult dealCard(
+        final Integer gameId,
+        final Integer playerId)
+        throws GameNotFoundException,
+        PlayerNotFoundException {
+
+        final long start = System.nanoTime();
+        try {
+            return this.gameService.dealCard(gameId, playerId);
+        } catch (final GameNotFoundException gameNotFoundException) {
+            this.gameNotFound.increment();
+            throw gameNotFoundException;
+        } catch (final PlayerNotFoundException playerNotFoundException) {
+            this.playerNotFound.increment();
+            throw playerNotFoundException;
+        } finally {
+            this.dealCardTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchDeal dealRound(
+        final Integer gameId,
+        final int cardsPerPlayer)
+        throws GameNotFoundException {
+
+        final long start = System.nanoTime();
+        try {
+            return this.gameService.dealRound(gameId, cardsPerPlayer);
+        } catch (final GameNotFoundException gameNotFoundException) {
+            this.gameNotFound.increment();
+            throw gameNotFoundException;
+        } finally {
+            this.dealRoundTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchDeal dealCards(
+        final Integer gameId,
+        final List<DealRequest> dealRequests)
+        throws GameNotFoundException,
+        PlayerNotFoundException {
+
+        final long start = System.nanoTime();
+        try {
+            return this.gameService.dealCards(gameId, dealRequests);
+        } catch (final GameNotFoundException gameNotFoundException) {
+            this.gameNotFound.increment();
+            throw gameNotFoundException;
+        } catch (final PlayerNotFoundException playerNotFoundException) {
+            this.playerNotFound.increment();
+            throw playerNotFoundException;
+        } finally {
+            this.dealCardsTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Player> listPlayers(
+        final Integer gameId)
+        throws GameNotFoundException {
+
+        final long start = System.nanoTime();
+        try {
+            return this.gameService.listPlayers(gameId);
+        } catch (final GameNotFoundException gameNotFoundException) {
+            this.gameNotFound.increment();
+            throw gameNotFoundException;
+        } finally {
+            this.listPlayersTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Player> listPlayers(
+        final Integer gameId,
+        final int offset,
+        final int limit)
+        throws GameNotFoundException {
+
+        final long start = System.nanoTime();
+        try {
+            return this.gameService.listPlayers(gameId, offset, limit);
+        } catch (final GameNotFoundException gameNotFoundException) {
+            this.gameNotFound.increment();
+            throw gameNotFoundException;
+        } finally {
+            this.listPlayersTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Suit, Integer> findCardsBySuit(
+        final Integer gameId)
+        throws GameNotFoundException {
+
+        final long start = System.nanoTime();
+        try {
+            return this.gameService.findCardsBySuit(gameId);
+        } catch (final GameNotFoundException gameNotFoundException) {
+            this.gameNotFound.increment();
+            throw gameNotFoundException;
+        } finally {
+            this.findCardsBySuitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<CardCount> findRemaingCards(
+        final Integer gameId)
+        throws GameNotFoundException {
+
+        final long start = System.nanoTime();
+        try {
+            return this.gameService.findRemaingCards(gameId);
+        } catch (final GameNotFoundException gameNotFoundException) {
+            this.gameNotFound.increment();
+            throw gameNotFoundException;
+        } finally {
+            this.findRemaingCardsTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void shuffle(
+        final Integer gameId)
+        throws GameNotFoundException {
+
+        final long start = System.nanoTime();
+        try {
+            this.gameService.shuffle(gameId);
+        } catch (final GameNotFoundException gameNotFoundException) {
+            this.gameNotFound.increment();
+            throw gameNotFoundException;
+        } finally {
+            this.shuffleTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer timer(
+        final MeterRegistry meterRegistry,
+        final String operation) {
+
+        return Timer.builder(TIMER).description("Time of the game operations").tag("operation", operation)
+            .register(meterRegistry);
+    }
+
+    private static Counter counter(
+        final MeterRegistry meterRegistry,
+        final Class<? extends Exception> exception) {
+
+        return Counter.builder(ERRORS).description("Game operations failed").tag("exception",
+            exception.getSimpleName()).register(meterRegistry);
+    }
+
+}
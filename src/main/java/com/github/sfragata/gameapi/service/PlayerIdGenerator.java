@@ -0,0 +1,50 @@
+package com.github.sfragata.gameapi.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Generator of the player ids, unique across all games
+ * @author Silvio Fragata
+ */
+@Component
+public class PlayerIdGenerator {
+
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    /**
+     * Default constructor
+     */
+    public PlayerIdGenerator() {
+
+        super();
+    }
+
+    /**
+     * @return a new player id
+     */
+    public int nextId() {
+
+        return this.nextId.getAndIncrement();
+    }
+
+    /**
+     * @return the last player id generated (0 if none)
+     */
+    public int lastId() {
+
+        return this.nextId.get() - 1;
+    }
+
+    /**
+     * method to make sure the next ids are greater than an id already used (e.g. by a recovered player)
+     * @param usedId the id already used
+     */
+    public void advancePast(
+        final int usedId) {
+
+        this.nextId.accumulateAndGet(usedId + 1, Math::max);
+    }
+
+}
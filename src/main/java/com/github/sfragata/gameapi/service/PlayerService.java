@@ -3,8 +3,7 @@
  */
 package com.github.sfragata.gameapi.service;
 
-import java.util.List;
-
+import com.github.sfragata.gameapi.domain.Game;
 import com.github.sfragata.gameapi.domain.Player;
 import com.github.sfragata.gameapi.exception.PlayerNotFoundException;
 
@@ -16,14 +15,14 @@ import com.github.sfragata.gameapi.exception.PlayerNotFoundException;
 public interface PlayerService {
 
     /**
-     * method to return a player from the list of players
+     * method to return a player of the game (by its player index, in constant time)
      * @param playerId the player id
-     * @param players list of players
+     * @param game the game
      * @return the Player object
      * @throws PlayerNotFoundException if the player doesn't exist
      */
     Player getPlayer(
         final Integer playerId,
-        List<Player> players)
+        Game game)
         throws PlayerNotFoundException;
 }
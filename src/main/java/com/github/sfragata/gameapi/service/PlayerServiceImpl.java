@@ -1,9 +1,8 @@
 package com.github.sfragata.gameapi.service;
 
-import java.util.List;
-
 import org.springframework.stereotype.Service;
 
+import com.github.sfragata.gameapi.domain.Game;
 import com.github.sfragata.gameapi.domain.Player;
 import com.github.sfragata.gameapi.exception.PlayerNotFoundException;
 
@@ -29,15 +28,14 @@ public class PlayerServiceImpl
     @Override
     public Player getPlayer(
         final Integer playerId,
-        final List<Player> players)
+        final Game game)
         throws PlayerNotFoundException {
 
-        if (players == null || players.isEmpty()) {
+        final Player player = game != null ? game.findPlayer(playerId) : null;
+        if (player == null) {
             throw new PlayerNotFoundException(playerId);
         }
-
-        return players.stream().filter(player -> player.getPlayerId().equals(playerId)).findFirst()
-            .orElseThrow(() -> new PlayerNotFoundException(playerId));
+        return player;
 
     }
 
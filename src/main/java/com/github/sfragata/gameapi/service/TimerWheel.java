@@ -0,0 +1,144 @@
+package com.github.sfragata.gameapi.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hashed timer wheel: each bucket has the items expiring in one tick, a deadline further than the wheel is kept in its
+ * bucket until the wheel turns enough times (rounds)
+ * Scheduling is constant time and safe to be called concurrently, {@link #advance(long, Consumer)} must only be called
+ * by one thread (the timer). An item whose consumer fails is logged and expires again in the next advance, the other
+ * items aren't affected
+ * @author Silvio Fragata
+ * @param <T> the type of the items
+ */
+final class TimerWheel<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimerWheel.class);
+
+    private final long tickMillis;
+
+    private final Queue<Timeout<T>>[] buckets;
+
+    private final int mask;
+
+    private volatile long currentTick;
+
+    /**
+     * Constructor
+     * @param tickMillis the duration of a tick
+     * @param size the number of buckets (rounded up to the next power of two)
+     * @param now the current time (epoch millis)
+     */
+    @SuppressWarnings("unchecked")
+    TimerWheel(final long tickMillis, final int size, final long now) {
+
+        super();
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("Invalid tick: " + tickMillis);
+        }
+        final int buckets = size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+        this.tickMillis = tickMillis;
+        this.buckets = new Queue[buckets];
+        for (int i = 0; i < buckets; i++) {
+            this.buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.mask = buckets - 1;
+        this.currentTick = now / tickMillis;
+    }
+
+    /**
+     * method to schedule an item
+     * @param item the item
+     * @param deadline when the item expires (epoch millis), it's only seen by the timer in the tick after it
+     */
+    void schedule(
+        final T item,
+        final long deadline) {
+
+        // never the tick being advanced, so the item isn't missed until the next round
+        final long tick = Math.max(Math.floorDiv(deadline, this.tickMillis), this.currentTick + 1);
+        this.buckets[(int) (tick & this.mask)].offer(new Timeout<>(item, tick));
+    }
+
+    /**
+     * method to advance the wheel until the current time, passing the items expired to the consumer
+     * @param now the current time (epoch millis)
+     * @param expired the consumer of the items expired
+     */
+    void advance(
+        final long now,
+        final Consumer<T> expired) {
+
+        final long lastTick = Math.floorDiv(now, this.tickMillis);
+        final List<Timeout<T>> later = new ArrayList<>();
+        final List<T> failed = new ArrayList<>();
+        while (this.currentTick <= lastTick) {
+            final Queue<Timeout<T>> bucket = this.buckets[(int) (this.currentTick & this.mask)];
+            Timeout<T> timeout;
+            while ((timeout = bucket.poll()) != null) {
+                if (timeout.tick <= this.currentTick) {
+                    expire(timeout.item, expired, failed);
+                } else {
+                    later.add(timeout);
+                }
+            }
+            bucket.addAll(later);
+            later.clear();
+            this.currentTick++;
+        }
+        // scheduled after the ticks advanced, so they're tried once per advance
+        failed.forEach(item -> schedule(item, now));
+    }
+
+    /**
+     * Passes the item to the consumer, an exception is logged and the item is kept to be scheduled again (otherwise it
+     * would be lost with the items not expired of the bucket)
+     */
+    private static <T> void expire(
+        final T item,
+        final Consumer<T> expired,
+        final List<T> failed) {
+
+        try {
+            expired.accept(item);
+        } catch (final RuntimeException exception) {
+            LOGGER.error("Error expiring {}, it's tried again in the next tick", item, exception);
+            failed.add(item);
+        }
+    }
+
+    /**
+     * @return how many items are scheduled (it walks all the buckets)
+     */
+    int size() {
+
+        int size = 0;
+        for (final Queue<Timeout<T>> bucket : this.buckets) {
+            size += bucket.size();
+        }
+        return size;
+    }
+
+    private static final class Timeout<T> {
+
+        private final T item;
+
+        private final long tick;
+
+        Timeout(final T item, final long tick) {
+
+            super();
+            this.item = item;
+            this.tick = tick;
+        }
+
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.github.sfragata.gameapi.config;
+
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Writes a sample of the requests to the access log (see {@link AccessLog}), for the reactive web application
+ * @author Silvio Fragata
+ */
+public class AccessLogWebFilter
+    implements WebFilter {
+
+    private final AccessLog accessLog;
+
+    /**
+     * Constructor
+     * @param sampleRate the fraction of the requests logged (0 logs only the failed requests, 1 logs all of them)
+     */
+    public AccessLogWebFilter(final double sampleRate) {
+
+        super();
+        this.accessLog = new AccessLog(sampleRate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Void> filter(
+        final ServerWebExchange exchange,
+        final WebFilterChain chain) {
+
+        if (!this.accessLog.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        final long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            final ServerHttpRequest request = exchange.getRequest();
+            final HttpStatus status = exchange.getResponse().getStatusCode();
+            // an error not handled becomes a 500 after the filter
+            final int statusCode = signal == SignalType.ON_ERROR ? HttpStatus.INTERNAL_SERVER_ERROR.value()
+                : status != null ? status.value() : HttpStatus.OK.value();
+            final Map<String, String> variables =
+                exchange.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+            this.accessLog.log(request.getMethodValue(), request.getPath().value(), statusCode,
+                (System.nanoTime() - start) / 1000, variables);
+        });
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.github.sfragata.gameapi.config;
+
+import java.util.Map;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Configuration of the reactive application (spring.main.web-application-type=reactive), only built with the reactive
+ * profile of the pom
+ * @author Silvio Fragata
+ *
+ */
+@Configuration
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveConfig {
+
+    public ReactiveConfig() {
+
+        super();
+    }
+
+    /**
+     * Bean created to log a sample of the requests sent to the reactive application (see {@link AccessLogWebFilter})
+     * @param sampleRate the fraction of the requests logged
+     * @return AccessLogWebFilter configured
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @ConditionalOnProperty(name = "gameapi.access-log.enabled", havingValue = "true", matchIfMissing = true)
+    public AccessLogWebFilter accessLogWebFilter(
+        @Value("${gameapi.access-log.sample-rate:1}") final double sampleRate) {
+
+        return new AccessLogWebFilter(sampleRate);
+    }
+
+    /**
+     * Bean created to serve the reactive application with Netty, otherwise Tomcat (also in the classpath for the
+     * servlet application) would be chosen
+     * @return NettyReactiveWebServerFactory (the port and the other server properties are applied by Spring Boot)
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Bean created to answer the requests with Accept: application/cbor in CBOR in the reactive application (see
+     * {@link GameApiConfig#cborHttpMessageConverter(Jackson2ObjectMapperBuilder)})
+     * @param objectMapperBuilder the builder of the object mappers, with the settings of the application
+     * @return the customizer of the codecs, that adds the CBOR ones (the custom codecs come before the JSON ones, so
+     *         GameHandler sets the content type)
+     */
+    @Bean
+    public CodecCustomizer cborCodecCustomizer(
+        final Jackson2ObjectMapperBuilder objectMapperBuilder) {
+
+        final ObjectMapper objectMapper = GameApiConfig.cborObjectMapper(objectMapperBuilder);
+        return configurer -> {
+            configurer.customCodecs().register(new CborValueEncoder(objectMapper));
+            configurer.customCodecs().register(new Jackson2CborDecoder(objectMapper, MediaType.APPLICATION_CBOR));
+        };
+    }
+
+    /**
+     * CBOR encoder of one value (the responses of GameHandler), the encoder of Spring only encodes the values of the
+     * server-sent events and the multipart bodies
+     */
+    private static final class CborValueEncoder
+        extends Jackson2CborEncoder {
+
+        CborValueEncoder(final ObjectMapper objectMapper) {
+
+            super(objectMapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(
+            final Publisher<?> inputStream,
+            final DataBufferFactory bufferFactory,
+            final ResolvableType elementType,
+            final MimeType mimeType,
+            final Map<String, Object> hints) {
+
+            return Mono.from(inputStream)
+                .map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints)).flux();
+        }
+
+    }
+
+}
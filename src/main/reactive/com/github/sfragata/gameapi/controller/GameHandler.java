@@ -0,0 +1,364 @@
+package com.github.sfragata.gameapi.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.github.sfragata.gameapi.domain.DealRequest;
+import com.github.sfragata.gameapi.domain.Deck;
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.domain.Player;
+import com.github.sfragata.gameapi.exception.GameAlreadyExistsException;
+import com.github.sfragata.gameapi.exception.GameBusyException;
+import com.github.sfragata.gameapi.exception.GameNotFoundException;
+import com.github.sfragata.gameapi.exception.PlayerNotFoundException;
+import com.github.sfragata.gameapi.helper.RandomStrategy;
+import com.github.sfragata.gameapi.helper.VirtualThreads;
+import com.github.sfragata.gameapi.service.GameService;
+import com.github.sfragata.gameapi.service.PlayerIdGenerator;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Functional handlers of the reactive application (spring.main.web-application-type=reactive), with the same
+ * responses of {@link GameController} (see {@link GameRoutes})
+ * The operations over the games may block: the default lock execution waits for the lock of the game while another
+ * request uses it, a spilled game is read from disk, the synchronized journal forces each change to disk and in the
+ * mailbox execution the caller waits for the game thread. So they run in the bounded elastic scheduler, or in virtual
+ * threads with gameapi.virtual-threads.enabled=true (Java 21). With gameapi.reactive.event-loop=true they run in the
+ * event loop instead, unless the journal is synchronized, the evicted games are spilled or the execution is mailbox:
+ * only the lock of the game can block the event loop then, when the same game gets concurrent requests
+ * @author Silvio Fragata
+ */
+@Component
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class GameHandler {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private static final String INVALID_PAGE = "Invalid page %d of size %d";
+
+    private static final ParameterizedTypeReference<List<DealRequest>> DEAL_REQUESTS =
+        new ParameterizedTypeReference<>() {
+        };
+
+    private final GameService gameService;
+
+    private final PlayerIdGenerator playerIdGenerator;
+
+    private final Scheduler scheduler;
+
+    /**
+     * Constructor
+     * @param gameService the game service
+     * @param playerIdGenerator the generator of the player ids
+     * @param journalEnabled if the changes of the games are written to the journal
+     * @param journalSync if each change waits for the journal to be forced to disk
+     * @param executionMode the execution mode of the operations over the games (lock or mailbox)
+     * @param spillEnabled if the evicted games are written to disk and read again when used
+     * @param eventLoop if the operations run in the event loop when they don't wait for I/O or other threads
+     * @param virtualThreads if the operations that may wait run in virtual threads, when available
+     */
+    @Autowired
+    public GameHandler(
+        final GameService gameService,
+        final PlayerIdGenerator playerIdGenerator,
+        @Value("${gameapi.journal.enabled:false}") final boolean journalEnabled,
+        @Value("${gameapi.journal.sync:true}") final boolean journalSync,
+        @Value("${gameapi.execution.mode:lock}") final String executionMode,
+        @Value("${gameapi.eviction.spill.enabled:false}") final boolean spillEnabled,
+        @Value("${gameapi.reactive.event-loop:false}") final boolean eventLoop,
+        @Value("${gameapi.virtual-threads.enabled:false}") final boolean virtualThreads) {
+
+        super();
+        this.gameService = gameService;
+        this.playerIdGenerator = playerIdGenerator;
+        final boolean mayWait = journalEnabled && journalSync || spillEnabled
+            || "mailbox".equalsIgnoreCase(executionMode);
+        if (eventLoop && !mayWait) {
+            this.scheduler = Schedulers.immediate();
+        } else if (virtualThreads && VirtualThreads.isAvailable()) {
+            this.scheduler = Schedulers.fromExecutorService(VirtualThreads.newThreadPerTaskExecutor("game-handler-"));
+        } else {
+            this.scheduler = Schedulers.boundedElastic();
+        }
+    }
+
+    /**
+     * POST /gameapi/{gameId} to create a game (optional parameters random and seed)
+     * @param request the request
+     * @return 201, or 400 if the game already exists or the random strategy is invalid
+     */
+    public Mono<ServerResponse> createGame(
+        final ServerRequest request) {
+
+        return execute(() -> {
+            final var game = new Game();
+            game.setGameId(gameId(request));
+            game.setRandomStrategy(request.queryParam("random").map(RandomStrategy::valueOf).orElse(null));
+            game.setSeed(request.queryParam("seed").map(Long::valueOf).orElse(null));
+            this.gameService.createGame(game);
+            return ServerResponse.status(HttpStatus.CREATED).build();
+        });
+    }
+
+    /**
+     * DELETE /gameapi/{gameId} to delete a game
+     * @param request the request
+     * @return 204, or 404 if the game doesn't exist
+     */
+    public Mono<ServerResponse> deleteGame(
+        final ServerRequest request) {
+
+        return execute(() -> {
+            this.gameService.deleteGame(gameId(request));
+            return ServerResponse.noContent().build();
+        });
+    }
+
+    /**
+     * POST /gameapi/{gameId}/deck to add a deck to the game
+     * @param request the request
+     * @return 201, or 404 if the game doesn't exist
+     */
+    public Mono<ServerResponse> addDeck(
+        final ServerRequest request) {
+
+        return execute(() -> {
+            this.gameService.addDeck(gameId(request), new Deck());
+            return ServerResponse.status(HttpStatus.CREATED).build();
+        });
+    }
+
+    /**
+     * POST /gameapi/{gameId}/player to add a player to the game
+     * @param request the request
+     * @return 200 with the player, or 404 if the game doesn't exist
+     */
+    public Mono<ServerResponse> addPlayer(
+        final ServerRequest request) {
+
+        return execute(() -> {
+            final var player = new Player(this.playerIdGenerator.nextId());
+            // the player added is dealt cards by other requests, so the response is the player before it's added
+            final Player added = player.copy();
+            this.gameService.addPlayer(gameId(request), player);
+            return ok(request, added);
+        });
+    }
+
+    /**
+     * DELETE /gameapi/{gameId}/player/{playerId} to remove a player from the game
+     * @param request the request
+     * @return 204, or 404 if the game or the player doesn't exist
+     */
+    public Mono<ServerResponse> deletePlayer(
+        final ServerRequest request) {
+
+        return execute(() -> {
+            this.gameService.removePlayer(gameId(request), playerId(request));
+            return ServerResponse.noContent().build();
+        });
+    }
+
+    /**
+     * POST /gameapi/{gameId}/player/{playerId}/deal to deal a card to the player (the whole game with full=true)
+     * @param request the request
+     * @return 200 with the deal result or the game, or 404 if the game or the player doesn't exist
+     */
+    public Mono<ServerResponse> dealCards(
+        final ServerRequest request) {
+
+        return execute(() -> {
+            if (request.queryParam("full").map(Boolean::parseBoolean).orElse(false)) {
+                return ok(request, this.gameService.dealCards(gameId(request), playerId(request)));
+            }
+            return ok(request, this.gameService.dealCard(gameId(request), playerId(request)));
+        });
+    }
+
+    /**
+     * POST /gameapi/{gameId}/deal to deal rounds to all the players (parameter cards) or the cards of the body
+     * @param request the request
+     * @return 200 with the cards dealt, 400 if the number of cards is invalid or 404 if the game or any of the players
+     *         doesn't exist
+     */
+    public Mono<ServerResponse> dealCardsBatch(
+        final ServerRequest request) {
+
+        return request.bodyToMono(DEAL_REQUESTS).map(Optional::of).defaultIfEmpty(Optional.empty())
+            .flatMap(dealRequests -> execute(() -> {
+                if (dealRequests.isEmpty()) {
+                    final int cards = request.queryParam("cards").map(Integer::parseInt).orElse(1);
+                    return ok(request, this.gameService.dealRound(gameId(request), cards));
+                }
+                return ok(request, this.gameService.dealCards(gameId(request), dealRequests.get()));
+            }));
+    }
+
+    /**
+     * GET /gameapi/{gameId}/player/{playerId} to return a player of the game
+     * @param request the request
+     * @return 200 with the player, or 404 if the game or the player doesn't exist
+     */
+    public Mono<ServerResponse> getPlayer(
+        final ServerRequest request) {
+
+        return execute(() -> ok(request, this.gameService.getPlayer(gameId(request), playerId(request))));
+    }
+
+    /**
+     * GET /gameapi/{gameId}/players to list the players of the game (optional parameters top, or page and size)
+     * @param request the request
+     * @return 200 with the players, 400 if top, page or size are invalid or 404 if the game doesn't exist
+     */
+    public Mono<ServerResponse> listPlayers(
+        final ServerRequest request) {
+
+        return execute(() -> {
+            final Integer gameId = gameId(request);
+            final Optional<Integer> top = request.queryParam("top").map(Integer::valueOf);
+            final Optional<Integer> page = request.queryParam("page").map(Integer::valueOf);
+            final Optional<Integer> size = request.queryParam("size").map(Integer::valueOf);
+            final List<Player> listPlayers;
+            if (top.isPresent()) {
+                listPlayers = this.gameService.listPlayers(gameId, 0, top.get());
+            } else if (page.isPresent() || size.isPresent()) {
+                final int pageSize = size.orElse(DEFAULT_PAGE_SIZE);
+                final int pageNumber = page.orElse(0);
+                if (pageSize < 1 || pageNumber < 0) {
+                    throw new IllegalArgumentException(String.format(INVALID_PAGE, pageNumber, pageSize));
+                }
+                listPlayers = this.gameService.listPlayers(gameId, (int) Math.min((long) pageNumber * pageSize,
+                    Integer.MAX_VALUE), pageSize);
+            } else {
+                listPlayers = this.gameService.listPlayers(gameId);
+            }
+            return ok(request, listPlayers);
+        });
+    }
+
+    /**
+     * GET /gameapi/{gameId}/deck to return how many cards of each suit are left in the game deck
+     * @param request the request
+     * @return 200 with the count by suit, or 404 if the game doesn't exist
+     */
+    public Mono<ServerResponse> listCardsUndealtBySuit(
+        final ServerRequest request) {
+
+        return execute(() -> ok(request, this.gameService.findCardsBySuit(gameId(request))));
+    }
+
+    /**
+     * GET /gameapi/{gameId}/deck/cards to return how many of each card are left in the game deck
+     * @param request the request
+     * @return 200 with the count of each card, or 404 if the game doesn't exist
+     */
+    public Mono<ServerResponse> listRemaingCards(
+        final ServerRequest request) {
+
+        return execute(() -> ok(request, this.gameService.findRemaingCards(gameId(request))));
+    }
+
+    /**
+     * POST /gameapi/{gameId}/shuffle to shuffle the game deck
+     * @param request the request
+     * @return 204, or 404 if the game doesn't exist
+     */
+    public Mono<ServerResponse> shuffle(
+        final ServerRequest request) {
+
+        return execute(() -> {
+            this.gameService.shuffle(gameId(request));
+            return ServerResponse.noContent().build();
+        });
+    }
+
+    /**
+     * Runs the operation in the scheduler, mapping the exceptions to the responses of GameController
+     */
+    private Mono<ServerResponse> execute(
+        final Operation operation) {
+
+        return Mono.defer(() -> {
+            try {
+                return operation.execute();
+            } catch (final GameNotFoundException | PlayerNotFoundException exception) {
+                return message(HttpStatus.NOT_FOUND, exception.getMessage());
+            } catch (final GameAlreadyExistsException | IllegalArgumentException exception) {
+                return message(HttpStatus.BAD_REQUEST, exception.getMessage());
+            } catch (final GameBusyException gameBusyException) {
+                return ServerResponse.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1")
+                    .contentType(MediaType.TEXT_PLAIN).bodyValue(gameBusyException.getMessage());
+            }
+        }).subscribeOn(this.scheduler);
+    }
+
+    /**
+     * The content type is negotiated with the Accept header: JSON by default, or CBOR if preferred (see
+     * CardCodesModule). It's always set, the CBOR encoder comes before the JSON one
+     */
+    private static Mono<ServerResponse> ok(
+        final ServerRequest request,
+        final Object body) {
+
+        final List<MediaType> accept = new ArrayList<>(request.headers().accept());
+        MediaType.sortBySpecificityAndQuality(accept);
+        for (final MediaType mediaType : accept) {
+            if (mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                return ServerResponse.ok().contentType(MediaType.APPLICATION_CBOR).bodyValue(body);
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                break;
+            }
+        }
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+    }
+
+    private static Mono<ServerResponse> message(
+        final HttpStatus status,
+        final String message) {
+
+        return ServerResponse.status(status).contentType(MediaType.TEXT_PLAIN).bodyValue(message);
+    }
+
+    private static Integer gameId(
+        final ServerRequest request) {
+
+        return Integer.valueOf(request.pathVariable("gameId"));
+    }
+
+    private static Integer playerId(
+        final ServerRequest request) {
+
+        return Integer.valueOf(request.pathVariable("playerId"));
+    }
+
+    /**
+     * An operation of the handler, that may throw the exceptions of the game service
+     */
+    @FunctionalInterface
+    private interface Operation {
+
+        Mono<ServerResponse> execute()
+            throws GameNotFoundException,
+            PlayerNotFoundException,
+            GameAlreadyExistsException;
+
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.github.sfragata.gameapi.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Routes of the reactive application (spring.main.web-application-type=reactive), the same endpoints of GameController
+ * served by {@link GameHandler}
+ * @author Silvio Fragata
+ *
+ */
+@Configuration
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class GameRoutes {
+
+    public GameRoutes() {
+
+        super();
+    }
+
+    /**
+     * method to route the endpoints under /gameapi to the handler
+     * @param gameHandler the handler
+     * @return the router function
+     */
+    @Bean
+    public RouterFunction<ServerResponse> gameRouterFunction(
+        final GameHandler gameHandler) {
+
+        return RouterFunctions.route().path("/gameapi", builder -> builder
+            .POST("/{gameId}", gameHandler::createGame)
+            .DELETE("/{gameId}", gameHandler::deleteGame)
+            .POST("/{gameId}/deck", gameHandler::addDeck)
+            .GET("/{gameId}/deck", gameHandler::listCardsUndealtBySuit)
+            .GET("/{gameId}/deck/cards", gameHandler::listRemaingCards)
+            .POST("/{gameId}/shuffle", gameHandler::shuffle)
+            .POST("/{gameId}/deal", gameHandler::dealCardsBatch)
+            .POST("/{gameId}/player", gameHandler::addPlayer)
+            .GET("/{gameId}/players", gameHandler::listPlayers)
+            .GET("/{gameId}/player/{playerId}", gameHandler::getPlayer)
+            .DELETE("/{gameId}/player/{playerId}", gameHandler::deletePlayer)
+            .POST("/{gameId}/player/{playerId}/deal", gameHandler::dealCards))
+            .build();
+    }
+
+}
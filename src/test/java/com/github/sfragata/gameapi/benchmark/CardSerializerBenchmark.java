@@ -0,0 +1,92 @@
+package com.github.sfragata.gameapi.benchmark;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.sfragata.gameapi.config.CardJsonModule;
+import com.github.sfragata.gameapi.domain.Deck;
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.domain.Player;
+import com.github.sfragata.gameapi.domain.Shoe;
+
+/**
+ * Benchmark of the JSON of the game and of its players with the bean serializers (default) against the serializers of
+ * CardJsonModule (custom), that write the same JSON
+ * @author Silvio Fragata
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardSerializerBenchmark {
+
+    private static final int PLAYERS = 7;
+
+    private static final int CARDS_PER_PLAYER = 5;
+
+    @Param({ "1", "6", "8" })
+    private int decks;
+
+    @Param({ "default", "custom" })
+    private String serializers;
+
+    private ObjectMapper objectMapper;
+
+    private Game game;
+
+    private Collection<Player> players;
+
+    @Setup
+    public void setUp() {
+
+        this.objectMapper = "custom".equals(this.serializers) ? new ObjectMapper().registerModule(new CardJsonModule())
+            : new ObjectMapper();
+        this.game = new Game();
+        this.game.setGameId(1);
+        final Shoe shoe = new Shoe();
+        for (int i = 0; i < this.decks; i++) {
+            shoe.addCards(new Deck());
+        }
+        this.game.setShoe(shoe);
+        for (int i = 1; i <= PLAYERS; i++) {
+            final Player player = new Player(i);
+            for (int j = 0; j < CARDS_PER_PLAYER; j++) {
+                player.addCard(shoe.deal());
+            }
+            this.game.addPlayer(player);
+        }
+        this.players = this.game.getPlayers();
+    }
+
+    @Benchmark
+    public byte[] fullGame()
+        throws JsonProcessingException {
+
+        return this.objectMapper.writeValueAsBytes(this.game);
+    }
+
+    @Benchmark
+    public byte[] players()
+        throws JsonProcessingException {
+
+        return this.objectMapper.writeValueAsBytes(this.players);
+    }
+
+}
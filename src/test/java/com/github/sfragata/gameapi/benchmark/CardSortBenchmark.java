@@ -0,0 +1,87 @@
+package com.github.sfragata.gameapi.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.sfragata.gameapi.domain.Card;
+import com.github.sfragata.gameapi.domain.Deck;
+
+/**
+ * Benchmark sorting the cards of a shuffled shoe (1 to 8 decks) with the former comparator chain built on each
+ * comparison, with the rank based compareTo and comparator and with the counting sort
+ * @author Silvio Fragata
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardSortBenchmark {
+
+    @Param({ "1", "2", "4", "8" })
+    private int decks;
+
+    private List<Card> shuffled;
+
+    @Setup
+    public void setUp() {
+
+        this.shuffled = new ArrayList<>();
+        for (int i = 0; i < this.decks; i++) {
+            this.shuffled.addAll(new Deck().getCards());
+        }
+        Collections.shuffle(this.shuffled, new Random(this.decks));
+    }
+
+    @Benchmark
+    public List<Card> comparatorChain() {
+
+        final List<Card> cards = new ArrayList<>(this.shuffled);
+        cards.sort((card1, card2) -> Comparator.comparing(Card::getSuit)
+            .thenComparing(card -> card.getFaceValue().getValue(), Comparator.reverseOrder()).compare(card1, card2));
+        return cards;
+    }
+
+    @Benchmark
+    public List<Card> compareTo() {
+
+        final List<Card> cards = new ArrayList<>(this.shuffled);
+        Collections.sort(cards);
+        return cards;
+    }
+
+    @Benchmark
+    public List<Card> rankComparator() {
+
+        final List<Card> cards = new ArrayList<>(this.shuffled);
+        cards.sort(Card.RANK_ORDER);
+        return cards;
+    }
+
+    @Benchmark
+    public List<Card> countingSort() {
+
+        final List<Card> cards = new ArrayList<>(this.shuffled);
+        Card.sort(cards);
+        return cards;
+    }
+
+}
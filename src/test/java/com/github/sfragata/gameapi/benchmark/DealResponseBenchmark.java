@@ -0,0 +1,94 @@
+package com.github.sfragata.gameapi.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.sfragata.gameapi.domain.Card;
+import com.github.sfragata.gameapi.domain.DealResult;
+import com.github.sfragata.gameapi.domain.Deck;
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.domain.Player;
+import com.github.sfragata.gameapi.domain.Shoe;
+
+/**
+ * Benchmark of the serialization of the deal response: the whole Game (before) against the DealResult (after)
+ * The payload sizes are printed on the setup
+ * @author Silvio Fragata
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DealResponseBenchmark {
+
+    private static final int PLAYERS = 7;
+
+    private static final int CARDS_PER_PLAYER = 2;
+
+    @Param({ "1", "6", "8" })
+    private int decks;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Game game;
+
+    private DealResult dealResult;
+
+    @Setup
+    public void setUp()
+        throws JsonProcessingException {
+
+        this.game = new Game();
+        this.game.setGameId(1);
+        final Shoe shoe = new Shoe();
+        for (int i = 0; i < this.decks; i++) {
+            shoe.addCards(new Deck());
+        }
+        this.game.setShoe(shoe);
+        for (int i = 1; i <= PLAYERS; i++) {
+            final Player player = new Player(i);
+            for (int j = 0; j < CARDS_PER_PLAYER; j++) {
+                player.addCard(shoe.deal());
+            }
+            this.game.addPlayer(player);
+        }
+        final Player player = this.game.findPlayer(1);
+        final Card card = player.getCards().get(0);
+        this.dealResult = new DealResult(this.game.getGameId(), player.getPlayerId(), card, player.getTotalValue(),
+            shoe.size(), this.game.getVersion());
+
+        System.out.printf("%nPayload size with %d decks: game %d bytes, deal result %d bytes%n", this.decks,
+            fullGame().length, dealResult().length);
+    }
+
+    @Benchmark
+    public byte[] fullGame()
+        throws JsonProcessingException {
+
+        return this.objectMapper.writeValueAsBytes(this.game);
+    }
+
+    @Benchmark
+    public byte[] dealResult()
+        throws JsonProcessingException {
+
+        return this.objectMapper.writeValueAsBytes(this.dealResult);
+    }
+
+}
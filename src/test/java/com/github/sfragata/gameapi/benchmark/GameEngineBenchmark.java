@@ -0,0 +1,191 @@
+package com.github.sfragata.gameapi.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.sfragata.gameapi.domain.CardCount;
+import com.github.sfragata.gameapi.domain.DealResult;
+import com.github.sfragata.gameapi.domain.Deck;
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.domain.Player;
+import com.github.sfragata.gameapi.domain.Shoe;
+import com.github.sfragata.gameapi.domain.Suit;
+import com.github.sfragata.gameapi.event.GameEventPublisher;
+import com.github.sfragata.gameapi.exception.GameAlreadyExistsException;
+import com.github.sfragata.gameapi.exception.GameNotFoundException;
+import com.github.sfragata.gameapi.exception.PlayerNotFoundException;
+import com.github.sfragata.gameapi.helper.ListShuffleHelper;
+import com.github.sfragata.gameapi.service.GameRegistry;
+import com.github.sfragata.gameapi.service.GameServiceImpl;
+import com.github.sfragata.gameapi.service.LockingGameExecutor;
+import com.github.sfragata.gameapi.service.PlayerServiceImpl;
+
+/**
+ * Benchmark of the game engine: building the decks and the shoe, and the operations of the game service over one of
+ * the live games (chosen in turn, so the lookups don't always hit the same game), including the JSON of the responses
+ * The service is built without Spring (the journal is disabled), a game whose shoe is empty is created again
+ * @author Silvio Fragata
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameEngineBenchmark {
+
+    @Param({ "1", "8" })
+    private int decks;
+
+    @Param({ "2", "8" })
+    private int players;
+
+    @Param({ "1", "10000" })
+    private int games;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private GameServiceImpl gameService;
+
+    private int nextGame;
+
+    @Setup
+    public void setUp()
+        throws GameAlreadyExistsException,
+        GameNotFoundException {
+
+        final GameRegistry gameRegistry = new GameRegistry();
+        this.gameService = new GameServiceImpl();
+        ReflectionTestUtils.setField(this.gameService, "playerService", new PlayerServiceImpl());
+        ReflectionTestUtils.setField(this.gameService, "listShuffleHelper", new ListShuffleHelper());
+        ReflectionTestUtils.setField(this.gameService, "gameRegistry", gameRegistry);
+        ReflectionTestUtils.setField(this.gameService, "gameExecutor", new LockingGameExecutor(gameRegistry));
+        ReflectionTestUtils.setField(this.gameService, "gameEventPublisher", new GameEventPublisher());
+        for (int gameId = 0; gameId < this.games; gameId++) {
+            createGame(gameId);
+        }
+    }
+
+    @Benchmark
+    public Deck newDeck() {
+
+        return new Deck();
+    }
+
+    @Benchmark
+    public Shoe addCards() {
+
+        final Shoe shoe = new Shoe();
+        for (int i = 0; i < this.decks; i++) {
+            shoe.addCards(new Deck());
+        }
+        return shoe;
+    }
+
+    @Benchmark
+    public Integer shuffle()
+        throws GameNotFoundException {
+
+        final Integer gameId = nextGame();
+        this.gameService.shuffle(gameId);
+        return gameId;
+    }
+
+    @Benchmark
+    public DealResult dealCard()
+        throws GameAlreadyExistsException,
+        GameNotFoundException,
+        PlayerNotFoundException {
+
+        final Integer gameId = nextGame();
+        final DealResult dealResult = this.gameService.dealCard(gameId, playerId(gameId, 0));
+        if (dealResult.getRemainingCards() == 0) {
+            this.gameService.deleteGame(gameId);
+            createGame(gameId);
+        }
+        return dealResult;
+    }
+
+    @Benchmark
+    public Map<Suit, Integer> findCardsBySuit()
+        throws GameNotFoundException {
+
+        return this.gameService.findCardsBySuit(nextGame());
+    }
+
+    @Benchmark
+    public List<CardCount> findRemaingCards()
+        throws GameNotFoundException {
+
+        return this.gameService.findRemaingCards(nextGame());
+    }
+
+    @Benchmark
+    public byte[] serializeGame()
+        throws GameNotFoundException,
+        JsonProcessingException {
+
+        return this.objectMapper.writeValueAsBytes(this.gameService.getGame(nextGame()));
+    }
+
+    @Benchmark
+    public byte[] serializePlayers()
+        throws GameNotFoundException,
+        JsonProcessingException {
+
+        return this.objectMapper.writeValueAsBytes(this.gameService.listPlayers(nextGame()));
+    }
+
+    private Integer nextGame() {
+
+        final int gameId = this.nextGame;
+        this.nextGame = gameId + 1 < this.games ? gameId + 1 : 0;
+        return gameId;
+    }
+
+    /**
+     * Creates the game with its decks and players, each player has a card
+     */
+    private void createGame(
+        final int gameId)
+        throws GameAlreadyExistsException,
+        GameNotFoundException {
+
+        final Game game = new Game();
+        game.setGameId(gameId);
+        this.gameService.createGame(game);
+        for (int i = 0; i < this.decks; i++) {
+            this.gameService.addDeck(gameId, new Deck());
+        }
+        for (int i = 0; i < this.players; i++) {
+            this.gameService.addPlayer(gameId, new Player(playerId(gameId, i)));
+        }
+        this.gameService.shuffle(gameId);
+        this.gameService.dealRound(gameId, 1);
+    }
+
+    private int playerId(
+        final int gameId,
+        final int index) {
+
+        return gameId * this.players + index;
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.github.sfragata.gameapi.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.service.GameRegistry;
+
+/**
+ * Benchmark comparing the game lookup by id using the former list scan against the GameRegistry
+ * @author Silvio Fragata
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameRegistryBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    private int games;
+
+    private final List<Game> gameList = new ArrayList<>();
+
+    private final GameRegistry gameRegistry = new GameRegistry();
+
+    @Setup
+    public void setUp() {
+
+        for (int i = 0; i < this.games; i++) {
+            final Game game = new Game();
+            game.setGameId(i);
+            this.gameList.add(game);
+            this.gameRegistry.putIfAbsent(game);
+        }
+    }
+
+    @Benchmark
+    public Optional<Game> listLookup() {
+
+        final Integer gameId = randomGameId();
+        return this.gameList.stream().filter(game -> game.getGameId().equals(gameId)).findAny();
+    }
+
+    @Benchmark
+    public Optional<Game> registryLookup() {
+
+        return this.gameRegistry.findById(randomGameId());
+    }
+
+    private Integer randomGameId() {
+
+        return ThreadLocalRandom.current().nextInt(this.games);
+    }
+
+}
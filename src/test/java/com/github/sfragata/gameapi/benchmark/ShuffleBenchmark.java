@@ -0,0 +1,88 @@
+package com.github.sfragata.gameapi.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.sfragata.gameapi.domain.Card;
+import com.github.sfragata.gameapi.domain.Deck;
+import com.github.sfragata.gameapi.domain.Shoe;
+import com.github.sfragata.gameapi.helper.ListShuffleHelper;
+import com.github.sfragata.gameapi.helper.RandomSource;
+import com.github.sfragata.gameapi.helper.RandomStrategy;
+
+/**
+ * Benchmark comparing the shuffle through the List interface (the former synchronized list of the shoe and a plain
+ * ArrayList) against the shuffle of the array of card codes of the Shoe, for 1, 6 and 8 decks
+ * @author Silvio Fragata
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShuffleBenchmark {
+
+    @Param({ "1", "6", "8" })
+    private int decks;
+
+    private final ListShuffleHelper listShuffleHelper = new ListShuffleHelper();
+
+    private final RandomSource random = RandomStrategy.THREAD_LOCAL.newSource(null);
+
+    private List<Card> synchronizedList;
+
+    private List<Card> arrayList;
+
+    private Shoe shoe;
+
+    @Setup
+    public void setUp() {
+
+        this.arrayList = new ArrayList<>();
+        this.shoe = new Shoe();
+        for (int i = 0; i < this.decks; i++) {
+            final Deck deck = new Deck();
+            this.arrayList.addAll(deck.getCards());
+            this.shoe.addCards(deck);
+        }
+        this.synchronizedList = Collections.synchronizedList(new ArrayList<>(this.arrayList));
+    }
+
+    @Benchmark
+    public List<Card> synchronizedList() {
+
+        this.listShuffleHelper.shuffle(this.synchronizedList, this.random);
+        return this.synchronizedList;
+    }
+
+    @Benchmark
+    public List<Card> arrayList() {
+
+        this.listShuffleHelper.shuffle(this.arrayList, this.random);
+        return this.arrayList;
+    }
+
+    @Benchmark
+    public Shoe shoeArray() {
+
+        this.shoe.shuffle(this.listShuffleHelper, this.random);
+        return this.shoe;
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.github.sfragata.gameapi.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.sfragata.gameapi.domain.Card;
+import com.github.sfragata.gameapi.domain.Deck;
+import com.github.sfragata.gameapi.helper.ListShuffleHelper;
+import com.github.sfragata.gameapi.helper.RandomSource;
+import com.github.sfragata.gameapi.helper.RandomStrategy;
+
+/**
+ * Benchmark of the shuffle throughput of a 6 decks shoe for each source of random numbers and number of threads
+ * SHARED_RANDOM is the former implementation, a single java.util.Random shared by all threads
+ * @author Silvio Fragata
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShuffleRandomBenchmark {
+
+    private static final int DECKS = 6;
+
+    private static final Random SHARED_RANDOM = new Random();
+
+    private static final ListShuffleHelper LIST_SHUFFLE_HELPER = new ListShuffleHelper();
+
+    /**
+     * Each thread shuffles its own shoe, as it happens with different games
+     */
+    @State(Scope.Thread)
+    public static class ShoeState {
+
+        @Param({ "SHARED_RANDOM", "THREAD_LOCAL", "SPLITTABLE", "SECURE", "SEEDED" })
+        private String source;
+
+        private final List<Card> cards = new ArrayList<>();
+
+        private RandomSource seededSource;
+
+        @Setup
+        public void setUp() {
+
+            for (int i = 0; i < DECKS; i++) {
+                this.cards.addAll(new Deck().getCards());
+            }
+            this.seededSource = RandomStrategy.SEEDED.newSource(Thread.currentThread().getId());
+        }
+
+        RandomSource randomSource() {
+
+            switch (this.source) {
+            case "SHARED_RANDOM":
+                return SHARED_RANDOM::nextInt;
+            case "SEEDED":
+                // a seeded source is created per game and reused by its shuffles
+                return this.seededSource;
+            default:
+                return RandomStrategy.valueOf(this.source).newSource(null);
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<Card> shuffle1Thread(
+        final ShoeState state) {
+
+        return shuffle(state);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<Card> shuffle4Threads(
+        final ShoeState state) {
+
+        return shuffle(state);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public List<Card> shuffle16Threads(
+        final ShoeState state) {
+
+        return shuffle(state);
+    }
+
+    private static List<Card> shuffle(
+        final ShoeState state) {
+
+        LIST_SHUFFLE_HELPER.shuffle(state.cards, state.randomSource());
+        return state.cards;
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.github.sfragata.gameapi.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.github.sfragata.gameapi.config.CardCodesModule;
+import com.github.sfragata.gameapi.config.CardJsonModule;
+import com.github.sfragata.gameapi.domain.Card;
+import com.github.sfragata.gameapi.domain.CardCount;
+import com.github.sfragata.gameapi.domain.DealResult;
+import com.github.sfragata.gameapi.domain.Deck;
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.domain.Player;
+import com.github.sfragata.gameapi.domain.Shoe;
+
+/**
+ * Benchmark of the serialization of the responses of dealCards (the deal result and the whole game) and
+ * findRemaingCards in JSON (with the serializers of CardJsonModule) against CBOR with the cards as their codes (see
+ * CardCodesModule)
+ * The payload sizes are printed on the setup
+ * @author Silvio Fragata
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final int PLAYERS = 7;
+
+    private static final int CARDS_PER_PLAYER = 2;
+
+    @Param({ "1", "6", "8" })
+    private int decks;
+
+    @Param({ "json", "cbor" })
+    private String format;
+
+    private ObjectMapper objectMapper;
+
+    private Game game;
+
+    private DealResult dealResult;
+
+    private List<CardCount> remainingCards;
+
+    @Setup
+    public void setUp()
+        throws JsonProcessingException {
+
+        this.objectMapper = "cbor".equals(this.format)
+            ? new ObjectMapper(new CBORFactory()).registerModule(new CardCodesModule())
+            : new ObjectMapper().registerModule(new CardJsonModule());
+        this.game = new Game();
+        this.game.setGameId(1);
+        final Shoe shoe = new Shoe();
+        for (int i = 0; i < this.decks; i++) {
+            shoe.addCards(new Deck());
+        }
+        this.game.setShoe(shoe);
+        for (int i = 1; i <= PLAYERS; i++) {
+            final Player player = new Player(i);
+            for (int j = 0; j < CARDS_PER_PLAYER; j++) {
+                player.addCard(shoe.deal());
+            }
+            this.game.addPlayer(player);
+        }
+        final Player player = this.game.findPlayer(1);
+        this.dealResult = new DealResult(this.game.getGameId(), player.getPlayerId(), player.getCards().get(0),
+            player.getTotalValue(), shoe.size(), this.game.getVersion());
+        // the same list of GameServiceImpl.findRemaingCards
+        this.remainingCards = new ArrayList<>();
+        for (int rank = 0; rank < Card.CARD_KINDS; rank++) {
+            final Card card = Card.valueOfRank(rank);
+            final int count = shoe.countOf(card);
+            if (count > 0) {
+                final CardCount cardCount = new CardCount();
+                cardCount.setCard(card);
+                cardCount.getCount().set(count);
+                this.remainingCards.add(cardCount);
+            }
+        }
+
+        System.out.printf("%nPayload size in %s with %d decks: deal result %d bytes, game %d bytes, remaining cards %d "
+            + "bytes%n", this.format, this.decks, dealResult().length, fullGame().length, remainingCards().length);
+    }
+
+    @Benchmark
+    public byte[] dealResult()
+        throws JsonProcessingException {
+
+        return this.objectMapper.writeValueAsBytes(this.dealResult);
+    }
+
+    @Benchmark
+    public byte[] fullGame()
+        throws JsonProcessingException {
+
+        return this.objectMapper.writeValueAsBytes(this.game);
+    }
+
+    @Benchmark
+    public byte[] remainingCards()
+        throws JsonProcessingException {
+
+        return this.objectMapper.writeValueAsBytes(this.remainingCards);
+    }
+
+}
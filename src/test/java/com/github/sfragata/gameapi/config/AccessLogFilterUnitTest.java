@@ -0,0 +1,100 @@
+package com.github.sfragata.gameapi.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+/**
+ * Unit test for AccessLogFilter class
+ * @author Silvio Fragata
+ *
+ */
+public class AccessLogFilterUnitTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(AccessLog.LOGGER_NAME);
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    public AccessLogFilterUnitTest() {
+
+        super();
+    }
+
+    @BeforeEach
+    void setUp() {
+
+        this.appender.start();
+        this.logger.addAppender(this.appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        this.logger.detachAppender(this.appender);
+    }
+
+    @Test
+    void givenAllRequestsSampledWhenFilterThenRequestIsLoggedWithFields()
+        throws Exception {
+
+        // Given
+        final AccessLogFilter filter = new AccessLogFilter(1);
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/gameapi/2/player/1/deal");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("gameId", "2", "playerId", "1"));
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(404);
+
+        // When
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // Then
+        assertEquals(1, this.appender.list.size());
+        final String message = this.appender.list.get(0).getFormattedMessage();
+        assertTrue(message.startsWith("method=POST path=/gameapi/2/player/1/deal status=404 latencyMicros="));
+        assertTrue(message.endsWith(" gameId=2 playerId=1"));
+    }
+
+    @Test
+    void givenNoRequestSampledWhenFilterThenOnlyServerErrorsAreLogged()
+        throws Exception {
+
+        // Given
+        final AccessLogFilter filter = new AccessLogFilter(0);
+        final MockHttpServletResponse failed = new MockHttpServletResponse();
+        failed.setStatus(503);
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/gameapi/2/deck"), new MockHttpServletResponse(),
+            new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("GET", "/gameapi/2/deck"), failed, new MockFilterChain());
+
+        // Then
+        assertEquals(1, this.appender.list.size());
+        assertTrue(this.appender.list.get(0).getFormattedMessage().contains(" status=503 "));
+        assertTrue(this.appender.list.get(0).getFormattedMessage().endsWith(" gameId=- playerId=-"));
+    }
+
+    @Test
+    void givenInvalidSampleRateWhenCreateThenIllegalArgumentExceptionIsThrown() {
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> new AccessLogFilter(1.5));
+        assertThrows(IllegalArgumentException.class, () -> new AccessLogFilter(Double.NaN));
+    }
+
+}
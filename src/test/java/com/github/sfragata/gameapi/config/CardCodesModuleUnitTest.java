@@ -0,0 +1,80 @@
+package com.github.sfragata.gameapi.config;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.github.sfragata.gameapi.domain.Card;
+import com.github.sfragata.gameapi.domain.DealResult;
+import com.github.sfragata.gameapi.domain.Deck;
+import com.github.sfragata.gameapi.domain.FaceValue;
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.domain.Player;
+import com.github.sfragata.gameapi.domain.Shoe;
+import com.github.sfragata.gameapi.domain.Suit;
+
+/**
+ * Unit test for CardCodesModule class
+ * @author Silvio Fragata
+ *
+ */
+public class CardCodesModuleUnitTest {
+
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory()).registerModule(new CardCodesModule());
+
+    private final ObjectMapper reader = new ObjectMapper(new CBORFactory());
+
+    public CardCodesModuleUnitTest() {
+
+        super();
+    }
+
+    @Test
+    void givenDealResultWhenSerializeThenCardIsItsCode()
+        throws Exception {
+
+        // Given
+        final Card card = Card.valueOf(Suit.DIAMONDS, FaceValue.QUEEN);
+        final DealResult dealResult = new DealResult(1, 2, card, 12, 51, 3);
+
+        // When
+        final JsonNode node = this.reader.readTree(this.cborMapper.writeValueAsBytes(dealResult));
+
+        // Then
+        assertTrue(node.get("card").isInt());
+        assertEquals(card.code(), node.get("card").intValue());
+        assertEquals(51, node.get("remainingCards").intValue());
+    }
+
+    @Test
+    void givenGameWhenSerializeThenHandsAndShoeAreByteStrings()
+        throws Exception {
+
+        // Given
+        final Game game = new Game();
+        game.setGameId(1);
+        final Shoe shoe = new Shoe();
+        shoe.addCards(new Deck());
+        game.setShoe(shoe);
+        final Player player = new Player(1);
+        player.addCard(shoe.deal());
+        player.addCard(shoe.deal());
+        game.addPlayer(player);
+
+        // When
+        final byte[] cbor = this.cborMapper.writeValueAsBytes(game);
+        final JsonNode node = this.reader.readTree(cbor);
+
+        // Then
+        final byte[] hand = node.get("players").get(0).get("cards").binaryValue();
+        assertArrayEquals(new byte[] { player.getCards().get(0).code(), player.getCards().get(1).code() }, hand);
+        assertEquals(50, node.get("shoe").get("cards").binaryValue().length);
+        assertTrue(cbor.length < new ObjectMapper().writeValueAsBytes(game).length / 10);
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.github.sfragata.gameapi.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.sfragata.gameapi.domain.Card;
+import com.github.sfragata.gameapi.domain.CardCount;
+import com.github.sfragata.gameapi.domain.DealResult;
+import com.github.sfragata.gameapi.domain.Deck;
+import com.github.sfragata.gameapi.domain.FaceValue;
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.domain.Player;
+import com.github.sfragata.gameapi.domain.Shoe;
+import com.github.sfragata.gameapi.domain.Suit;
+
+/**
+ * Unit test for CardJsonModule class
+ * @author Silvio Fragata
+ *
+ */
+public class CardJsonModuleUnitTest {
+
+    private final ObjectMapper defaultMapper = new ObjectMapper();
+
+    private final ObjectMapper moduleMapper = new ObjectMapper().registerModule(new CardJsonModule());
+
+    public CardJsonModuleUnitTest() {
+
+        super();
+    }
+
+    @Test
+    void givenGameWhenSerializeThenJsonIsTheSameOfTheBeanSerializers()
+        throws Exception {
+
+        // Given
+        final Game game = new Game();
+        game.setGameId(1);
+        final Shoe shoe = new Shoe();
+        for (int i = 0; i < 6; i++) {
+            shoe.addCards(new Deck());
+        }
+        game.setShoe(shoe);
+        for (int i = 1; i <= 3; i++) {
+            final Player player = new Player(i);
+            for (int j = 0; j < i; j++) {
+                player.addCard(shoe.deal());
+            }
+            game.addPlayer(player);
+        }
+        game.addPlayer(new Player(4));
+
+        // When
+        final String json = this.moduleMapper.writeValueAsString(game);
+
+        // Then
+        assertEquals(this.defaultMapper.writeValueAsString(game), json);
+    }
+
+    @Test
+    void givenCardsInOtherObjectsWhenSerializeThenJsonIsTheSameOfTheBeanSerializers()
+        throws Exception {
+
+        // Given
+        final Card card = Card.valueOf(Suit.CLUBS, FaceValue.TEN);
+        final CardCount cardCount = new CardCount();
+        cardCount.setCard(card);
+        cardCount.getCount().set(3);
+        final List<Object> values = List.of(new DealResult(1, 2, card, 10, 40, 5), List.of(cardCount), card);
+
+        // When
+        final String json = this.moduleMapper.writeValueAsString(values);
+
+        // Then
+        assertEquals(this.defaultMapper.writeValueAsString(values), json);
+    }
+
+    @Test
+    void givenIndentedOutputWhenSerializeThenJsonHasTheSameTree()
+        throws Exception {
+
+        // Given
+        final Player player = new Player(1);
+        player.addCard(Card.valueOf(Suit.HEARTS, FaceValue.ACE));
+        player.addCard(Card.valueOf(Suit.SPADES, FaceValue.KING));
+        this.moduleMapper.enable(SerializationFeature.INDENT_OUTPUT);
+
+        // When
+        final String json = this.moduleMapper.writeValueAsString(player);
+
+        // Then
+        assertEquals(this.defaultMapper.valueToTree(player), this.defaultMapper.readTree(json));
+    }
+
+}
@@ -3,6 +3,7 @@
  */
 package com.github.sfragata.gameapi.controller;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
@@ -12,6 +13,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -20,27 +22,36 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.github.sfragata.gameapi.domain.BatchDeal;
 import com.github.sfragata.gameapi.domain.Card;
 import com.github.sfragata.gameapi.domain.CardCount;
+import com.github.sfragata.gameapi.domain.DealResult;
 import com.github.sfragata.gameapi.domain.Deck;
 import com.github.sfragata.gameapi.domain.FaceValue;
 import com.github.sfragata.gameapi.domain.Game;
 import com.github.sfragata.gameapi.domain.Player;
+import com.github.sfragata.gameapi.domain.PlayerDeal;
 import com.github.sfragata.gameapi.domain.Suit;
 import com.github.sfragata.gameapi.exception.GameAlreadyExistsException;
+import com.github.sfragata.gameapi.exception.GameBusyException;
 import com.github.sfragata.gameapi.exception.GameNotFoundException;
 import com.github.sfragata.gameapi.exception.PlayerNotFoundException;
 import com.github.sfragata.gameapi.service.GameService;
-import com.github.sfragata.gameapi.service.PlayerService;
 
 /**
  * Unit test for GameController class
@@ -65,14 +76,21 @@ public class GameControllerUnitTest {
     @MockBean
     private GameService gameService;
 
-    @MockBean
-    private PlayerService playerService;
+    private final Game game = new Game();
 
     public GameControllerUnitTest() {
 
         super();
     }
 
+    @BeforeEach
+    public void setUp()
+        throws Exception {
+
+        this.game.setGameId(1);
+        when(this.gameService.getGame(anyInt())).thenReturn(this.game);
+    }
+
     @Test
     public void createGameReturnsSuccessful()
         throws Exception {
@@ -179,11 +197,68 @@ public class GameControllerUnitTest {
         throws Exception {
 
         final MockHttpServletRequestBuilder accept = MockMvcRequestBuilders.post(BASE_PATH + "/1/player/1/deal");
+        when(this.gameService.dealCard(anyInt(), anyInt()))
+            .thenReturn(new DealResult(1, 1, new Card(Suit.SPADES, FaceValue.ACE), 1, 51, 3));
+
+        this.mvc.perform(accept).andExpect(status().is2xxSuccessful()).andExpect(jsonPath("$.gameId").value(1))
+            .andExpect(jsonPath("$.playerId").value(1)).andExpect(jsonPath("$.card.faceValue").value("ACE"))
+            .andExpect(jsonPath("$.totalValue").value(1)).andExpect(jsonPath("$.remainingCards").value(51))
+            .andExpect(jsonPath("$.version").value(3)).andExpect(jsonPath("$.shoe").doesNotExist());
+        verify(this.gameService, never()).dealCards(anyInt(), anyInt());
+    }
+
+    @Test
+    public void dealCardsReturnsCbor()
+        throws Exception {
+
+        final MockHttpServletRequestBuilder accept = MockMvcRequestBuilders.post(BASE_PATH + "/1/player/1/deal")
+            .accept(MediaType.APPLICATION_CBOR);
+        final Card card = Card.valueOf(Suit.SPADES, FaceValue.ACE);
+        when(this.gameService.dealCard(anyInt(), anyInt())).thenReturn(new DealResult(1, 1, card, 1, 51, 3));
+
+        final byte[] body = this.mvc.perform(accept).andExpect(status().is2xxSuccessful())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR)).andReturn().getResponse()
+            .getContentAsByteArray();
+        final JsonNode node = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertEquals(card.code(), node.get("card").intValue());
+        assertEquals(51, node.get("remainingCards").intValue());
+    }
+
+    @Test
+    public void dealCardsFullReturnsSuccessful()
+        throws Exception {
+
+        final MockHttpServletRequestBuilder accept =
+            MockMvcRequestBuilders.post(BASE_PATH + "/1/player/1/deal?full=true");
+        final Game game = new Game();
+        game.setGameId(1);
+        when(this.gameService.dealCards(anyInt(), anyInt())).thenReturn(game);
+
+        this.mvc.perform(accept).andExpect(status().is2xxSuccessful()).andExpect(jsonPath("$.gameId").value(1))
+            .andExpect(jsonPath("$.players").isArray());
+    }
+
+    @Test
+    public void dealCardsFullReturnsCbor()
+        throws Exception {
+
         final Game game = new Game();
         game.setGameId(1);
+        final Player player = new Player(1);
+        final Card card = Card.valueOf(Suit.HEARTS, FaceValue.QUEEN);
+        player.addCard(card);
+        game.addPlayer(player);
         when(this.gameService.dealCards(anyInt(), anyInt())).thenReturn(game);
 
-        this.mvc.perform(accept).andExpect(status().is2xxSuccessful()).andExpect(jsonPath("$.gameId").value(1));
+        this.mvc.perform(MockMvcRequestBuilders.post(BASE_PATH + "/1/player/1/deal?full=true"))
+            .andExpect(jsonPath("$.players[0].cards[0].suit").value("HEARTS"))
+            .andExpect(jsonPath("$.players[0].cards[0].faceValue").value("QUEEN"));
+        final byte[] body = this.mvc
+            .perform(MockMvcRequestBuilders.post(BASE_PATH + "/1/player/1/deal?full=true")
+                .accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().is2xxSuccessful()).andReturn().getResponse().getContentAsByteArray();
+        final JsonNode node = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertEquals(card.code(), node.get("players").get(0).get("cards").binaryValue()[0]);
     }
 
     @Test
@@ -191,7 +266,7 @@ public class GameControllerUnitTest {
         throws Exception {
 
         final MockHttpServletRequestBuilder accept = MockMvcRequestBuilders.post(BASE_PATH + "/1/player/1/deal");
-        when(this.gameService.dealCards(anyInt(), anyInt())).thenThrow(new GameNotFoundException(1));
+        when(this.gameService.dealCard(anyInt(), anyInt())).thenThrow(new GameNotFoundException(1));
 
         this.mvc.perform(accept).andExpect(status().is4xxClientError()).andExpect(content().string(GAME_1_NOT_FOUND));
     }
@@ -201,20 +276,76 @@ public class GameControllerUnitTest {
         throws Exception {
 
         final MockHttpServletRequestBuilder accept = MockMvcRequestBuilders.post(BASE_PATH + "/1/player/1/deal");
+        when(this.gameService.dealCard(anyInt(), anyInt())).thenThrow(new PlayerNotFoundException(1));
+        this.mvc.perform(accept).andExpect(status().is4xxClientError()).andExpect(content().string(PLAYER_1_NOT_FOUND));
+    }
+
+    @Test
+    public void dealCardsFullReturnPlayerNotFound()
+        throws Exception {
+
+        final MockHttpServletRequestBuilder accept =
+            MockMvcRequestBuilders.post(BASE_PATH + "/1/player/1/deal?full=true");
         when(this.gameService.dealCards(anyInt(), anyInt())).thenThrow(new PlayerNotFoundException(1));
         this.mvc.perform(accept).andExpect(status().is4xxClientError()).andExpect(content().string(PLAYER_1_NOT_FOUND));
     }
 
+    @Test
+    public void dealCardsBatchWithoutBodyReturnsSuccessful()
+        throws Exception {
+
+        final MockHttpServletRequestBuilder accept = MockMvcRequestBuilders.post(BASE_PATH + "/1/deal?cards=2");
+        final PlayerDeal playerDeal = new PlayerDeal(1);
+        playerDeal.getCards().add(new Card(Suit.SPADES, FaceValue.ACE));
+        playerDeal.setTotalValue(1);
+        when(this.gameService.dealRound(1, 2)).thenReturn(new BatchDeal(1, List.of(playerDeal), 51, 1));
+
+        this.mvc.perform(accept).andExpect(status().is2xxSuccessful()).andExpect(jsonPath("$.gameId").value(1))
+            .andExpect(jsonPath("$.remainingCards").value(51)).andExpect(jsonPath("$.deals[0].playerId").value(1))
+            .andExpect(jsonPath("$.deals[0].cards[0].faceValue").value("ACE"))
+            .andExpect(jsonPath("$.deals[0].totalValue").value(1));
+    }
+
+    @Test
+    public void dealCardsBatchWithBodyReturnsSuccessful()
+        throws Exception {
+
+        final MockHttpServletRequestBuilder accept = MockMvcRequestBuilders.post(BASE_PATH + "/1/deal")
+            .contentType(MediaType.APPLICATION_JSON).content("[{\"playerId\":1,\"count\":2}]");
+        when(this.gameService.dealCards(anyInt(), anyList())).thenReturn(new BatchDeal(1, List.of(), 50, 1));
+
+        this.mvc.perform(accept).andExpect(status().is2xxSuccessful()).andExpect(jsonPath("$.remainingCards").value(50));
+        verify(this.gameService, never()).dealRound(anyInt(), anyInt());
+    }
+
+    @Test
+    public void dealCardsBatchReturnPlayerNotFound()
+        throws Exception {
+
+        final MockHttpServletRequestBuilder accept = MockMvcRequestBuilders.post(BASE_PATH + "/1/deal")
+            .contentType(MediaType.APPLICATION_JSON).content("[{\"playerId\":1,\"count\":2}]");
+        when(this.gameService.dealCards(anyInt(), anyList())).thenThrow(new PlayerNotFoundException(1));
+
+        this.mvc.perform(accept).andExpect(status().is4xxClientError()).andExpect(content().string(PLAYER_1_NOT_FOUND));
+    }
+
+    @Test
+    public void dealCardsBatchReturnBadRequest()
+        throws Exception {
+
+        final MockHttpServletRequestBuilder accept = MockMvcRequestBuilders.post(BASE_PATH + "/1/deal?cards=0");
+        when(this.gameService.dealRound(anyInt(), anyInt())).thenThrow(new IllegalArgumentException());
+
+        this.mvc.perform(accept).andExpect(status().isBadRequest());
+    }
+
     @Test
     public void getPlayerReturnsSuccessful()
         throws Exception {
 
         final MockHttpServletRequestBuilder accept = MockMvcRequestBuilders.get(BASE_PATH + "/1/player/1");
-        final Game game = new Game();
-        game.setGameId(1);
         final Player player = new Player(1);
-        when(this.gameService.getGame(anyInt())).thenReturn(game);
-        when(this.playerService.getPlayer(anyInt(), anyList())).thenReturn(player);
+        when(this.gameService.getPlayer(anyInt(), anyInt())).thenReturn(player);
 
         this.mvc.perform(accept).andExpect(status().is2xxSuccessful()).andExpect(jsonPath("$.playerId").value(1));
     }
@@ -227,7 +358,7 @@ public class GameControllerUnitTest {
         when(this.gameService.getGame(anyInt())).thenThrow(new GameNotFoundException(1));
 
         this.mvc.perform(accept).andExpect(status().is4xxClientError()).andExpect(content().string(GAME_1_NOT_FOUND));
-        verify(this.playerService, never()).getPlayer(anyInt(), anyList());
+        verify(this.gameService, never()).getPlayer(anyInt(), anyInt());
     }
 
     @Test
@@ -235,10 +366,7 @@ public class GameControllerUnitTest {
         throws Exception {
 
         final MockHttpServletRequestBuilder accept = MockMvcRequestBuilders.get(BASE_PATH + "/1/player/1");
-        final Game game = new Game();
-        game.setGameId(1);
-        when(this.gameService.getGame(anyInt())).thenReturn(game);
-        when(this.playerService.getPlayer(anyInt(), anyList())).thenThrow(new PlayerNotFoundException(1));
+        when(this.gameService.getPlayer(anyInt(), anyInt())).thenThrow(new PlayerNotFoundException(1));
 
         this.mvc.perform(accept).andExpect(status().is4xxClientError()).andExpect(content().string(PLAYER_1_NOT_FOUND));
     }
@@ -256,6 +384,39 @@ public class GameControllerUnitTest {
         this.mvc.perform(accept).andExpect(status().is2xxSuccessful()).andExpect(jsonPath("$..playerId").value(1));
     }
 
+    @Test
+    public void listTopPlayersReturnsSuccessful()
+        throws Exception {
+
+        final MockHttpServletRequestBuilder accept = MockMvcRequestBuilders.get(BASE_PATH + "/1/players?top=1");
+        when(this.gameService.listPlayers(1, 0, 1)).thenReturn(List.of(new Player(2)));
+
+        this.mvc.perform(accept).andExpect(status().is2xxSuccessful()).andExpect(jsonPath("$[0].playerId").value(2));
+        verify(this.gameService, never()).listPlayers(anyInt());
+    }
+
+    @Test
+    public void listPagePlayersReturnsSuccessful()
+        throws Exception {
+
+        final MockHttpServletRequestBuilder accept = MockMvcRequestBuilders
+            .get(BASE_PATH + "/1/players?page=2&size=10");
+        when(this.gameService.listPlayers(1, 20, 10)).thenReturn(List.of(new Player(21)));
+
+        this.mvc.perform(accept).andExpect(status().is2xxSuccessful()).andExpect(jsonPath("$[0].playerId").value(21));
+    }
+
+    @Test
+    public void listPagePlayersReturnBadRequest()
+        throws Exception {
+
+        final MockHttpServletRequestBuilder accept = MockMvcRequestBuilders.get(BASE_PATH + "/1/players?size=0");
+
+        this.mvc.perform(accept).andExpect(status().isBadRequest())
+            .andExpect(content().string("Invalid page 0 of size 0"));
+        verify(this.gameService, never()).listPlayers(anyInt(), anyInt(), anyInt());
+    }
+
     @Test
     public void listPlayersReturnGameNotFound()
         throws Exception {
@@ -266,6 +427,20 @@ public class GameControllerUnitTest {
         this.mvc.perform(accept).andExpect(status().is4xxClientError()).andExpect(content().string(GAME_1_NOT_FOUND));
     }
 
+    @Test
+    public void listPlayersReturnsNotModified()
+        throws Exception {
+
+        this.game.restoreVersion(3);
+        final String eTag = "\"" + this.game.getCreatedAt() + "-3\"";
+
+        this.mvc.perform(MockMvcRequestBuilders.get(BASE_PATH + "/1/players")).andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        this.mvc.perform(MockMvcRequestBuilders.get(BASE_PATH + "/1/players").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified()).andExpect(content().string(""));
+        verify(this.gameService).listPlayers(anyInt());
+    }
+
     @Test
     public void listCardBySuitReturnsSuccessful()
         throws Exception {
@@ -317,6 +492,36 @@ public class GameControllerUnitTest {
         this.mvc.perform(accept).andExpect(status().is4xxClientError()).andExpect(content().string(GAME_1_NOT_FOUND));
     }
 
+    @Test
+    public void listChangesReturnsSuccessful()
+        throws Exception {
+
+        final MockHttpServletRequestBuilder accept = MockMvcRequestBuilders.get(BASE_PATH + "/1/changes?since=0");
+
+        this.mvc.perform(accept).andExpect(status().is2xxSuccessful()).andExpect(jsonPath("$.version").value(0))
+            .andExpect(jsonPath("$.resync").value(false)).andExpect(jsonPath("$.changes").isEmpty())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + this.game.getCreatedAt() + "-0\""));
+    }
+
+    @Test
+    public void listChangesReturnBadRequest()
+        throws Exception {
+
+        final MockHttpServletRequestBuilder accept = MockMvcRequestBuilders.get(BASE_PATH + "/1/changes?since=-1");
+
+        this.mvc.perform(accept).andExpect(status().isBadRequest()).andExpect(content().string("Invalid version -1"));
+    }
+
+    @Test
+    public void listChangesReturnGameNotFound()
+        throws Exception {
+
+        final MockHttpServletRequestBuilder accept = MockMvcRequestBuilders.get(BASE_PATH + "/1/changes?since=0");
+        when(this.gameService.getGame(anyInt())).thenThrow(new GameNotFoundException(1));
+
+        this.mvc.perform(accept).andExpect(status().isNotFound()).andExpect(content().string(GAME_1_NOT_FOUND));
+    }
+
     @Test
     public void shuffleCardsReturnsSuccessful()
         throws Exception {
@@ -338,4 +543,15 @@ public class GameControllerUnitTest {
         this.mvc.perform(accept).andExpect(status().is4xxClientError()).andExpect(content().string(GAME_1_NOT_FOUND));
     }
 
+    @Test
+    public void shuffleCardsReturnGameBusy()
+        throws Exception {
+
+        final MockHttpServletRequestBuilder accept = MockMvcRequestBuilders.post(BASE_PATH + "/1/shuffle");
+
+        doThrow(new GameBusyException(1)).when(this.gameService).shuffle(anyInt());
+        this.mvc.perform(accept).andExpect(status().isTooManyRequests()).andExpect(header().string("Retry-After", "1"))
+            .andExpect(content().string("Game 1 is busy, try again later"));
+    }
+
 }
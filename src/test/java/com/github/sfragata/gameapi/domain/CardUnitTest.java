@@ -4,8 +4,16 @@
 package com.github.sfragata.gameapi.domain;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 
 import com.github.sfragata.gameapi.domain.Card;
@@ -138,4 +146,68 @@ public class CardUnitTest {
 
     }
 
+    @Test
+    public void givenAllCardsWhenEncodeThenCodeIsDecodedToTheSameCard() {
+
+        for (final Suit suit : Suit.values()) {
+            for (final FaceValue faceValue : FaceValue.values()) {
+                final Card card = new Card(suit, faceValue);
+                final Card decoded = Card.valueOf(card.code());
+                assertEquals(card, decoded);
+                assertSame(Card.valueOf(suit, faceValue), decoded);
+            }
+        }
+        assertEquals(51, Card.valueOf(Suit.DIAMONDS, FaceValue.KING).code());
+
+    }
+
+    @Test
+    public void givenAllCardsWhenRankThenOrderIsBySuitAndFaceValueReversed() {
+
+        final Comparator<Card> bySuitAndFaceValueReversed = Comparator.comparing(Card::getSuit)
+            .thenComparing(card -> card.getFaceValue().getValue(), Comparator.reverseOrder());
+        final List<Card> cards = new ArrayList<>(new Deck().getCards());
+        cards.sort(bySuitAndFaceValueReversed);
+
+        for (int rank = 0; rank < Card.CARD_KINDS; rank++) {
+            final Card card = cards.get(rank);
+            assertEquals(rank, card.rank());
+            assertSame(card, Card.valueOfRank(rank));
+        }
+        assertSame(Card.valueOf(Suit.HEARTS, FaceValue.KING), Card.valueOfRank(0));
+        assertSame(Card.valueOf(Suit.DIAMONDS, FaceValue.ACE), Card.valueOfRank(51));
+
+        for (final Card card1 : cards) {
+            for (final Card card2 : cards) {
+                final int expected = Integer.signum(bySuitAndFaceValueReversed.compare(card1, card2));
+                assertEquals(expected, Integer.signum(card1.compareTo(card2)));
+                assertEquals(expected, Integer.signum(Card.RANK_ORDER.compare(card1, card2)));
+            }
+        }
+
+    }
+
+    @Test
+    public void givenShuffledCardsWhenSortThenCardsAreSortedByRank() {
+
+        final List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            cards.addAll(new Deck().getCards());
+        }
+        cards.add(new Card(Suit.SPADES, FaceValue.TEN));
+        Collections.shuffle(cards, new Random(1));
+        final List<Card> expected = new ArrayList<>(cards);
+        Collections.sort(expected);
+        final List<Card> linkedCards = new LinkedList<>(cards);
+
+        Card.sort(cards);
+        Card.sort(linkedCards);
+
+        assertEquals(expected, cards);
+        assertEquals(expected, linkedCards);
+        final Card tenSpades = Card.valueOf(Suit.SPADES, FaceValue.TEN);
+        assertSame(tenSpades, cards.get(3 * tenSpades.rank() + 3));
+
+    }
+
 }
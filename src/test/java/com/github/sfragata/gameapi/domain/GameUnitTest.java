@@ -0,0 +1,124 @@
+package com.github.sfragata.gameapi.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for Game class
+ * @author Silvio Fragata
+ *
+ */
+public class GameUnitTest {
+
+    public GameUnitTest() {
+
+        super();
+    }
+
+    @Test
+    public void givenPlayersWhenAddPlayerThenPlayersAreFoundAndListedInOrder() {
+
+        final Game game = new Game();
+        final Player player1 = new Player(1);
+        final Player player2 = new Player(2);
+
+        game.addPlayer(player2);
+        game.addPlayer(player1);
+
+        assertSame(player1, game.findPlayer(1));
+        assertSame(player2, game.findPlayer(2));
+        assertEquals(List.of(2, 1), playerIds(game.getPlayers()));
+
+        assertSame(player2, game.removePlayer(2));
+        assertNull(game.findPlayer(2));
+        assertNull(game.removePlayer(2));
+        assertEquals(List.of(1), playerIds(game.getPlayers()));
+
+    }
+
+    @Test
+    public void givenCardsDealtWhenRankPlayersThenPlayersAreOrderedByTotalValue() {
+
+        final Game game = new Game();
+        final Player player1 = new Player(1);
+        final Player player2 = new Player(2);
+        final Player player3 = new Player(3);
+        game.addPlayer(player1);
+        game.addPlayer(player2);
+        game.addPlayer(player3);
+
+        assertEquals(List.of(1, 2, 3), playerIds(game.rankPlayers(0, Integer.MAX_VALUE)));
+
+        player2.addCard(Card.valueOf(Suit.HEARTS, FaceValue.KING));
+        player3.addCard(Card.valueOf(Suit.SPADES, FaceValue.TEN));
+        assertEquals(List.of(2, 3, 1), playerIds(game.rankPlayers(0, Integer.MAX_VALUE)));
+
+        player3.addCard(Card.valueOf(Suit.CLUBS, FaceValue.THREE));
+        player1.addCard(Card.valueOf(Suit.CLUBS, FaceValue.KING));
+        assertEquals(List.of(1, 2, 3), playerIds(game.rankPlayers(0, Integer.MAX_VALUE)));
+
+        assertEquals(List.of(1, 2), playerIds(game.rankPlayers(0, 2)));
+        assertEquals(List.of(3), playerIds(game.rankPlayers(2, 2)));
+        assertTrue(game.rankPlayers(3, 2).isEmpty());
+
+    }
+
+    @Test
+    public void givenRemovedPlayerWhenAddCardThenRankingIsNotChanged() {
+
+        final Game game = new Game();
+        final Player player1 = new Player(1);
+        final Player player2 = new Player(2);
+        game.addPlayer(player1);
+        game.addPlayer(player2);
+
+        game.removePlayer(1);
+        player1.addCard(Card.valueOf(Suit.HEARTS, FaceValue.KING));
+
+        assertEquals(List.of(2), playerIds(game.rankPlayers(0, Integer.MAX_VALUE)));
+
+    }
+
+    @Test
+    public void givenGameWhenCopyThenChangesOfTheGameArentSeenByTheCopy() {
+
+        final Game game = new Game();
+        game.setGameId(1);
+        final Shoe shoe = new Shoe();
+        shoe.addCards(new Deck());
+        game.setShoe(shoe);
+        final Player player = new Player(1);
+        game.addPlayer(player);
+        player.addCard(shoe.deal());
+        game.incrementVersion();
+
+        final Game copy = game.copy();
+        player.addCard(shoe.deal());
+        game.addPlayer(new Player(2));
+        game.incrementVersion();
+
+        assertEquals(1, copy.getGameId());
+        assertEquals(1, copy.getVersion());
+        assertEquals(List.of(1), playerIds(copy.getPlayers()));
+        assertEquals(List.of(new Deck().getCards().get(0)), copy.findPlayer(1).getCards());
+        assertEquals(51, copy.getShoe().size());
+        assertEquals(new Deck().getCards().subList(1, 52), copy.getShoe().getCards());
+        assertEquals(12, copy.getShoe().countBySuit(new Deck().getCards().get(0).getSuit()));
+
+    }
+
+    private static List<Integer> playerIds(
+        final Collection<Player> players) {
+
+        return players.stream().map(Player::getPlayerId).collect(Collectors.toList());
+    }
+
+}
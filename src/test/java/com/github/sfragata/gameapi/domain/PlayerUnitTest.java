@@ -55,4 +55,17 @@ public class PlayerUnitTest {
 
     }
 
+    @Test
+    public void givenManyCardsWhenAddCardThenAllCardsAreKept() {
+
+        final Player player = new Player(1);
+        final Deck deck = new Deck();
+
+        deck.getCards().forEach(player::addCard);
+
+        assertEquals(deck.getCards(), player.getCards());
+        assertEquals(4 * (13 * 14 / 2), player.getTotalValue());
+
+    }
+
 }
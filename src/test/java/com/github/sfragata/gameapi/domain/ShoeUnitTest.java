@@ -1,10 +1,18 @@
 package com.github.sfragata.gameapi.domain;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import com.github.sfragata.gameapi.helper.ListShuffleHelper;
+
 /**
  * Unit test for Shoe class
  * @author Silvio Fragata
@@ -47,4 +55,107 @@ public class ShoeUnitTest {
         assertEquals(DECK_COUNT * 2, shoe.getCards().size());
 
     }
+
+    @Test
+    public void givenDeckWhenDealThenCardsAreDealtInOrder() {
+
+        final Deck deck = new Deck();
+        final Shoe shoe = new Shoe();
+        shoe.addCards(deck);
+
+        assertEquals(deck.getCards().get(0), shoe.deal());
+        assertEquals(deck.getCards().get(1), shoe.deal());
+        assertEquals(DECK_COUNT - 2, shoe.size());
+        assertEquals(deck.getCards().subList(2, DECK_COUNT), shoe.getCards());
+
+    }
+
+    @Test
+    public void givenEmptyShoeWhenDealThenNullIsReturned() {
+
+        final Shoe shoe = new Shoe();
+
+        assertNull(shoe.deal());
+        assertEquals(0, shoe.size());
+
+    }
+
+    @Test
+    public void givenDealtCardsWhenShuffleThenOnlyUndealtCardsArePermuted() {
+
+        final Deck deck = new Deck();
+        final Shoe shoe = new Shoe();
+        shoe.addCards(deck);
+        final Card dealt = shoe.deal();
+
+        // always swaps with the last card
+        shoe.shuffle(new ListShuffleHelper(), bound -> bound - 1);
+
+        final List<Card> cards = shoe.getCards();
+        assertEquals(DECK_COUNT - 1, cards.size());
+        assertEquals(deck.getCards().get(DECK_COUNT - 1), cards.get(0));
+        assertFalse(cards.contains(dealt));
+        assertTrue(cards.containsAll(deck.getCards().subList(1, DECK_COUNT)));
+
+    }
+
+    @Test
+    public void givenDealtCardsWhenAddCardsThenUndealtCardsAreKept() {
+
+        final Shoe shoe = new Shoe();
+        shoe.addCards(new Deck());
+        shoe.deal();
+
+        shoe.addCards(new Deck());
+
+        assertEquals(DECK_COUNT * 2 - 1, shoe.size());
+
+    }
+
+    @Test
+    public void givenShoeWhenChangeCardsThenUnsupportedOperationExceptionIsThrown() {
+
+        final Shoe shoe = new Shoe();
+        shoe.addCards(new Deck());
+
+        assertThrows(UnsupportedOperationException.class, () -> shoe.getCards().remove(0));
+
+    }
+
+    @Test
+    public void given2DecksWhenDealThenCountersAreUpdated() {
+
+        final Shoe shoe = new Shoe();
+        shoe.addCards(new Deck());
+        shoe.addCards(new Deck());
+
+        final Card card = shoe.deal();
+
+        assertEquals(1, shoe.countOf(card));
+        assertEquals(25, shoe.countBySuit(card.getSuit()));
+        shoe.shuffle(new ListShuffleHelper(), null);
+        assertEquals(1, shoe.countOf(card));
+        assertEquals(25, shoe.countBySuit(card.getSuit()));
+
+    }
+
+    @Test
+    public void givenUndealtCardsWhenRestoreThenShoeHasTheSameCards() {
+
+        final Shoe shoe = new Shoe();
+        shoe.addCards(new Deck());
+        shoe.deal();
+        shoe.deal();
+
+        final Shoe restored = new Shoe();
+        restored.restore(shoe.undealtCodes());
+
+        assertEquals(shoe.getCards(), restored.getCards());
+        for (final Suit suit : Suit.values()) {
+            assertEquals(shoe.countBySuit(suit), restored.countBySuit(suit));
+        }
+        assertEquals(shoe.deal(), restored.deal());
+        assertThrows(IllegalArgumentException.class, () -> restored.restore(new byte[] { (byte) Card.CARD_KINDS }));
+    }
+
 }
@@ -0,0 +1,149 @@
+package com.github.sfragata.gameapi.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.sfragata.gameapi.domain.Card;
+import com.github.sfragata.gameapi.domain.FaceValue;
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.domain.Suit;
+
+/**
+ * Unit test for GameChangeLog class
+ * @author Silvio Fragata
+ *
+ */
+public class GameChangeLogUnitTest {
+
+    private static final int GAME_ID = 1;
+
+    public GameChangeLogUnitTest() {
+
+        super();
+    }
+
+    @Test
+    void givenChangesWhenChangesSinceThenOnlyNewerChangesAreReturned() {
+
+        // Given
+        final GameChangeLog gameChangeLog = new GameChangeLog(4);
+        final Game game = newGame();
+        gameChangeLog.onEvent(GameEvent.gameCreated(game));
+        game.incrementVersion();
+        gameChangeLog.onEvent(GameEvent.playerAdded(game, 7));
+        game.incrementVersion();
+        gameChangeLog.onEvent(GameEvent.cardDealt(game, 7, Card.valueOf(Suit.CLUBS, FaceValue.KING)));
+
+        // When
+        final String changes = gameChangeLog.changesSince(GAME_ID, 1, game.getVersion());
+
+        // Then
+        assertEquals("{\"version\":2,\"resync\":false,\"changes\":[{\"version\":2,\"type\":\"CARDS_DEALT\","
+            + "\"deals\":[{\"playerId\":7,\"suit\":\"CLUBS\",\"faceValue\":\"KING\"}]}]}", changes);
+        assertEquals("{\"version\":2,\"resync\":false,\"changes\":[]}", gameChangeLog.changesSince(GAME_ID, 2, 2));
+    }
+
+    @Test
+    void givenRingOverwrittenWhenChangesSinceOldVersionThenResyncIsReturned() {
+
+        // Given
+        final GameChangeLog gameChangeLog = new GameChangeLog(2);
+        final Game game = newGame();
+        gameChangeLog.onEvent(GameEvent.gameCreated(game));
+        for (int i = 0; i < 5; i++) {
+            game.incrementVersion();
+            gameChangeLog.onEvent(GameEvent.deckAdded(game));
+        }
+
+        // When
+        final String tooOld = gameChangeLog.changesSince(GAME_ID, 2, game.getVersion());
+        final String kept = gameChangeLog.changesSince(GAME_ID, 3, game.getVersion());
+
+        // Then
+        assertEquals("{\"version\":5,\"resync\":true,\"changes\":[]}", tooOld);
+        assertEquals("{\"version\":5,\"resync\":false,\"changes\":[{\"version\":4,\"type\":\"DECK_ADDED\"},"
+            + "{\"version\":5,\"type\":\"DECK_ADDED\"}]}", kept);
+    }
+
+    @Test
+    void givenRingGrowingWhenChangesSinceThenChangesAreKeptInOrderUpToTheSize() {
+
+        // Given
+        final GameChangeLog gameChangeLog = new GameChangeLog(6);
+        final Game game = newGame();
+        gameChangeLog.onEvent(GameEvent.gameCreated(game));
+        for (int i = 0; i < 5; i++) {
+            game.incrementVersion();
+            gameChangeLog.onEvent(GameEvent.playerAdded(game, i));
+        }
+
+        // When
+        final String grown = gameChangeLog.changesSince(GAME_ID, 3, game.getVersion());
+        for (int i = 5; i < 8; i++) {
+            game.incrementVersion();
+            gameChangeLog.onEvent(GameEvent.playerAdded(game, i));
+        }
+        final String wrapped = gameChangeLog.changesSince(GAME_ID, 2, game.getVersion());
+
+        // Then
+        assertEquals("{\"version\":5,\"resync\":false,\"changes\":[{\"version\":4,\"type\":\"PLAYER_ADDED\","
+            + "\"playerId\":3},{\"version\":5,\"type\":\"PLAYER_ADDED\",\"playerId\":4}]}", grown);
+        assertEquals("{\"version\":8,\"resync\":false,\"changes\":[{\"version\":3,\"type\":\"PLAYER_ADDED\","
+            + "\"playerId\":2},{\"version\":4,\"type\":\"PLAYER_ADDED\",\"playerId\":3},"
+            + "{\"version\":5,\"type\":\"PLAYER_ADDED\",\"playerId\":4},"
+            + "{\"version\":6,\"type\":\"PLAYER_ADDED\",\"playerId\":5},"
+            + "{\"version\":7,\"type\":\"PLAYER_ADDED\",\"playerId\":6},"
+            + "{\"version\":8,\"type\":\"PLAYER_ADDED\",\"playerId\":7}]}", wrapped);
+        assertEquals("{\"version\":8,\"resync\":true,\"changes\":[]}",
+            gameChangeLog.changesSince(GAME_ID, 1, game.getVersion()));
+    }
+
+    @Test
+    void givenGameEvictedWhenChangesSinceThenResyncIsReturnedUntilTheGameChanges() {
+
+        // Given
+        final GameChangeLog gameChangeLog = new GameChangeLog(4);
+        final Game game = newGame();
+        gameChangeLog.onEvent(GameEvent.gameCreated(game));
+        game.incrementVersion();
+        gameChangeLog.onEvent(GameEvent.deckAdded(game));
+
+        // When
+        gameChangeLog.onEvent(GameEvent.gameEvicted(game));
+
+        // Then
+        assertEquals(0, gameChangeLog.getGames());
+        assertEquals("{\"version\":1,\"resync\":true,\"changes\":[]}", gameChangeLog.changesSince(GAME_ID, 0, 1));
+        game.incrementVersion();
+        gameChangeLog.onEvent(GameEvent.playerRemoved(game, 3));
+        assertEquals("{\"version\":2,\"resync\":false,\"changes\":[{\"version\":2,\"type\":\"PLAYER_REMOVED\","
+            + "\"playerId\":3}]}", gameChangeLog.changesSince(GAME_ID, 1, 2));
+        assertEquals("{\"version\":2,\"resync\":true,\"changes\":[]}", gameChangeLog.changesSince(GAME_ID, 9, 2));
+    }
+
+    @Test
+    void givenSizeZeroWhenGameChangesThenNothingIsKept() {
+
+        // Given
+        final GameChangeLog gameChangeLog = new GameChangeLog();
+        final Game game = newGame();
+
+        // When
+        gameChangeLog.onEvent(GameEvent.gameCreated(game));
+        gameChangeLog.onEvent(GameEvent.deckAdded(game));
+
+        // Then
+        assertFalse(gameChangeLog.isActive());
+        assertEquals(0, gameChangeLog.getGames());
+    }
+
+    private static Game newGame() {
+
+        final Game game = new Game();
+        game.setGameId(GAME_ID);
+        return game;
+    }
+
+}
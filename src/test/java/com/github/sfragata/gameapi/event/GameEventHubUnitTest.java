@@ -0,0 +1,249 @@
+package com.github.sfragata.gameapi.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.sfragata.gameapi.domain.Card;
+import com.github.sfragata.gameapi.domain.FaceValue;
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.domain.Suit;
+
+/**
+ * Unit test for GameEventHub class
+ * @author Silvio Fragata
+ *
+ */
+public class GameEventHubUnitTest {
+
+    private static final int GAME_ID = 1;
+
+    private GameEventHub gameEventHub;
+
+    public GameEventHubUnitTest() {
+
+        super();
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        if (this.gameEventHub != null) {
+            this.gameEventHub.shutdown();
+        }
+    }
+
+    @Test
+    void givenCardsDealtWhenEncodeThenFrameHasVersionTypeAndDeals() {
+
+        // Given
+        final Game game = newGame();
+        game.incrementVersion();
+        final GameEvent event = GameEvent.cardsDealt(game, new int[] { 3, 4 },
+            new byte[] { Card.valueOf(Suit.SPADES, FaceValue.ACE).code(), Card.valueOf(Suit.HEARTS, FaceValue.TWO)
+                .code() });
+
+        // When
+        final String frame = new String(GameEventHub.encode(event), StandardCharsets.UTF_8);
+
+        // Then
+        assertEquals("id: 1\nevent: CARDS_DEALT\ndata: {\"version\":1,\"deals\":["
+            + "{\"playerId\":3,\"suit\":\"SPADES\",\"faceValue\":\"ACE\"},"
+            + "{\"playerId\":4,\"suit\":\"HEARTS\",\"faceValue\":\"TWO\"}]}\n\n", frame);
+        assertEquals("id: 1\nevent: GAME_EVICTED\ndata: {\"version\":1}\n\n",
+            new String(GameEventHub.encode(GameEvent.gameEvicted(game)), StandardCharsets.UTF_8));
+        assertNull(GameEventHub.encode(GameEvent.gameReloaded(game, new byte[0])));
+    }
+
+    @Test
+    void givenSubscriberWhenGameChangesThenFramesAreWrittenInOrderUntilGameIsDeleted()
+        throws Exception {
+
+        // Given
+        this.gameEventHub = new GameEventHub(16);
+        final RecordingSink sink = new RecordingSink(true);
+        assertFalse(this.gameEventHub.isActive());
+        this.gameEventHub.subscribe(GAME_ID, sink);
+        final Game game = newGame();
+
+        // When
+        this.gameEventHub.onEvent(GameEvent.deckAdded(game));
+        this.gameEventHub.onEvent(GameEvent.playerAdded(game, 7));
+        this.gameEventHub.onEvent(GameEvent.gameReloaded(game, new byte[0]));
+        this.gameEventHub.onEvent(GameEvent.gameDeleted(game));
+
+        // Then
+        assertTrue(sink.completed.await(10, TimeUnit.SECONDS));
+        assertEquals(3, sink.frames.size());
+        assertTrue(sink.frames.get(0).contains("event: DECK_ADDED\n"));
+        assertTrue(sink.frames.get(1).contains("data: {\"version\":0,\"playerId\":7}"));
+        assertTrue(sink.frames.get(2).contains("event: GAME_DELETED\n"));
+        assertEquals(0, this.gameEventHub.getSubscribers());
+        assertFalse(this.gameEventHub.isActive());
+    }
+
+    @Test
+    void givenSubscriberWhenGameIsEvictedThenStreamEnds()
+        throws Exception {
+
+        // Given
+        this.gameEventHub = new GameEventHub(16);
+        final RecordingSink sink = new RecordingSink(true);
+        this.gameEventHub.subscribe(GAME_ID, sink);
+        final Game game = newGame();
+
+        // When
+        this.gameEventHub.onEvent(GameEvent.deckAdded(game));
+        this.gameEventHub.onEvent(GameEvent.gameEvicted(game));
+        this.gameEventHub.onEvent(GameEvent.deckAdded(game));
+
+        // Then
+        assertTrue(sink.completed.await(10, TimeUnit.SECONDS));
+        assertEquals(2, sink.frames.size());
+        assertTrue(sink.frames.get(1).contains("event: GAME_EVICTED\n"));
+        assertEquals(0, this.gameEventHub.getSubscribers());
+    }
+
+    @Test
+    void givenSlowSubscriberWhenQueueIsFullThenFramesAreReplacedByResync()
+        throws Exception {
+
+        // Given
+        this.gameEventHub = new GameEventHub(2);
+        final RecordingSink slow = new RecordingSink(false);
+        final RecordingSink fast = new RecordingSink(true);
+        final GameEventHub.Subscription slowSubscription = this.gameEventHub.subscribe(GAME_ID, slow);
+        this.gameEventHub.subscribe(GAME_ID, fast);
+        final Game game = newGame();
+
+        // When (the slow sink can't be written, the publisher and the writers never wait for it)
+        for (int i = 1; i <= 3; i++) {
+            game.incrementVersion();
+            this.gameEventHub.onEvent(GameEvent.deckAdded(game));
+            waitFor(fast, "id: " + i + "\n");
+        }
+        slow.ready = true;
+        slowSubscription.resume();
+
+        // Then (the frames up to the last version were replaced by one RESYNC)
+        waitFor(slow, "id: 3\n");
+        assertEquals(List.of("id: 3\nevent: RESYNC\ndata: {\"version\":3}\n\n"), slow.frames);
+        assertEquals(3, fast.frames.size());
+        assertEquals(1, this.gameEventHub.getResyncs());
+        game.incrementVersion();
+        this.gameEventHub.onEvent(GameEvent.deckAdded(game));
+        waitFor(slow, "id: 4\nevent: DECK_ADDED\n");
+        slowSubscription.cancel();
+        slowSubscription.cancel();
+        assertEquals(1, this.gameEventHub.getSubscribers());
+    }
+
+    @Test
+    void givenStalledSubscriberWhenQueueFillsUpAfterResyncThenItIsDropped()
+        throws Exception {
+
+        // Given
+        this.gameEventHub = new GameEventHub(2, 1);
+        final RecordingSink stalled = new RecordingSink(false);
+        final RecordingSink fast = new RecordingSink(true);
+        this.gameEventHub.subscribe(GAME_ID, stalled);
+        this.gameEventHub.subscribe(GAME_ID, fast);
+        final Game game = newGame();
+
+        // When (the only writer keeps writing the other subscriber)
+        for (int i = 1; i <= 10; i++) {
+            game.incrementVersion();
+            this.gameEventHub.onEvent(GameEvent.deckAdded(game));
+            waitFor(fast, "id: " + i + "\n");
+        }
+
+        // Then
+        assertTrue(stalled.completed.await(10, TimeUnit.SECONDS));
+        assertTrue(stalled.frames.isEmpty());
+        assertEquals(10, fast.frames.size());
+        assertEquals(1, this.gameEventHub.getResyncs());
+        assertEquals(1, this.gameEventHub.getDropped());
+        assertEquals(1, this.gameEventHub.getSubscribers());
+    }
+
+    private static void waitFor(
+        final RecordingSink sink,
+        final String lastFrameStart)
+        throws InterruptedException {
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!lastFrameStartsWith(sink, lastFrameStart) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(lastFrameStartsWith(sink, lastFrameStart));
+    }
+
+    private static boolean lastFrameStartsWith(
+        final RecordingSink sink,
+        final String start) {
+
+        return !sink.frames.isEmpty() && sink.frames.get(sink.frames.size() - 1).startsWith(start);
+    }
+
+    private static Game newGame() {
+
+        final Game game = new Game();
+        game.setGameId(GAME_ID);
+        return game;
+    }
+
+    /**
+     * Records the frames written while it's ready
+     */
+    private static final class RecordingSink
+        implements GameEventHub.Sink {
+
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        private volatile boolean ready;
+
+        RecordingSink(final boolean ready) {
+
+            super();
+            this.ready = ready;
+        }
+
+        @Override
+        public boolean isReady() {
+
+            return this.ready;
+        }
+
+        @Override
+        public void send(
+            final byte[] frame)
+            throws IOException {
+
+            if (!this.ready) {
+                throw new IOException("Written while not ready");
+            }
+            this.frames.add(new String(frame, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void complete() {
+
+            this.completed.countDown();
+        }
+
+    }
+
+}
@@ -1,11 +1,18 @@
 package com.github.sfragata.gameapi.helper;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -48,4 +55,95 @@ public class ListShuffleHelperUnitTest {
 
     }
 
+    @Test
+    public void givenEachRandomStrategyWhenShuffleThenListIsShuffled() {
+
+        final List<Integer> listOriginal = IntStream.range(0, 52).boxed().collect(Collectors.toList());
+
+        for (final RandomStrategy randomStrategy : RandomStrategy.values()) {
+            final List<Integer> list = new ArrayList<>(listOriginal);
+
+            this.listShuffleHelper.shuffle(list, this.listShuffleHelper.newRandomSource(randomStrategy, 1L));
+
+            assertNotEquals(listOriginal, list);
+            assertEquals(listOriginal.size(), list.size());
+            assertTrue(listOriginal.containsAll(list));
+        }
+
+    }
+
+    @Test
+    public void givenSameSeedWhenShuffleThenSameOrderIsReturned() {
+
+        final List<Integer> list1 = IntStream.range(0, 52).boxed().collect(Collectors.toList());
+        final List<Integer> list2 = new ArrayList<>(list1);
+
+        this.listShuffleHelper.shuffle(list1, this.listShuffleHelper.newRandomSource(RandomStrategy.SEEDED, 42L));
+        this.listShuffleHelper.shuffle(list2, this.listShuffleHelper.newRandomSource(RandomStrategy.SEEDED, 42L));
+
+        assertEquals(list1, list2);
+
+    }
+
+    @Test
+    public void givenSeededSourceWhenCreatedAgainAtItsPositionThenTheSequenceContinues() {
+
+        final RandomSource random = this.listShuffleHelper.newRandomSource(RandomStrategy.SEEDED, 42L);
+        final List<Integer> list1 = IntStream.range(0, 52).boxed().collect(Collectors.toList());
+        this.listShuffleHelper.shuffle(list1, random);
+        final List<Integer> list2 = new ArrayList<>(list1);
+
+        final RandomSource restored =
+            this.listShuffleHelper.newRandomSource(RandomStrategy.SEEDED, 42L, random.getPosition());
+        this.listShuffleHelper.shuffle(list1, random);
+        this.listShuffleHelper.shuffle(list2, restored);
+
+        assertTrue(random.getPosition() >= 2 * 52);
+        assertEquals(random.getPosition(), restored.getPosition());
+        assertEquals(list1, list2);
+
+    }
+
+    @Test
+    public void givenSeededStrategyWithoutSeedWhenNewRandomSourceThenIllegalArgumentExceptionIsThrown() {
+
+        assertThrows(IllegalArgumentException.class,
+            () -> this.listShuffleHelper.newRandomSource(RandomStrategy.SEEDED, null));
+
+    }
+
+    @Test
+    public void givenLinkedListWhenShuffleThenListIsShuffled() {
+
+        final List<Integer> listOriginal = IntStream.range(0, 52).boxed().collect(Collectors.toList());
+        final List<Integer> list = new LinkedList<>(listOriginal);
+
+        this.listShuffleHelper.shuffle(list);
+
+        assertNotEquals(listOriginal, list);
+        assertEquals(listOriginal.size(), list.size());
+        assertTrue(listOriginal.containsAll(list));
+
+    }
+
+    @Test
+    public void givenArrayRangeWhenShuffleThenOnlyTheRangeIsShuffled() {
+
+        final byte[] original = new byte[52];
+        for (int i = 0; i < original.length; i++) {
+            original[i] = (byte) i;
+        }
+        final byte[] array = original.clone();
+
+        this.listShuffleHelper.shuffle(array, 2, original.length);
+
+        assertEquals(0, array[0]);
+        assertEquals(1, array[1]);
+        assertFalse(Arrays.equals(original, array));
+        final byte[] sorted = array.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(original, sorted);
+
+    }
+
 }
@@ -0,0 +1,64 @@
+package com.github.sfragata.gameapi.helper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for VirtualThreads class
+ * @author Silvio Fragata
+ *
+ */
+public class VirtualThreadsUnitTest {
+
+    private static final int JAVA_21 = 21;
+
+    public VirtualThreadsUnitTest() {
+
+        super();
+    }
+
+    @Test
+    void givenJavaVersionWhenIsAvailableThenOnlyJava21OrLaterHasVirtualThreads() {
+
+        // Then
+        assertEquals(Runtime.version().feature() >= JAVA_21, VirtualThreads.isAvailable());
+    }
+
+    @Test
+    void givenJavaBefore21WhenNewThreadFactoryThenUnsupportedOperationExceptionIsThrown() {
+
+        // Given
+        assumeFalse(VirtualThreads.isAvailable());
+
+        // Then
+        assertThrows(UnsupportedOperationException.class, () -> VirtualThreads.newThreadFactory("test-"));
+        assertThrows(UnsupportedOperationException.class, () -> VirtualThreads.newThreadPerTaskExecutor("test-"));
+    }
+
+    @Test
+    void givenJava21WhenNewThreadPerTaskExecutorThenTasksRunInNamedVirtualThreads()
+        throws Exception {
+
+        // Given
+        assumeTrue(VirtualThreads.isAvailable());
+        final ExecutorService executorService = VirtualThreads.newThreadPerTaskExecutor("test-");
+
+        // When
+        final Thread thread = executorService.submit(Thread::currentThread).get(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // Then
+        assertEquals("test-1", thread.getName());
+        assertEquals(Boolean.TRUE, Thread.class.getMethod("isVirtual").invoke(thread));
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+}
@@ -0,0 +1,232 @@
+package com.github.sfragata.gameapi.journal;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import com.github.sfragata.gameapi.domain.Card;
+import com.github.sfragata.gameapi.domain.FaceValue;
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.domain.Suit;
+import com.github.sfragata.gameapi.event.GameEvent;
+import com.github.sfragata.gameapi.event.GameEventType;
+import com.github.sfragata.gameapi.helper.RandomStrategy;
+
+/**
+ * Unit test for GameJournal class
+ * @author Silvio Fragata
+ *
+ */
+public class GameJournalUnitTest {
+
+    @TempDir
+    Path directory;
+
+    public GameJournalUnitTest() {
+
+        super();
+    }
+
+    @Test
+    void givenEventsWhenRecoverThenSameEventsAreRead() {
+
+        // Given
+        final Game game = createGame(7);
+        game.setRandomStrategy(RandomStrategy.SEEDED);
+        game.setSeed(42L);
+        final List<GameEvent> written = List.of(GameEvent.gameCreated(game), GameEvent.deckAdded(game),
+            GameEvent.playerAdded(game, 3), GameEvent.cardDealt(game, 3, Card.valueOf(Suit.SPADES, FaceValue.KING)),
+            GameEvent.cardsDealt(game, new int[] { 3, 4 }, new byte[] { 1, 2 }),
+            GameEvent.shoeShuffled(game, new byte[] { 5, 4, 3 }), GameEvent.playerRemoved(game, 3),
+            GameEvent.gameEvicted(game), GameEvent.gameReloaded(game, GameSnapshot.encode(game)),
+            GameEvent.gameDeleted(game));
+        final GameJournal journal = newJournal(DataSize.ofMegabytes(1));
+        journal.recover((event, sequence) -> {
+        });
+        written.forEach(journal::append);
+        journal.close();
+
+        // When
+        final List<GameEvent> read = new ArrayList<>();
+        final GameJournal reopened = newJournal(DataSize.ofMegabytes(1));
+        final long events = reopened.recover((event, sequence) -> read.add(event));
+        reopened.close();
+
+        // Then
+        assertEquals(written.size(), events);
+        assertEquals(written.size(), read.size());
+        for (int i = 0; i < written.size(); i++) {
+            assertEvent(written.get(i), read.get(i));
+        }
+        assertEquals(RandomStrategy.SEEDED, read.get(0).getRandomStrategy());
+        assertEquals(42L, read.get(0).getSeed());
+    }
+
+    @Test
+    void givenSmallSegmentsWhenAppendThenJournalRollsAndIsRecovered()
+        throws IOException {
+
+        // Given
+        final GameJournal journal = newJournal(DataSize.ofBytes(128));
+        journal.recover((event, sequence) -> {
+        });
+        final Game game = createGame(1);
+        for (int i = 0; i < 20; i++) {
+            journal.append(GameEvent.playerAdded(game, i));
+        }
+        journal.close();
+
+        // When
+        final List<GameEvent> read = new ArrayList<>();
+        final GameJournal reopened = newJournal(DataSize.ofBytes(128));
+        reopened.recover((event, eventSequence) -> read.add(event));
+        final long sequence = reopened.append(GameEvent.playerAdded(game, 20));
+        reopened.close();
+
+        // Then
+        assertTrue(segments().size() > 1);
+        assertEquals(20, read.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, read.get(i).getPlayerId());
+        }
+        assertEquals(21, sequence);
+    }
+
+    @Test
+    void givenIncompleteLastRecordWhenRecoverThenRecordIsDiscarded()
+        throws IOException {
+
+        // Given
+        final GameJournal journal = newJournal(DataSize.ofMegabytes(1));
+        journal.recover((event, sequence) -> {
+        });
+        final Game game = createGame(1);
+        journal.append(GameEvent.playerAdded(game, 1));
+        journal.append(GameEvent.playerAdded(game, 2));
+        journal.close();
+        // the payload of the last record is damaged, as if the application was killed while writing it
+        final int recordSize = GameJournal.RECORD_HEADER_SIZE + GameEventCodec.encode(GameEvent.playerAdded(game, 2))
+            .length;
+        try (FileChannel channel = FileChannel.open(segments().get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0x7F }), recordSize + recordSize - 1);
+        }
+
+        // When
+        final List<GameEvent> read = new ArrayList<>();
+        final GameJournal reopened = newJournal(DataSize.ofMegabytes(1));
+        reopened.recover((event, eventSequence) -> read.add(event));
+        final long sequence = reopened.append(GameEvent.playerAdded(game, 3));
+        reopened.close();
+        final List<GameEvent> reread = new ArrayList<>();
+        final GameJournal reopenedAgain = newJournal(DataSize.ofMegabytes(1));
+        reopenedAgain.recover((event, eventSequence) -> reread.add(event));
+        reopenedAgain.close();
+
+        // Then
+        assertEquals(1, read.size());
+        assertEquals(2, sequence);
+        assertEquals(List.of(1, 3), reread.stream().map(GameEvent::getPlayerId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void givenConcurrentAppendsWhenSyncThenAllEventsAreForced()
+        throws InterruptedException {
+
+        // Given
+        final GameJournal journal = newJournal(DataSize.ofMegabytes(1));
+        journal.recover((event, sequence) -> {
+        });
+        final int threads = 8;
+        final int appends = 200;
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        // When
+        for (int i = 0; i < threads; i++) {
+            final Game game = createGame(i);
+            executorService.execute(() -> {
+                for (int j = 0; j < appends; j++) {
+                    final long sequence = journal.append(GameEvent.playerAdded(game, j));
+                    assertTrue(journal.forcedSequence() >= sequence);
+                }
+            });
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(60, TimeUnit.SECONDS));
+        // Then
+        assertEquals(threads * appends, journal.lastSequence());
+        assertEquals(threads * appends, journal.forcedSequence());
+        journal.close();
+        assertThrows(IllegalStateException.class, () -> journal.append(GameEvent.deckAdded(createGame(1))));
+    }
+
+    @Test
+    void givenRecoveredJournalWhenRecoverAgainThenIllegalStateExceptionIsThrown() {
+
+        final GameJournal journal = newJournal(DataSize.ofMegabytes(1));
+        journal.recover((event, sequence) -> {
+        });
+
+        assertThrows(IllegalStateException.class, () -> journal.recover((event, sequence) -> {
+        }));
+        journal.close();
+    }
+
+    private GameJournal newJournal(
+        final DataSize segmentSize) {
+
+        return new GameJournal(this.directory.toString(), segmentSize, true, Duration.ofMillis(10));
+    }
+
+    private List<Path> segments()
+        throws IOException {
+
+        try (Stream<Path> paths = Files.list(this.directory)) {
+            return paths.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static void assertEvent(
+        final GameEvent expected,
+        final GameEvent actual) {
+
+        assertEquals(expected.getType(), actual.getType());
+        assertEquals(expected.getGameId(), actual.getGameId());
+        assertEquals(expected.getVersion(), actual.getVersion());
+        assertEquals(expected.getTimestamp(), actual.getTimestamp());
+        assertArrayEquals(expected.getState(), actual.getState());
+        assertArrayEquals(expected.getPlayerIds(), actual.getPlayerIds());
+        assertArrayEquals(expected.getCards(), actual.getCards());
+        if (expected.getType() != GameEventType.GAME_CREATED) {
+            assertNull(actual.getRandomStrategy());
+        }
+    }
+
+    private static Game createGame(
+        final int gameId) {
+
+        final Game game = new Game();
+        game.setGameId(gameId);
+        return game;
+    }
+
+}
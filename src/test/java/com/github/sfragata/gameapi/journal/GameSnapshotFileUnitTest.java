@@ -0,0 +1,108 @@
+package com.github.sfragata.gameapi.journal;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.sfragata.gameapi.domain.Deck;
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.domain.Player;
+import com.github.sfragata.gameapi.domain.Shoe;
+import com.github.sfragata.gameapi.helper.RandomStrategy;
+
+/**
+ * Unit test for GameSnapshotFile class
+ * @author Silvio Fragata
+ *
+ */
+public class GameSnapshotFileUnitTest {
+
+    @TempDir
+    Path directory;
+
+    public GameSnapshotFileUnitTest() {
+
+        super();
+    }
+
+    @Test
+    void givenGamesWhenWriteAndReadThenSameGamesAreRead() {
+
+        // Given
+        final Game game = new Game();
+        game.setGameId(5);
+        game.setRandomStrategy(RandomStrategy.SPLITTABLE);
+        game.setSeed(11L);
+        game.setShoe(new Shoe());
+        game.getShoe().addCards(new Deck());
+        final Player player = new Player(9);
+        player.addCard(game.getShoe().deal());
+        player.addCard(game.getShoe().deal());
+        game.addPlayer(player);
+        game.addPlayer(new Player(10));
+        game.restoreVersion(6);
+        final Game gameWithoutShoe = new Game();
+        gameWithoutShoe.setGameId(8);
+        final Path path = this.directory.resolve("snapshot.dat");
+
+        // When
+        new GameSnapshotFile(3, 7, 10, List.of(GameSnapshot.of(game, 4), GameSnapshot.of(gameWithoutShoe, 6)))
+            .write(path);
+        final GameSnapshotFile snapshotFile = GameSnapshotFile.read(path);
+
+        // Then
+        assertEquals(3, snapshotFile.getStartSequence());
+        assertEquals(7, snapshotFile.getEndSequence());
+        assertEquals(10, snapshotFile.getLastPlayerId());
+        assertEquals(2, snapshotFile.getGames().size());
+        assertEquals(4, snapshotFile.getGames().get(0).getSequence());
+        final Game read = snapshotFile.getGames().get(0).toGame();
+        assertEquals(5, read.getGameId());
+        assertEquals(6, read.getVersion());
+        assertEquals(RandomStrategy.SPLITTABLE, read.getRandomStrategy());
+        assertEquals(11L, read.getSeed());
+        assertArrayEquals(game.getShoe().undealtCodes(), read.getShoe().undealtCodes());
+        assertEquals(player.getCards(), read.findPlayer(9).getCards());
+        assertEquals(player.getTotalValue(), read.findPlayer(9).getTotalValue());
+        assertEquals(List.of(player, new Player(10)), read.rankPlayers(0, 2));
+        final Game readWithoutShoe = snapshotFile.getGames().get(1).toGame();
+        assertEquals(8, readWithoutShoe.getGameId());
+        assertNull(readWithoutShoe.getShoe());
+        assertNull(readWithoutShoe.getRandomStrategy());
+        assertNull(readWithoutShoe.getSeed());
+    }
+
+    @Test
+    void givenMissingFileWhenReadThenNullIsReturned() {
+
+        assertNull(GameSnapshotFile.read(this.directory.resolve("snapshot.dat")));
+    }
+
+    @Test
+    void givenCorruptedFileWhenReadThenIllegalStateExceptionIsThrown()
+        throws IOException {
+
+        // Given
+        final Game game = new Game();
+        game.setGameId(1);
+        final Path path = this.directory.resolve("snapshot.dat");
+        new GameSnapshotFile(0, 1, 0, List.of(GameSnapshot.of(game, 1))).write(path);
+        final byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(path, bytes);
+
+        // When
+        // Then
+        assertThrows(IllegalStateException.class, () -> GameSnapshotFile.read(path));
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.github.sfragata.gameapi.loadgen;
+
+/**
+ * Endpoints of the game API called by the load generator (see GameController), the latencies are reported by endpoint
+ * @author Silvio Fragata
+ *
+ */
+enum Endpoint {
+
+    CREATE_GAME("POST", "/gameapi/{gameId}"),
+
+    ADD_DECK("POST", "/gameapi/{gameId}/deck"),
+
+    ADD_PLAYER("POST", "/gameapi/{gameId}/player"),
+
+    SHUFFLE("POST", "/gameapi/{gameId}/shuffle"),
+
+    DEAL("POST", "/gameapi/{gameId}/player/{playerId}/deal"),
+
+    DEAL_ROUND("POST", "/gameapi/{gameId}/deal"),
+
+    GET_PLAYER("GET", "/gameapi/{gameId}/player/{playerId}"),
+
+    LIST_PLAYERS("GET", "/gameapi/{gameId}/players"),
+
+    CARDS_BY_SUIT("GET", "/gameapi/{gameId}/deck"),
+
+    REMAINING_CARDS("GET", "/gameapi/{gameId}/deck/cards"),
+
+    REMOVE_PLAYER("DELETE", "/gameapi/{gameId}/player/{playerId}"),
+
+    DELETE_GAME("DELETE", "/gameapi/{gameId}");
+
+    private final String method;
+
+    private final String path;
+
+    Endpoint(final String method, final String path) {
+
+        this.method = method;
+        this.path = path;
+    }
+
+    public String getMethod() {
+
+        return this.method;
+    }
+
+    /**
+     * @return the path with the variables between braces
+     */
+    public String getPath() {
+
+        return this.path;
+    }
+
+}
@@ -0,0 +1,333 @@
+package com.github.sfragata.gameapi.loadgen;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.sfragata.gameapi.helper.VirtualThreads;
+
+/**
+ * Load generator of the game API: each table (a thread) plays games one after the other, as in the postman collection:
+ * creates the game, adds the decks and the players, shuffles, deals the rounds (one card to each player, polling the
+ * cards by suit after each round and listing the players and the remaining cards from time to time), deals a last round
+ * in a batch, removes a player and deletes the game
+ * The latencies are recorded by endpoint in HdrHistogram recorders shared by the tables (recording is wait-free, and
+ * the memory doesn't grow with the tables) and printed with the throughput of each endpoint. With a rate each table sends its requests at fixed intervals and the latency is measured
+ * from the time the request should have been sent, so a slow server isn't hidden by the tables waiting for it
+ * (coordinated omission); without a rate each table sends the next request when the previous one returns
+ * Options (name=value or --name=value): url (http://localhost:8080), tables (16), duration (60s), warmup (10s),
+ * decks (6), players (7), rounds (10), rate (total requests per second, 0 for as fast as possible), first-game-id
+ * (1000000) and virtual-threads (false, true to run each table in a virtual thread with Java 21, e.g. 10000 tables)
+ * @author Silvio Fragata
+ *
+ */
+public class LoadGenerator {
+
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final int LIST_EVERY_ROUNDS = 5;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient httpClient;
+
+    private final String url;
+
+    private final int tables;
+
+    private final Duration duration;
+
+    private final Duration warmup;
+
+    private final int decks;
+
+    private final int players;
+
+    private final int rounds;
+
+    private final long intervalNanos;
+
+    private final AtomicInteger nextGameId;
+
+    private final ThreadFactory threadFactory;
+
+    private final Recorder[] recorders = new Recorder[Endpoint.values().length];
+
+    private final LongAdder[] errors = new LongAdder[Endpoint.values().length];
+
+    private volatile long measureStart;
+
+    private volatile long end;
+
+    /**
+     * Constructor
+     * @param options the options by name
+     */
+    LoadGenerator(final Map<String, String> options) {
+
+        super();
+        this.url = options.getOrDefault("url", "http://localhost:8080");
+        this.tables = Integer.parseInt(options.getOrDefault("tables", "16"));
+        this.duration = parseDuration(options.getOrDefault("duration", "60s"));
+        this.warmup = parseDuration(options.getOrDefault("warmup", "10s"));
+        this.decks = Integer.parseInt(options.getOrDefault("decks", "6"));
+        this.players = Integer.parseInt(options.getOrDefault("players", "7"));
+        this.rounds = Integer.parseInt(options.getOrDefault("rounds", "10"));
+        final double rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+        this.intervalNanos = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) * this.tables / rate) : 0;
+        this.nextGameId = new AtomicInteger(Integer.parseInt(options.getOrDefault("first-game-id", "1000000")));
+        if (this.tables < 1 || this.players < 1 || this.decks < 1 || this.rounds < 1) {
+            throw new IllegalArgumentException("tables, players, decks and rounds must be positive");
+        }
+        this.threadFactory = Boolean.parseBoolean(options.getOrDefault("virtual-threads", "false"))
+            ? VirtualThreads.newThreadFactory("table-") : Thread::new;
+        for (int i = 0; i < this.recorders.length; i++) {
+            this.recorders[i] = new Recorder(HIGHEST_LATENCY_MICROS, SIGNIFICANT_DIGITS);
+            this.errors[i] = new LongAdder();
+        }
+        this.httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    public static void main(
+        final String[] args)
+        throws InterruptedException {
+
+        final Map<String, String> options = new HashMap<>();
+        for (final String arg : args) {
+            final String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            final int separator = option.indexOf('=');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Invalid option (name=value): " + arg);
+            }
+            options.put(option.substring(0, separator), option.substring(separator + 1));
+        }
+        new LoadGenerator(options).run(System.out);
+    }
+
+    /**
+     * method to run the tables for the warmup and the duration and print the report
+     * @param out where the report is printed
+     * @throws InterruptedException if interrupted while waiting for the tables
+     */
+    void run(
+        final PrintStream out)
+        throws InterruptedException {
+
+        out.printf("%d tables playing against %s for %s (after %s of warmup), %d decks, %d players, %d rounds%s%n",
+            this.tables, this.url, this.duration, this.warmup, this.decks, this.players, this.rounds,
+            this.intervalNanos > 0 ? ", a request every " + this.intervalNanos / 1000 + " us per table" : "");
+        final long start = System.nanoTime();
+        this.measureStart = start + this.warmup.toNanos();
+        this.end = this.measureStart + this.duration.toNanos();
+        final List<Thread> threads = new ArrayList<>(this.tables);
+        for (int i = 0; i < this.tables; i++) {
+            final Thread thread = this.threadFactory.newThread(new Table());
+            thread.setName("table-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        report(out);
+    }
+
+    private void report(
+        final PrintStream out) {
+
+        final double seconds = this.duration.toNanos() / 1e9;
+        final Histogram total = newHistogram();
+        long totalErrors = 0;
+        out.printf("%n%-16s %10s %8s %10s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms",
+            "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (final Endpoint endpoint : Endpoint.values()) {
+            final Histogram histogram = this.recorders[endpoint.ordinal()].getIntervalHistogram();
+            final long errors = this.errors[endpoint.ordinal()].sum();
+            total.add(histogram);
+            totalErrors += errors;
+            print(out, endpoint.name(), histogram, errors, seconds);
+        }
+        print(out, "TOTAL", total, totalErrors, seconds);
+    }
+
+    private static void print(
+        final PrintStream out,
+        final String name,
+        final Histogram histogram,
+        final long errors,
+        final double seconds) {
+
+        out.printf("%-16s %10d %8d %10.1f %9.3f %9.3f %9.3f %9.3f %9.3f%n", name, histogram.getTotalCount(), errors,
+            histogram.getTotalCount() / seconds, millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+            millis(histogram, 99.9), histogram.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(
+        final Histogram histogram,
+        final double percentile) {
+
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static Histogram newHistogram() {
+
+        return new Histogram(HIGHEST_LATENCY_MICROS, SIGNIFICANT_DIGITS);
+    }
+
+    private static Duration parseDuration(
+        final String value) {
+
+        final String unit = value.replaceAll("[0-9]", "");
+        final long amount = Long.parseLong(value.substring(0, value.length() - unit.length()));
+        switch (unit) {
+            case "ms":
+                return Duration.ofMillis(amount);
+            case "s":
+            case "":
+                return Duration.ofSeconds(amount);
+            case "m":
+                return Duration.ofMinutes(amount);
+            default:
+                throw new IllegalArgumentException("Invalid duration: " + value);
+        }
+    }
+
+    /**
+     * A table playing games until the end
+     */
+    private final class Table
+        implements Runnable {
+
+        private long next = System.nanoTime();
+
+        Table() {
+
+            super();
+        }
+
+        @Override
+        public void run() {
+
+            while (System.nanoTime() < LoadGenerator.this.end) {
+                try {
+                    play(LoadGenerator.this.nextGameId.getAndIncrement());
+                } catch (final IOException ioException) {
+                    // the error was counted, waits a bit (e.g. the server is down) before the next game
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+                } catch (final InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private void play(
+            final int gameId)
+            throws IOException,
+            InterruptedException {
+
+            if (call(Endpoint.CREATE_GAME, gameId, 0, "") == null) {
+                return;
+            }
+            for (int i = 0; i < LoadGenerator.this.decks; i++) {
+                call(Endpoint.ADD_DECK, gameId, 0, "");
+            }
+            final int[] playerIds = new int[LoadGenerator.this.players];
+            for (int i = 0; i < playerIds.length; i++) {
+                final String player = call(Endpoint.ADD_PLAYER, gameId, 0, "");
+                playerIds[i] = player != null
+                    ? LoadGenerator.this.objectMapper.readTree(player).get("playerId").asInt() : 0;
+            }
+            call(Endpoint.SHUFFLE, gameId, 0, "");
+            for (int round = 1; round <= LoadGenerator.this.rounds; round++) {
+                for (final int playerId : playerIds) {
+                    call(Endpoint.DEAL, gameId, playerId, "");
+                }
+                call(Endpoint.CARDS_BY_SUIT, gameId, 0, "");
+                if (round % LIST_EVERY_ROUNDS == 0) {
+                    call(Endpoint.LIST_PLAYERS, gameId, 0, "");
+                    call(Endpoint.REMAINING_CARDS, gameId, 0, "");
+                    call(Endpoint.GET_PLAYER, gameId, playerIds[ThreadLocalRandom.current().nextInt(playerIds.length)],
+                        "");
+                }
+            }
+            call(Endpoint.DEAL_ROUND, gameId, 0, "?cards=1");
+            call(Endpoint.REMOVE_PLAYER, gameId, playerIds[playerIds.length - 1], "");
+            call(Endpoint.DELETE_GAME, gameId, 0, "");
+        }
+
+        /**
+         * Calls the endpoint, recording the latency after the warmup
+         * @return the body of the response or null if the status isn't 2xx
+         */
+        private String call(
+            final Endpoint endpoint,
+            final int gameId,
+            final int playerId,
+            final String query)
+            throws IOException,
+            InterruptedException {
+
+            final long start = pace();
+            final String path = endpoint.getPath().replace("{gameId}", Integer.toString(gameId))
+                .replace("{playerId}", Integer.toString(playerId));
+            final HttpRequest request = HttpRequest.newBuilder(URI.create(LoadGenerator.this.url + path + query))
+                .method(endpoint.getMethod(), HttpRequest.BodyPublishers.noBody()).build();
+            HttpResponse<String> response = null;
+            try {
+                response = LoadGenerator.this.httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            } finally {
+                final long now = System.nanoTime();
+                if (start >= LoadGenerator.this.measureStart && now < LoadGenerator.this.end) {
+                    LoadGenerator.this.recorders[endpoint.ordinal()]
+                        .recordValue(Math.min((now - start) / 1000, HIGHEST_LATENCY_MICROS));
+                    if (response == null || response.statusCode() >= 300) {
+                        LoadGenerator.this.errors[endpoint.ordinal()].increment();
+                    }
+                }
+            }
+            return response.statusCode() < 300 ? response.body() : null;
+        }
+
+        /**
+         * Waits for the time of the next request, with a rate
+         * @return when the request should be sent (with a rate) or now
+         */
+        private long pace() {
+
+            if (LoadGenerator.this.intervalNanos == 0) {
+                return System.nanoTime();
+            }
+            final long intended = this.next;
+            this.next += LoadGenerator.this.intervalNanos;
+            long now;
+            while ((now = System.nanoTime()) < intended) {
+                LockSupport.parkNanos(intended - now);
+            }
+            return intended;
+        }
+
+    }
+
+}
@@ -0,0 +1,312 @@
+package com.github.sfragata.gameapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import com.github.sfragata.gameapi.domain.Card;
+import com.github.sfragata.gameapi.domain.Deck;
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.domain.Player;
+import com.github.sfragata.gameapi.domain.Shoe;
+import com.github.sfragata.gameapi.event.GameEvent;
+import com.github.sfragata.gameapi.event.GameEventPublisher;
+import com.github.sfragata.gameapi.event.GameEventType;
+import com.github.sfragata.gameapi.exception.GameNotFoundException;
+import com.github.sfragata.gameapi.helper.ListShuffleHelper;
+import com.github.sfragata.gameapi.helper.RandomStrategy;
+import com.github.sfragata.gameapi.journal.GameJournal;
+import com.github.sfragata.gameapi.journal.GameSpillStore;
+
+/**
+ * Unit test for GameEvictor class
+ * @author Silvio Fragata
+ *
+ */
+@ExtendWith(MockitoExtension.class)
+public class GameEvictorUnitTest {
+
+    private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(1);
+
+    private static final Duration TICK = Duration.ofSeconds(1);
+
+    @TempDir
+    Path directory;
+
+    private GameJournal gameJournal;
+
+    private final List<GameEvent> events = new ArrayList<>();
+
+    @Spy
+    private ListShuffleHelper listShuffleHelper = new ListShuffleHelper();
+
+    @Spy
+    private GameRegistry gameRegistry = new GameRegistry();
+
+    @Spy
+    private GameExecutor gameExecutor = new LockingGameExecutor(this.gameRegistry);
+
+    @Spy
+    private GameEventPublisher gameEventPublisher = new GameEventPublisher(List.of(event -> {
+        this.events.add(event);
+        if (this.gameJournal != null) {
+            this.gameJournal.onEvent(event);
+        }
+    }));
+
+    @InjectMocks
+    private final GameServiceImpl gameService = new GameServiceImpl();
+
+    private GameEvictor gameEvictor;
+
+    public GameEvictorUnitTest() {
+
+        super();
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        this.gameEvictor.shutdown();
+        if (this.gameJournal != null) {
+            this.gameJournal.close();
+        }
+    }
+
+    @Test
+    void givenIdleGameWhenAdvanceAfterIdleTimeoutThenGameIsEvicted()
+        throws Exception {
+
+        // Given
+        startEvictor(IDLE_TIMEOUT, Duration.ZERO, false);
+        final long now = System.currentTimeMillis();
+        createGame(1);
+        createGame(2);
+        this.gameService.addDeck(1, new Deck());
+        this.gameService.addPlayer(1, new Player(1));
+        this.gameService.dealRound(1, 2);
+
+        // When
+        this.gameEvictor.advance(now + IDLE_TIMEOUT.toMillis() / 2);
+        final int gamesBeforeTimeout = this.gameRegistry.size();
+        this.gameEvictor.advance(now + IDLE_TIMEOUT.toMillis() + 2 * TICK.toMillis());
+
+        // Then
+        assertEquals(2, gamesBeforeTimeout);
+        assertEquals(0, this.gameRegistry.size());
+        assertEquals(2, this.gameEvictor.getEvictedGames());
+        assertEquals(0, this.gameEvictor.getSpilledGames());
+        assertEquals(Card.CARD_KINDS, this.gameEvictor.getReclaimedCards());
+        assertThrows(GameNotFoundException.class, () -> this.gameService.getGame(1));
+        assertEquals(2, countEvents(GameEventType.GAME_EVICTED));
+    }
+
+    @Test
+    void givenUsedGameWhenAdvanceAfterIdleTimeoutThenGameIsEvictedOnlyAfterLastUse()
+        throws Exception {
+
+        // Given
+        startEvictor(IDLE_TIMEOUT, Duration.ZERO, false);
+        final long now = System.currentTimeMillis();
+        createGame(1);
+        final Game game = this.gameRegistry.findById(1).orElseThrow();
+        // used 50 seconds later
+        game.restoreTimes(game.getCreatedAt(), now + Duration.ofSeconds(50).toMillis());
+
+        // When
+        this.gameEvictor.advance(now + Duration.ofSeconds(70).toMillis());
+        final boolean presentAfterFirstDeadline = this.gameRegistry.findById(1).isPresent();
+        this.gameEvictor.advance(now + Duration.ofSeconds(112).toMillis());
+
+        // Then
+        assertTrue(presentAfterFirstDeadline);
+        assertFalse(this.gameRegistry.findById(1).isPresent());
+        assertEquals(1, this.gameEvictor.getEvictedGames());
+    }
+
+    @Test
+    void givenUsedGameWhenAdvanceAfterTtlThenGameIsEvicted()
+        throws Exception {
+
+        // Given
+        startEvictor(Duration.ZERO, IDLE_TIMEOUT, false);
+        final long now = System.currentTimeMillis();
+        createGame(1);
+        final Game game = this.gameRegistry.findById(1).orElseThrow();
+        game.restoreTimes(game.getCreatedAt(), now + Duration.ofSeconds(50).toMillis());
+
+        // When
+        this.gameEvictor.advance(now + IDLE_TIMEOUT.toMillis() + 2 * TICK.toMillis());
+
+        // Then
+        assertFalse(this.gameRegistry.findById(1).isPresent());
+        assertEquals(1, this.gameEvictor.getEvictedGames());
+    }
+
+    @Test
+    void givenDeletedGameWhenAdvanceAfterIdleTimeoutThenNothingIsEvicted()
+        throws Exception {
+
+        // Given
+        startEvictor(IDLE_TIMEOUT, Duration.ZERO, false);
+        final long now = System.currentTimeMillis();
+        createGame(1);
+        this.gameService.deleteGame(1);
+        createGame(1);
+        this.gameRegistry.findById(1).orElseThrow().restoreTimes(now, now + IDLE_TIMEOUT.toMillis());
+
+        // When
+        this.gameEvictor.advance(now + IDLE_TIMEOUT.toMillis() + 2 * TICK.toMillis());
+
+        // Then
+        assertTrue(this.gameRegistry.findById(1).isPresent());
+        assertEquals(0, this.gameEvictor.getEvictedGames());
+    }
+
+    @Test
+    void givenSpilledGameWhenGameIsUsedThenGameIsReloaded()
+        throws Exception {
+
+        // Given
+        startEvictor(IDLE_TIMEOUT, Duration.ZERO, true);
+        final long now = System.currentTimeMillis();
+        createSeededGame(1);
+        final Game game = this.gameRegistry.findById(1).orElseThrow();
+        final byte[] undealtCodes = game.getShoe().undealtCodes();
+        final List<Player> players = game.rankPlayers(0, Integer.MAX_VALUE);
+        final GameSpillStore gameSpillStore = new GameSpillStore(this.directory.resolve("spill"));
+        final long randomPosition = game.getRandomPosition();
+
+        // When
+        this.gameEvictor.advance(now + IDLE_TIMEOUT.toMillis() + 2 * TICK.toMillis());
+        final long spilledFiles = gameSpillStore.size();
+        final Game reloaded = this.gameService.getGame(1);
+        // the next shuffle of the game as if it wasn't evicted (the evicted copy isn't used anymore)
+        final Shoe uninterrupted = game.getShoe().copy();
+        uninterrupted.shuffle(this.listShuffleHelper, game.getRandomSource());
+
+        // Then
+        assertEquals(1, spilledFiles);
+        assertEquals(0, gameSpillStore.size());
+        assertNotSame(game, reloaded);
+        assertEquals(game.getVersion(), reloaded.getVersion());
+        assertEquals(game.getCreatedAt(), reloaded.getCreatedAt());
+        assertArrayEquals(undealtCodes, reloaded.getShoe().undealtCodes());
+        assertEquals(players, reloaded.rankPlayers(0, Integer.MAX_VALUE));
+        assertEquals(1, this.gameEvictor.getSpilledGames());
+        assertEquals(1, this.gameEvictor.getReloadedGames());
+        assertEquals(1, countEvents(GameEventType.GAME_RELOADED));
+        assertTrue(randomPosition > 0);
+        assertEquals(randomPosition, reloaded.getRandomPosition());
+        // the shuffles go on with the random numbers of the seed after the ones already used
+        this.gameService.shuffle(1);
+        assertArrayEquals(uninterrupted.undealtCodes(), reloaded.getShoe().undealtCodes());
+    }
+
+    @Test
+    void givenEvictedGamesWhenRecoverThenEvictionsAndReloadsAreReplayed()
+        throws Exception {
+
+        // Given
+        this.gameJournal = newJournal();
+        this.gameJournal.recover((event, sequence) -> {
+        });
+        startEvictor(IDLE_TIMEOUT, Duration.ZERO, true);
+        final long now = System.currentTimeMillis();
+        createSeededGame(1);
+        createSeededGame(2);
+        this.gameEvictor.advance(now + IDLE_TIMEOUT.toMillis() + 2 * TICK.toMillis());
+        final Game game = this.gameService.getGame(1);
+        this.gameService.dealRound(1, 1);
+        this.gameService.shuffle(1);
+
+        // When
+        this.gameJournal.close();
+        this.gameJournal = newJournal();
+        final GameRegistry recoveredRegistry = new GameRegistry();
+        final PlayerIdGenerator recoveredIdGenerator = new PlayerIdGenerator();
+        final GameSnapshotter recoveredSnapshotter = new GameSnapshotter(this.gameJournal, recoveredRegistry,
+            new LockingGameExecutor(recoveredRegistry), recoveredIdGenerator, this.directory.toString(), Duration.ZERO);
+        new GameRecovery(this.gameJournal, recoveredRegistry, new ListShuffleHelper(), recoveredIdGenerator,
+            recoveredSnapshotter).recover();
+
+        // Then
+        assertEquals(1, recoveredRegistry.size());
+        final Game recovered = recoveredRegistry.findById(1).orElseThrow();
+        assertEquals(game.getVersion(), recovered.getVersion());
+        assertEquals(game.getCreatedAt(), recovered.getCreatedAt());
+        assertArrayEquals(game.getShoe().undealtCodes(), recovered.getShoe().undealtCodes());
+        assertEquals(game.rankPlayers(0, Integer.MAX_VALUE), recovered.rankPlayers(0, Integer.MAX_VALUE));
+        assertEquals(game.getRandomPosition(), recovered.getRandomPosition());
+        assertTrue(recoveredIdGenerator.lastId() >= 4);
+    }
+
+    private void startEvictor(
+        final Duration idleTimeout,
+        final Duration ttl,
+        final boolean spill) {
+
+        this.gameEvictor = new GameEvictor(this.gameRegistry, this.gameExecutor, this.gameEventPublisher,
+            this.listShuffleHelper, idleTimeout, ttl, TICK, spill, this.directory.resolve("spill").toString());
+        this.gameEvictor.start();
+    }
+
+    private void createGame(
+        final int gameId)
+        throws Exception {
+
+        final Game game = new Game();
+        game.setGameId(gameId);
+        this.gameService.createGame(game);
+    }
+
+    /**
+     * Creates a seeded game with a deck and two players with two cards each (player ids gameId * 2 - 1 and gameId * 2)
+     */
+    private void createSeededGame(
+        final int gameId)
+        throws Exception {
+
+        final Game game = new Game();
+        game.setGameId(gameId);
+        game.setRandomStrategy(RandomStrategy.SEEDED);
+        game.setSeed(Long.valueOf(gameId));
+        this.gameService.createGame(game);
+        this.gameService.addDeck(gameId, new Deck());
+        this.gameService.addPlayer(gameId, new Player(gameId * 2 - 1));
+        this.gameService.addPlayer(gameId, new Player(gameId * 2));
+        this.gameService.shuffle(gameId);
+        this.gameService.dealRound(gameId, 2);
+    }
+
+    private long countEvents(
+        final GameEventType type) {
+
+        return this.events.stream().filter(event -> event.getType() == type).collect(Collectors.counting());
+    }
+
+    private GameJournal newJournal() {
+
+        return new GameJournal(this.directory.resolve("journal").toString(), DataSize.ofKilobytes(64), true,
+            Duration.ofMillis(10));
+    }
+
+}
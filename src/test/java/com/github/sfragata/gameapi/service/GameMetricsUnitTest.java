@@ -0,0 +1,81 @@
+package com.github.sfragata.gameapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import com.github.sfragata.gameapi.domain.Card;
+import com.github.sfragata.gameapi.domain.Deck;
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.domain.Player;
+import com.github.sfragata.gameapi.domain.Shoe;
+import com.github.sfragata.gameapi.event.GameEventHub;
+import com.github.sfragata.gameapi.event.GameEventPublisher;
+import com.github.sfragata.gameapi.helper.ListShuffleHelper;
+import com.github.sfragata.gameapi.journal.GameJournal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit test for GameMetrics class
+ * @author Silvio Fragata
+ *
+ */
+public class GameMetricsUnitTest {
+
+    public GameMetricsUnitTest() {
+
+        super();
+    }
+
+    @Test
+    void givenGamesWhenGaugesAreReadThenGamesAreMeasured() {
+
+        // Given
+        final GameRegistry gameRegistry = new GameRegistry();
+        final Game game = newGame(1, 2);
+        final Shoe shoe = new Shoe();
+        shoe.addCards(new Deck());
+        shoe.addCards(new Deck());
+        game.setShoe(shoe);
+        gameRegistry.putIfAbsent(game);
+        gameRegistry.putIfAbsent(newGame(2, 3));
+        final GameEvictor gameEvictor = new GameEvictor(gameRegistry, new LockingGameExecutor(gameRegistry),
+            new GameEventPublisher(), new ListShuffleHelper(), Duration.ZERO, Duration.ZERO, Duration.ofSeconds(1),
+            false, "");
+        final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        // When
+        new GameMetrics(gameRegistry, gameEvictor, new GameEventHub(),
+            new StaticListableBeanFactory().getBeanProvider(GameJournal.class)).bindTo(meterRegistry);
+
+        // Then
+        assertEquals(2, meterRegistry.get("gameapi.games").gauge().value());
+        assertEquals(2 * Card.CARD_KINDS, meterRegistry.get("gameapi.shoe.cards").gauge().value());
+        assertEquals(2 * Card.CARD_KINDS, meterRegistry.get("gameapi.shoe.cards.max").gauge().value());
+        assertEquals(5, meterRegistry.get("gameapi.players").gauge().value());
+        assertEquals(3, meterRegistry.get("gameapi.players.max").gauge().value());
+        assertEquals(0, meterRegistry.get("gameapi.eviction.games").tag("result", "evicted").functionCounter()
+            .count());
+        assertEquals(0, meterRegistry.get("gameapi.events.subscribers").gauge().value());
+        assertNull(meterRegistry.find("gameapi.journal.sequence").gauge());
+    }
+
+    private static Game newGame(
+        final int gameId,
+        final int players) {
+
+        final Game game = new Game();
+        game.setGameId(gameId);
+        for (int i = 0; i < players; i++) {
+            game.addPlayer(new Player(gameId * 10 + i));
+        }
+        return game;
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.github.sfragata.gameapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.sfragata.gameapi.GameApiApplication;
+
+/**
+ * Integration test for GameRecovery class: the application is killed in the middle of the games and started again
+ * with the same journal
+ * @author Silvio Fragata
+ *
+ */
+public class GameRecoveryIntegrationTest {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(90);
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    private Process application;
+
+    private int port;
+
+    public GameRecoveryIntegrationTest() {
+
+        super();
+    }
+
+    @AfterEach
+    void tearDown()
+        throws InterruptedException {
+
+        if (this.application != null) {
+            this.application.destroyForcibly().waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void givenGamesInProgressWhenApplicationIsKilledThenGamesAreRecovered()
+        throws Exception {
+
+        // Given
+        start();
+        assertEquals(201, send("POST", "/gameapi/1?random=SEEDED&seed=7").statusCode());
+        assertEquals(201, send("POST", "/gameapi/2").statusCode());
+        send("POST", "/gameapi/1/deck");
+        send("POST", "/gameapi/1/deck");
+        send("POST", "/gameapi/2/deck");
+        final int firstPlayer = json(send("POST", "/gameapi/1/player")).get("playerId").asInt();
+        final int secondPlayer = json(send("POST", "/gameapi/1/player")).get("playerId").asInt();
+        json(send("POST", "/gameapi/1/player"));
+        final int otherGamePlayer = json(send("POST", "/gameapi/2/player")).get("playerId").asInt();
+        assertEquals(204, send("POST", "/gameapi/1/shuffle").statusCode());
+        send("POST", "/gameapi/1/deal?cards=3");
+        send("POST", "/gameapi/2/player/" + otherGamePlayer + "/deal");
+        assertEquals(204, send("DELETE", "/gameapi/1/player/" + secondPlayer).statusCode());
+        assertEquals(204, send("POST", "/gameapi/2/shuffle").statusCode());
+        final JsonNode lastDeal = json(send("POST", "/gameapi/1/player/" + firstPlayer + "/deal"));
+        final JsonNode players = json(send("GET", "/gameapi/1/players"));
+        final JsonNode cardsBySuit = json(send("GET", "/gameapi/1/deck"));
+        final JsonNode remainingCards = json(send("GET", "/gameapi/1/deck/cards"));
+        final JsonNode otherGameCards = json(send("GET", "/gameapi/2/deck/cards"));
+
+        // When
+        this.application.destroyForcibly().waitFor(30, TimeUnit.SECONDS);
+        start();
+
+        // Then
+        assertEquals(players, json(send("GET", "/gameapi/1/players")));
+        assertEquals(cardsBySuit, json(send("GET", "/gameapi/1/deck")));
+        assertEquals(remainingCards, json(send("GET", "/gameapi/1/deck/cards")));
+        assertEquals(otherGameCards, json(send("GET", "/gameapi/2/deck/cards")));
+        final int newPlayer = json(send("POST", "/gameapi/1/player")).get("playerId").asInt();
+        assertTrue(newPlayer > otherGamePlayer);
+        final JsonNode deal = json(send("POST", "/gameapi/1/deal"));
+        assertEquals(lastDeal.get("version").asLong() + 2, deal.get("version").asLong());
+        assertEquals(lastDeal.get("remainingCards").asInt() - 3, deal.get("remainingCards").asInt());
+    }
+
+    private void start()
+        throws IOException, InterruptedException {
+
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            this.port = serverSocket.getLocalPort();
+        }
+        final Path log = this.directory.resolve("application-" + this.port + ".log");
+        this.application = new ProcessBuilder(Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+            "-cp", System.getProperty("java.class.path"), GameApiApplication.class.getName(),
+            "--server.port=" + this.port, "--gameapi.journal.enabled=true",
+            "--gameapi.journal.directory=" + this.directory.resolve("journal")).redirectErrorStream(true)
+                .redirectOutput(log.toFile()).start();
+
+        final long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!this.application.isAlive()) {
+                fail("The application didn't start:\n" + Files.readString(log));
+            }
+            try {
+                send("GET", "/gameapi/0/players");
+                return;
+            } catch (final ConnectException connectException) {
+                Thread.sleep(100);
+            }
+        }
+        fail("The application didn't start in " + STARTUP_TIMEOUT + ":\n" + Files.readString(log));
+    }
+
+    private HttpResponse<String> send(
+        final String method,
+        final String path)
+        throws IOException, InterruptedException {
+
+        final HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + this.port + path))
+            .method(method, HttpRequest.BodyPublishers.noBody()).timeout(Duration.ofSeconds(10)).build();
+        return this.httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private JsonNode json(
+        final HttpResponse<String> response)
+        throws IOException {
+
+        assertEquals(200, response.statusCode(), response.body());
+        return this.objectMapper.readTree(response.body());
+    }
+
+}
@@ -0,0 +1,180 @@
+package com.github.sfragata.gameapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.sfragata.gameapi.domain.Game;
+
+/**
+ * Unit test for GameRegistry class
+ * @author Silvio Fragata
+ *
+ */
+public class GameRegistryUnitTest {
+
+    private static final int GAME_ID = 1;
+
+    public GameRegistryUnitTest() {
+
+        super();
+    }
+
+    @Test
+    void givenGameWhenPutIfAbsentThenGameIsFound() {
+
+        final GameRegistry gameRegistry = new GameRegistry();
+        final Game game = createGame(GAME_ID);
+
+        assertTrue(gameRegistry.putIfAbsent(game));
+        assertSame(game, gameRegistry.findById(GAME_ID).orElseThrow());
+        assertEquals(1, gameRegistry.size());
+    }
+
+    @Test
+    void givenExistingGameWhenPutIfAbsentThenGameIsNotReplaced() {
+
+        final GameRegistry gameRegistry = new GameRegistry();
+        final Game game = createGame(GAME_ID);
+        gameRegistry.putIfAbsent(game);
+
+        assertFalse(gameRegistry.putIfAbsent(createGame(GAME_ID)));
+        assertSame(game, gameRegistry.findById(GAME_ID).orElseThrow());
+    }
+
+    @Test
+    void givenGameWhenRemoveThenGameIsNotFound() {
+
+        final GameRegistry gameRegistry = new GameRegistry();
+        gameRegistry.putIfAbsent(createGame(GAME_ID));
+
+        assertTrue(gameRegistry.remove(GAME_ID).isPresent());
+        assertFalse(gameRegistry.findById(GAME_ID).isPresent());
+        assertFalse(gameRegistry.remove(GAME_ID).isPresent());
+    }
+
+    @Test
+    void givenNullGameIdWhenFindByIdThenEmptyIsReturned() {
+
+        assertFalse(new GameRegistry().findById(null).isPresent());
+    }
+
+    @Test
+    void givenSameGameIdWhenGetLockThenSameLockIsReturned() {
+
+        final GameRegistry gameRegistry = new GameRegistry(16);
+
+        assertSame(gameRegistry.getLock(GAME_ID), gameRegistry.getLock(GAME_ID));
+        assertNotSame(gameRegistry.getLock(GAME_ID), gameRegistry.getLock(GAME_ID + 1));
+    }
+
+    @Test
+    void givenConcurrentCreationsOfSameGameWhenPutIfAbsentThenOnlyOneSucceeds()
+        throws InterruptedException {
+
+        final GameRegistry gameRegistry = new GameRegistry();
+        final int threads = 8;
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger created = new AtomicInteger();
+
+        for (int i = 0; i < threads; i++) {
+            executorService.execute(() -> {
+                try {
+                    start.await();
+                    if (gameRegistry.putIfAbsent(createGame(GAME_ID))) {
+                        created.incrementAndGet();
+                    }
+                } catch (final InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1, created.get());
+        assertEquals(1, gameRegistry.size());
+    }
+
+    @Test
+    void givenCallbacksWhenPutIfAbsentAndRemoveThenTheyRunHoldingTheGameLock() {
+
+        final GameRegistry gameRegistry = new GameRegistry(16);
+        final ReentrantLock lock = (ReentrantLock) gameRegistry.getLock(GAME_ID);
+        final AtomicInteger callbacks = new AtomicInteger();
+
+        assertTrue(gameRegistry.putIfAbsent(createGame(GAME_ID), game -> {
+            assertTrue(lock.isHeldByCurrentThread());
+            assertFalse(gameRegistry.findById(GAME_ID).isPresent());
+            callbacks.incrementAndGet();
+        }));
+        assertFalse(gameRegistry.putIfAbsent(createGame(GAME_ID), game -> callbacks.incrementAndGet()));
+        assertTrue(gameRegistry.remove(GAME_ID, game -> {
+            assertTrue(lock.isHeldByCurrentThread());
+            assertFalse(gameRegistry.findById(GAME_ID).isPresent());
+            callbacks.incrementAndGet();
+        }).isPresent());
+
+        assertEquals(2, callbacks.get());
+        assertFalse(lock.isLocked());
+    }
+
+    @Test
+    void givenConcurrentLookupsOfGameNotRegisteredWhenFindOrLoadThenItIsLoadedOnce()
+        throws InterruptedException {
+
+        final GameRegistry gameRegistry = new GameRegistry(16);
+        final AtomicInteger loads = new AtomicInteger();
+        gameRegistry.setLoader(gameId -> {
+            assertTrue(((ReentrantLock) gameRegistry.getLock(gameId)).isHeldByCurrentThread());
+            loads.incrementAndGet();
+            return createGame(gameId);
+        });
+        final int threads = 8;
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger found = new AtomicInteger();
+
+        for (int i = 0; i < threads; i++) {
+            executorService.execute(() -> {
+                try {
+                    start.await();
+                    if (gameRegistry.findOrLoad(GAME_ID).isPresent()) {
+                        found.incrementAndGet();
+                    }
+                } catch (final InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(threads, found.get());
+        assertEquals(1, loads.get());
+        assertEquals(1, gameRegistry.size());
+    }
+
+    private static Game createGame(
+        final int gameId) {
+
+        final Game game = new Game();
+        game.setGameId(gameId);
+        return game;
+    }
+
+}
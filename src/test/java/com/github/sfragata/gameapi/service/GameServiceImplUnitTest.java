@@ -6,6 +6,8 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
@@ -19,17 +21,27 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.github.sfragata.gameapi.domain.BatchDeal;
+import com.github.sfragata.gameapi.domain.Card;
 import com.github.sfragata.gameapi.domain.CardCount;
+import com.github.sfragata.gameapi.domain.DealRequest;
+import com.github.sfragata.gameapi.domain.DealResult;
 import com.github.sfragata.gameapi.domain.Deck;
+import com.github.sfragata.gameapi.domain.FaceValue;
 import com.github.sfragata.gameapi.domain.Game;
 import com.github.sfragata.gameapi.domain.Player;
+import com.github.sfragata.gameapi.domain.PlayerDeal;
 import com.github.sfragata.gameapi.domain.Suit;
+import com.github.sfragata.gameapi.event.GameEventPublisher;
 import com.github.sfragata.gameapi.exception.GameAlreadyExistsException;
 import com.github.sfragata.gameapi.exception.GameNotFoundException;
 import com.github.sfragata.gameapi.exception.PlayerNotFoundException;
 import com.github.sfragata.gameapi.helper.ListShuffleHelper;
+import com.github.sfragata.gameapi.helper.RandomSource;
+import com.github.sfragata.gameapi.helper.RandomStrategy;
 
 @ExtendWith(MockitoExtension.class)
 public class GameServiceImplUnitTest {
@@ -44,6 +56,15 @@ public class GameServiceImplUnitTest {
     @Mock
     private ListShuffleHelper listShuffleHelper;
 
+    @Spy
+    private GameRegistry gameRegistry = new GameRegistry();
+
+    @Spy
+    private GameExecutor gameExecutor = new LockingGameExecutor(this.gameRegistry);
+
+    @Spy
+    private GameEventPublisher gameEventPublisher = new GameEventPublisher();
+
     @InjectMocks
     private final GameServiceImpl gameService = new GameServiceImpl();
 
@@ -142,7 +163,7 @@ public class GameServiceImplUnitTest {
         final Player player = createPlayer();
         this.gameService.addPlayer(game.getGameId(), player);
 
-        when(this.playerService.getPlayer(eq(player.getPlayerId()), anyList())).thenReturn(player);
+        when(this.playerService.getPlayer(eq(player.getPlayerId()), any(Game.class))).thenReturn(player);
 
         // When
         this.gameService.removePlayer(game.getGameId(), player.getPlayerId());
@@ -151,7 +172,7 @@ public class GameServiceImplUnitTest {
         final Game gameReturned = this.gameService.getGame(game.getGameId());
         assertTrue(gameReturned.getPlayers().isEmpty());
 
-        verify(this.playerService).getPlayer(eq(player.getPlayerId()), anyList());
+        verify(this.playerService).getPlayer(eq(player.getPlayerId()), any(Game.class));
 
     }
 
@@ -171,6 +192,31 @@ public class GameServiceImplUnitTest {
 
     }
 
+    @Test
+    void givenGameAndPlayerWhenGetPlayerThenCopyOfThePlayerIsReturned()
+        throws GameAlreadyExistsException,
+        GameNotFoundException,
+        PlayerNotFoundException {
+
+        // Given
+        final Game game = createGame();
+        this.gameService.addDeck(game.getGameId(), new Deck());
+        final Player player = createPlayer();
+        this.gameService.addPlayer(game.getGameId(), player);
+        when(this.playerService.getPlayer(eq(player.getPlayerId()), any(Game.class))).thenReturn(player);
+        this.gameService.dealCard(game.getGameId(), player.getPlayerId());
+
+        // When
+        final Player playerReturned = this.gameService.getPlayer(game.getGameId(), player.getPlayerId());
+        this.gameService.dealCard(game.getGameId(), player.getPlayerId());
+
+        // Then
+        assertEquals(player.getPlayerId(), playerReturned.getPlayerId());
+        assertEquals(List.of(new Deck().getCards().get(0)), playerReturned.getCards());
+        assertEquals(new Deck().getCards().get(0).getFaceValue().getValue(), playerReturned.getTotalValue());
+        assertEquals(2, player.getCards().size());
+    }
+
     @Test
     void givenGameAndPlayerWhenDealCardsThanPlayerReceiveCard()
         throws GameAlreadyExistsException,
@@ -183,7 +229,7 @@ public class GameServiceImplUnitTest {
         final Player player = createPlayer();
         this.gameService.addPlayer(game.getGameId(), player);
 
-        when(this.playerService.getPlayer(eq(player.getPlayerId()), anyList())).thenReturn(player);
+        when(this.playerService.getPlayer(eq(player.getPlayerId()), any(Game.class))).thenReturn(player);
         // When
         final Game gameReturned = this.gameService.dealCards(game.getGameId(), player.getPlayerId());
         // Then
@@ -194,7 +240,54 @@ public class GameServiceImplUnitTest {
         final Player playerReturned = gameReturned.getPlayers().iterator().next();
 
         assertFalse(playerReturned.getCards().isEmpty());
-        verify(this.playerService).getPlayer(eq(player.getPlayerId()), anyList());
+        verify(this.playerService).getPlayer(eq(player.getPlayerId()), any(Game.class));
+
+    }
+
+    @Test
+    void givenGameAndPlayerWhenDealCardThenResultIsReturned()
+        throws GameAlreadyExistsException,
+        GameNotFoundException,
+        PlayerNotFoundException {
+
+        // Given
+        final Game game = createGame();
+        this.gameService.addDeck(game.getGameId(), new Deck());
+        final Player player = createPlayer();
+        this.gameService.addPlayer(game.getGameId(), player);
+        final long version = game.getVersion();
+
+        when(this.playerService.getPlayer(eq(player.getPlayerId()), any(Game.class))).thenReturn(player);
+        // When
+        final DealResult dealResult = this.gameService.dealCard(game.getGameId(), player.getPlayerId());
+        // Then
+        assertEquals(new Deck().getCards().get(0), dealResult.getCard());
+        assertEquals(player.getTotalValue(), dealResult.getTotalValue());
+        assertEquals(TOTAL_CARDS_DECK - 1, dealResult.getRemainingCards());
+        assertEquals(version + 1, dealResult.getVersion());
+        assertEquals(version + 1, game.getVersion());
+
+    }
+
+    @Test
+    void givenGamePlayerAndNullShoeWhenDealCardThenNoCardIsReturnedAndVersionIsKept()
+        throws GameAlreadyExistsException,
+        GameNotFoundException,
+        PlayerNotFoundException {
+
+        // Given
+        final Game game = createGame();
+        final Player player = createPlayer();
+        this.gameService.addPlayer(game.getGameId(), player);
+        final long version = game.getVersion();
+
+        when(this.playerService.getPlayer(eq(player.getPlayerId()), any(Game.class))).thenReturn(player);
+        // When
+        final DealResult dealResult = this.gameService.dealCard(game.getGameId(), player.getPlayerId());
+        // Then
+        assertNull(dealResult.getCard());
+        assertEquals(0, dealResult.getRemainingCards());
+        assertEquals(version, dealResult.getVersion());
 
     }
 
@@ -209,7 +302,7 @@ public class GameServiceImplUnitTest {
         final Player player = createPlayer();
         this.gameService.addPlayer(game.getGameId(), player);
 
-        when(this.playerService.getPlayer(eq(player.getPlayerId()), anyList())).thenReturn(player);
+        when(this.playerService.getPlayer(eq(player.getPlayerId()), any(Game.class))).thenReturn(player);
         // When
         final Game gameReturned = this.gameService.dealCards(game.getGameId(), player.getPlayerId());
         // Then
@@ -220,7 +313,129 @@ public class GameServiceImplUnitTest {
         final Player playerReturned = gameReturned.getPlayers().iterator().next();
 
         assertTrue(playerReturned.getCards().isEmpty());
-        verify(this.playerService).getPlayer(eq(player.getPlayerId()), anyList());
+        verify(this.playerService).getPlayer(eq(player.getPlayerId()), any(Game.class));
+
+    }
+
+    @Test
+    void givenGameAndTwoPlayersWhenDealRoundThenCardsAreDealtInRounds()
+        throws GameAlreadyExistsException,
+        GameNotFoundException {
+
+        // Given
+        final Game game = createGame();
+        this.gameService.addDeck(game.getGameId(), new Deck());
+        final Player player1 = new Player(1);
+        final Player player2 = new Player(2);
+        this.gameService.addPlayer(game.getGameId(), player1);
+        this.gameService.addPlayer(game.getGameId(), player2);
+        final List<Card> cards = new Deck().getCards();
+        // When
+        final BatchDeal batchDeal = this.gameService.dealRound(game.getGameId(), 2);
+        // Then
+        assertEquals(TOTAL_CARDS_DECK - 4, batchDeal.getRemainingCards());
+        assertEquals(2, batchDeal.getDeals().size());
+        final PlayerDeal playerDeal1 = batchDeal.getDeals().get(0);
+        assertEquals(player1.getPlayerId(), playerDeal1.getPlayerId());
+        assertEquals(List.of(cards.get(0), cards.get(2)), playerDeal1.getCards());
+        assertEquals(player1.getTotalValue(), playerDeal1.getTotalValue());
+        assertEquals(List.of(cards.get(1), cards.get(3)), batchDeal.getDeals().get(1).getCards());
+        assertEquals(List.of(cards.get(1), cards.get(3)), player2.getCards());
+
+    }
+
+    @Test
+    void givenGameAndPlayerWhenDealCardsBatchThenCardsAreDealt()
+        throws GameAlreadyExistsException,
+        GameNotFoundException,
+        PlayerNotFoundException {
+
+        // Given
+        final Game game = createGame();
+        this.gameService.addDeck(game.getGameId(), new Deck());
+        final Player player = createPlayer();
+        this.gameService.addPlayer(game.getGameId(), player);
+        when(this.playerService.getPlayer(eq(player.getPlayerId()), any(Game.class))).thenReturn(player);
+        // When
+        final BatchDeal batchDeal =
+            this.gameService.dealCards(game.getGameId(), List.of(new DealRequest(player.getPlayerId(), 3)));
+        // Then
+        assertEquals(TOTAL_CARDS_DECK - 3, batchDeal.getRemainingCards());
+        assertEquals(3, batchDeal.getDeals().get(0).getCards().size());
+        assertEquals(3, player.getCards().size());
+
+    }
+
+    @Test
+    void givenUnknownPlayerWhenDealCardsBatchThenNothingIsDealt()
+        throws GameAlreadyExistsException,
+        GameNotFoundException,
+        PlayerNotFoundException {
+
+        // Given
+        final Game game = createGame();
+        this.gameService.addDeck(game.getGameId(), new Deck());
+        final Player player = createPlayer();
+        this.gameService.addPlayer(game.getGameId(), player);
+        when(this.playerService.getPlayer(eq(player.getPlayerId()), any(Game.class))).thenReturn(player);
+        when(this.playerService.getPlayer(eq(2), any(Game.class))).thenThrow(new PlayerNotFoundException(2));
+        // When
+        final List<DealRequest> dealRequests = List.of(new DealRequest(player.getPlayerId(), 1), new DealRequest(2, 1));
+        assertThrows(PlayerNotFoundException.class, () -> this.gameService.dealCards(game.getGameId(), dealRequests));
+        // Then
+        assertTrue(player.getCards().isEmpty());
+        assertEquals(TOTAL_CARDS_DECK, game.getShoe().size());
+
+    }
+
+    @Test
+    void givenCountAboveTheShoeWhenDealThenIllegalArgumentExceptionIsThrownAndNothingIsDealt()
+        throws GameAlreadyExistsException,
+        GameNotFoundException,
+        PlayerNotFoundException {
+
+        // Given
+        final Game game = createGame();
+        this.gameService.addDeck(game.getGameId(), new Deck());
+        final Player player = createPlayer();
+        this.gameService.addPlayer(game.getGameId(), player);
+        when(this.playerService.getPlayer(eq(player.getPlayerId()), any(Game.class))).thenReturn(player);
+        // When
+        assertThrows(IllegalArgumentException.class,
+            () -> this.gameService.dealRound(game.getGameId(), Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> this.gameService.dealCards(game.getGameId(),
+            List.of(new DealRequest(player.getPlayerId(), 1), new DealRequest(player.getPlayerId(), 53))));
+        // Then
+        assertTrue(player.getCards().isEmpty());
+        assertEquals(TOTAL_CARDS_DECK, game.getShoe().size());
+
+    }
+
+    @Test
+    void givenTwoPlayersWhenDealRoundEmptiesTheShoeThenDealingStops()
+        throws GameAlreadyExistsException,
+        GameNotFoundException {
+
+        // Given
+        final Game game = createGame();
+        this.gameService.addDeck(game.getGameId(), new Deck());
+        this.gameService.addPlayer(game.getGameId(), new Player(1));
+        this.gameService.addPlayer(game.getGameId(), new Player(2));
+        // When
+        final BatchDeal batchDeal = this.gameService.dealRound(game.getGameId(), TOTAL_CARDS_DECK);
+        // Then
+        assertEquals(0, batchDeal.getRemainingCards());
+        assertEquals(TOTAL_CARDS_DECK / 2, batchDeal.getDeals().get(0).getCards().size());
+        assertEquals(TOTAL_CARDS_DECK / 2, batchDeal.getDeals().get(1).getCards().size());
+
+    }
+
+    @Test
+    void givenInvalidCountWhenDealRoundThenIllegalArgumentExceptionIsThrown()
+        throws GameAlreadyExistsException {
+
+        final Game game = createGame();
+        assertThrows(IllegalArgumentException.class, () -> this.gameService.dealRound(game.getGameId(), 0));
 
     }
 
@@ -242,6 +457,43 @@ public class GameServiceImplUnitTest {
 
     }
 
+    @Test
+    void givenPlayersWithCardsWhenListPlayersThanPlayersAreRanked()
+        throws GameAlreadyExistsException,
+        GameNotFoundException {
+
+        // Given
+        final Game game = createGame();
+        final Player player1 = new Player(1);
+        final Player player2 = new Player(2);
+        final Player player3 = new Player(3);
+        this.gameService.addPlayer(game.getGameId(), player1);
+        this.gameService.addPlayer(game.getGameId(), player2);
+        this.gameService.addPlayer(game.getGameId(), player3);
+        player2.addCard(Card.valueOf(Suit.HEARTS, FaceValue.KING));
+        player3.addCard(Card.valueOf(Suit.HEARTS, FaceValue.TWO));
+
+        // When
+        final List<Player> players = this.gameService.listPlayers(game.getGameId());
+        final List<Player> top = this.gameService.listPlayers(game.getGameId(), 0, 2);
+        final List<Player> lastPage = this.gameService.listPlayers(game.getGameId(), 2, 2);
+        // Then
+        assertEquals(List.of(player2, player3, player1), players);
+        assertEquals(List.of(player2, player3), top);
+        assertEquals(List.of(player1), lastPage);
+
+    }
+
+    @Test
+    void givenInvalidRangeWhenListPlayersThenIllegalArgumentExceptionIsThrown()
+        throws GameAlreadyExistsException {
+
+        final Game game = createGame();
+        assertThrows(IllegalArgumentException.class, () -> this.gameService.listPlayers(game.getGameId(), -1, 2));
+        assertThrows(IllegalArgumentException.class, () -> this.gameService.listPlayers(game.getGameId(), 0, 0));
+
+    }
+
     @Test
     void givenGameWhenListPlayersThanEmptyReturned()
         throws GameAlreadyExistsException,
@@ -289,7 +541,7 @@ public class GameServiceImplUnitTest {
         final Player player = createPlayer();
         this.gameService.addPlayer(game.getGameId(), player);
 
-        when(this.playerService.getPlayer(eq(player.getPlayerId()), anyList())).thenReturn(player);
+        when(this.playerService.getPlayer(eq(player.getPlayerId()), any(Game.class))).thenReturn(player);
         this.gameService.dealCards(game.getGameId(), player.getPlayerId());
         // When
         final Map<Suit, Integer> cardsBySuit = this.gameService.findCardsBySuit(game.getGameId());
@@ -347,7 +599,7 @@ public class GameServiceImplUnitTest {
         final Player player = createPlayer();
         this.gameService.addPlayer(game.getGameId(), player);
 
-        when(this.playerService.getPlayer(eq(player.getPlayerId()), anyList())).thenReturn(player);
+        when(this.playerService.getPlayer(eq(player.getPlayerId()), any(Game.class))).thenReturn(player);
         this.gameService.dealCards(game.getGameId(), player.getPlayerId());
         // When
         final List<CardCount> remaingCards = this.gameService.findRemaingCards(game.getGameId());
@@ -358,6 +610,27 @@ public class GameServiceImplUnitTest {
 
     }
 
+    @Test
+    void givenGameAnd2DecksWhenFindRemaingCardsThanCardListIsSortedBySuitAndFaceValueReversed()
+        throws GameAlreadyExistsException,
+        GameNotFoundException {
+
+        // Given
+        final Game game = createGame();
+        this.gameService.addDeck(game.getGameId(), new Deck());
+        this.gameService.addDeck(game.getGameId(), new Deck());
+        // When
+        final List<CardCount> remaingCards = this.gameService.findRemaingCards(game.getGameId());
+        // Then
+        assertEquals(TOTAL_CARDS_DECK, remaingCards.size());
+        assertEquals(new Card(Suit.HEARTS, FaceValue.KING), remaingCards.get(0).getCard());
+        assertEquals(new Card(Suit.DIAMONDS, FaceValue.ACE), remaingCards.get(TOTAL_CARDS_DECK - 1).getCard());
+        remaingCards.forEach(entry -> {
+            assertEquals(2, entry.getCount().intValue());
+        });
+
+    }
+
     @Test
     void givenGameWithoutCardsWhenFindRemaingCardsThanCardListEmptyIsReturned()
         throws GameAlreadyExistsException,
@@ -384,7 +657,29 @@ public class GameServiceImplUnitTest {
         // When
         this.gameService.shuffle(game.getGameId());
         // Then
-        verify(this.listShuffleHelper).shuffle(anyList());
+        verify(this.listShuffleHelper).shuffle(any(byte[].class), eq(0), eq(TOTAL_CARDS_DECK));
+
+    }
+
+    @Test
+    void givenGameWithRandomStrategyAndCardsWhenShuffleThenGameRandomSourceIsUsed()
+        throws GameAlreadyExistsException,
+        GameNotFoundException {
+
+        // Given
+        final RandomSource randomSource = bound -> 0;
+        when(this.listShuffleHelper.newRandomSource(RandomStrategy.SEEDED, 1L)).thenReturn(randomSource);
+        final Game game = new Game();
+        game.setGameId(1);
+        game.setRandomStrategy(RandomStrategy.SEEDED);
+        game.setSeed(1L);
+        this.gameService.createGame(game);
+        this.gameService.addDeck(game.getGameId(), new Deck());
+        // When
+        this.gameService.shuffle(game.getGameId());
+        // Then
+        verify(this.listShuffleHelper).shuffle(any(byte[].class), eq(0), eq(TOTAL_CARDS_DECK), eq(randomSource));
+        verify(this.listShuffleHelper, never()).shuffle(any(byte[].class), anyInt(), anyInt());
 
     }
 
@@ -398,7 +693,7 @@ public class GameServiceImplUnitTest {
         // When
         this.gameService.shuffle(game.getGameId());
         // Then
-        verify(this.listShuffleHelper, never()).shuffle(anyList());
+        verify(this.listShuffleHelper, never()).shuffle(any(byte[].class), anyInt(), anyInt());
 
     }
 
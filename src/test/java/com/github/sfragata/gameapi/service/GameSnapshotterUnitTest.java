@@ -0,0 +1,221 @@
+package com.github.sfragata.gameapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import com.github.sfragata.gameapi.domain.Deck;
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.domain.Player;
+import com.github.sfragata.gameapi.event.GameEventPublisher;
+import com.github.sfragata.gameapi.helper.ListShuffleHelper;
+import com.github.sfragata.gameapi.helper.RandomStrategy;
+import com.github.sfragata.gameapi.journal.GameJournal;
+import com.github.sfragata.gameapi.journal.GameSnapshotFile;
+
+/**
+ * Unit test for GameSnapshotter class, with the recovery of the games from the snapshot and the journal after it
+ * @author Silvio Fragata
+ *
+ */
+@ExtendWith(MockitoExtension.class)
+public class GameSnapshotterUnitTest {
+
+    private static final DataSize SEGMENT_SIZE = DataSize.ofBytes(256);
+
+    @TempDir
+    Path directory;
+
+    private GameJournal gameJournal;
+
+    @Spy
+    private PlayerService playerService = new PlayerServiceImpl();
+
+    @Spy
+    private ListShuffleHelper listShuffleHelper = new ListShuffleHelper();
+
+    @Spy
+    private GameRegistry gameRegistry = new GameRegistry();
+
+    @Spy
+    private GameExecutor gameExecutor = new LockingGameExecutor(this.gameRegistry);
+
+    @Spy
+    private GameEventPublisher gameEventPublisher =
+        new GameEventPublisher(List.of(event -> this.gameJournal.onEvent(event)));
+
+    @InjectMocks
+    private final GameServiceImpl gameService = new GameServiceImpl();
+
+    private final PlayerIdGenerator playerIdGenerator = new PlayerIdGenerator();
+
+    private GameSnapshotter gameSnapshotter;
+
+    public GameSnapshotterUnitTest() {
+
+        super();
+    }
+
+    @BeforeEach
+    void setUp() {
+
+        this.gameJournal = newJournal();
+        this.gameJournal.recover((event, sequence) -> {
+        });
+        this.gameSnapshotter = new GameSnapshotter(this.gameJournal, this.gameRegistry, this.gameExecutor,
+            this.playerIdGenerator, this.directory.toString(), Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        this.gameJournal.close();
+    }
+
+    @Test
+    void givenGamesWhenSnapshotThenGamesAreRecoveredFromSnapshotAndJournal()
+        throws Exception {
+
+        // Given
+        createGame(1, RandomStrategy.SEEDED, 3L);
+        createGame(2, null, null);
+        this.gameService.addDeck(1, new Deck());
+        this.gameService.addDeck(1, new Deck());
+        this.gameService.addDeck(2, new Deck());
+        addPlayer(1);
+        addPlayer(1);
+        addPlayer(2);
+        final int removedPlayer = addPlayer(1);
+        this.gameService.shuffle(1);
+        this.gameService.dealRound(1, 2);
+        this.gameService.removePlayer(1, removedPlayer);
+        final List<Path> segments = segments();
+
+        // When
+        final GameSnapshotFile snapshotFile = this.gameSnapshotter.snapshot();
+        this.gameService.dealRound(1, 1);
+        this.gameService.shuffle(1);
+        this.gameService.deleteGame(2);
+        createGame(3, null, null);
+        this.gameService.addDeck(3, new Deck());
+        addPlayer(3);
+        this.gameService.dealRound(3, 1);
+        this.gameJournal.close();
+
+        final GameRegistry recoveredRegistry = new GameRegistry();
+        final PlayerIdGenerator recoveredIdGenerator = new PlayerIdGenerator();
+        this.gameJournal = newJournal();
+        final GameSnapshotter recoveredSnapshotter = new GameSnapshotter(this.gameJournal, recoveredRegistry,
+            new LockingGameExecutor(recoveredRegistry), recoveredIdGenerator, this.directory.toString(), Duration.ZERO);
+        new GameRecovery(this.gameJournal, recoveredRegistry, new ListShuffleHelper(), recoveredIdGenerator,
+            recoveredSnapshotter).recover();
+
+        // Then
+        assertEquals(2, snapshotFile.getGames().size());
+        assertFalse(Files.exists(segments.get(0)));
+        assertEquals(2, recoveredRegistry.size());
+        assertFalse(recoveredRegistry.findById(2).isPresent());
+        for (final Game game : this.gameRegistry.getGames()) {
+            assertGame(game, recoveredRegistry.findById(game.getGameId()).orElseThrow());
+        }
+        assertEquals(this.playerIdGenerator.lastId(), recoveredIdGenerator.lastId());
+    }
+
+    @Test
+    void givenSnapshotWhenJournalIsMissingThenRecoveryFails()
+        throws Exception {
+
+        // Given
+        createGame(1, null, null);
+        this.gameService.addDeck(1, new Deck());
+        this.gameSnapshotter.snapshot();
+        this.gameJournal.close();
+        for (final Path segment : segments()) {
+            Files.delete(segment);
+        }
+
+        // When
+        final GameRegistry recoveredRegistry = new GameRegistry();
+        this.gameJournal = newJournal();
+        final GameRecovery gameRecovery = new GameRecovery(this.gameJournal, recoveredRegistry, new ListShuffleHelper(),
+            new PlayerIdGenerator(), new GameSnapshotter(this.gameJournal, recoveredRegistry,
+                new LockingGameExecutor(recoveredRegistry), new PlayerIdGenerator(), this.directory.toString(),
+                Duration.ZERO));
+
+        // Then
+        final IllegalStateException exception = assertThrows(IllegalStateException.class, gameRecovery::recover);
+        assertTrue(exception.getMessage().contains("before the snapshot"));
+    }
+
+    private void createGame(
+        final int gameId,
+        final RandomStrategy randomStrategy,
+        final Long seed)
+        throws Exception {
+
+        final Game game = new Game();
+        game.setGameId(gameId);
+        game.setRandomStrategy(randomStrategy);
+        game.setSeed(seed);
+        this.gameService.createGame(game);
+    }
+
+    private int addPlayer(
+        final int gameId)
+        throws Exception {
+
+        final int playerId = this.playerIdGenerator.nextId();
+        this.gameService.addPlayer(gameId, new Player(playerId));
+        return playerId;
+    }
+
+    private GameJournal newJournal() {
+
+        return new GameJournal(this.directory.toString(), SEGMENT_SIZE, true, Duration.ofMillis(10));
+    }
+
+    private List<Path> segments()
+        throws IOException {
+
+        try (Stream<Path> paths = Files.list(this.directory)) {
+            return paths.filter(path -> path.getFileName().toString().startsWith("journal-")).sorted()
+                .collect(Collectors.toList());
+        }
+    }
+
+    private static void assertGame(
+        final Game expected,
+        final Game actual) {
+
+        assertEquals(expected.getVersion(), actual.getVersion());
+        assertEquals(expected.getRandomStrategy(), actual.getRandomStrategy());
+        assertEquals(expected.getSeed(), actual.getSeed());
+        assertArrayEquals(expected.getShoe().undealtCodes(), actual.getShoe().undealtCodes());
+        assertEquals(expected.rankPlayers(0, Integer.MAX_VALUE), actual.rankPlayers(0, Integer.MAX_VALUE));
+        for (final Player player : expected.getPlayers()) {
+            assertEquals(player.getCards(), actual.findPlayer(player.getPlayerId()).getCards());
+            assertEquals(player.getTotalValue(), actual.findPlayer(player.getPlayerId()).getTotalValue());
+        }
+    }
+
+}
@@ -0,0 +1,199 @@
+package com.github.sfragata.gameapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.exception.GameBusyException;
+import com.github.sfragata.gameapi.exception.GameNotFoundException;
+import com.github.sfragata.gameapi.exception.PlayerNotFoundException;
+import com.github.sfragata.gameapi.helper.VirtualThreads;
+
+/**
+ * Unit test for MailboxGameExecutor class
+ * @author Silvio Fragata
+ *
+ */
+public class MailboxGameExecutorUnitTest {
+
+    private static final int GAME_ID = 1;
+
+    private final GameRegistry gameRegistry = new GameRegistry();
+
+    private MailboxGameExecutor gameExecutor;
+
+    private ExecutorService callers;
+
+    public MailboxGameExecutorUnitTest() {
+
+        super();
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        if (this.gameExecutor != null) {
+            this.gameExecutor.shutdown();
+        }
+        if (this.callers != null) {
+            this.callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void givenManyCallersWhenExecuteThenCommandsOfSameGameAreSerialized()
+        throws Exception {
+
+        // Given
+        final Game game = createGame(GAME_ID);
+        this.gameExecutor = new MailboxGameExecutor(this.gameRegistry, 1024, 4);
+        final int threads = 8;
+        final int commands = 1000;
+        this.callers = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        // When
+        for (int i = 0; i < threads; i++) {
+            this.callers.execute(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < commands; j++) {
+                        // not atomic on purpose, only safe if the commands don't run at the same time
+                        this.gameExecutor.execute(GAME_ID, g -> g.incrementVersion());
+                    }
+                } catch (final InterruptedException | GameNotFoundException exception) {
+                    throw new IllegalStateException(exception);
+                }
+            });
+        }
+        start.countDown();
+        this.callers.shutdown();
+        // Then
+        assertTrue(this.callers.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals((long) threads * commands, game.getVersion());
+    }
+
+    @Test
+    void givenFullMailboxWhenExecuteThenGameBusyExceptionIsThrown()
+        throws Exception {
+
+        // Given
+        createGame(GAME_ID);
+        this.gameExecutor = new MailboxGameExecutor(this.gameRegistry, 2, 1);
+        this.callers = Executors.newFixedThreadPool(2);
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Future<Game> first = this.callers.submit(() -> this.gameExecutor.execute(GAME_ID, game -> {
+            running.countDown();
+            release.await();
+            return game;
+        }));
+        assertTrue(running.await(10, TimeUnit.SECONDS));
+        final Future<Game> second = this.callers.submit(() -> this.gameExecutor.execute(GAME_ID, game -> game));
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (this.gameExecutor.pendingOperations(GAME_ID) < 2 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        // When
+        // Then
+        assertThrows(GameBusyException.class, () -> this.gameExecutor.execute(GAME_ID, game -> game));
+        release.countDown();
+        assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givenNotFoundGameWhenExecuteThenGameNotFoundExceptionIsThrown() {
+
+        // Given
+        this.gameExecutor = new MailboxGameExecutor(this.gameRegistry, 16, 1);
+        // When
+        // Then
+        assertThrows(GameNotFoundException.class, () -> this.gameExecutor.execute(GAME_ID, game -> game));
+        assertEquals(0, this.gameExecutor.mailboxCount());
+    }
+
+    @Test
+    void givenCommandThrowingCheckedExceptionWhenExecuteThenSameExceptionIsThrown() {
+
+        // Given
+        createGame(GAME_ID);
+        this.gameExecutor = new MailboxGameExecutor(this.gameRegistry, 16, 1);
+        final PlayerNotFoundException playerNotFoundException = new PlayerNotFoundException(1);
+        // When
+        // Then
+        assertSame(playerNotFoundException, assertThrows(PlayerNotFoundException.class,
+            () -> this.gameExecutor.execute(GAME_ID, game -> {
+                throw playerNotFoundException;
+            })));
+    }
+
+    @Test
+    void givenDeletedGameWhenExecuteThenGameNotFoundExceptionIsThrownAndMailboxIsReleased()
+        throws Exception {
+
+        // Given
+        createGame(GAME_ID);
+        this.gameExecutor = new MailboxGameExecutor(this.gameRegistry, 16, 1);
+        // When
+        this.gameExecutor.execute(GAME_ID, game -> this.gameRegistry.remove(GAME_ID));
+        // Then
+        assertThrows(GameNotFoundException.class, () -> this.gameExecutor.execute(GAME_ID, game -> game));
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (this.gameExecutor.mailboxCount() > 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(0, this.gameExecutor.mailboxCount());
+        assertFalse(this.gameRegistry.findById(GAME_ID).isPresent());
+    }
+
+    @Test
+    void givenNestedCommandOfSameGameWhenExecuteThenItRunsInline()
+        throws Exception {
+
+        // Given
+        final Game game = createGame(GAME_ID);
+        this.gameExecutor = new MailboxGameExecutor(this.gameRegistry, 16, 1);
+        // When
+        final Game nested = this.gameExecutor.execute(GAME_ID,
+            outer -> this.gameExecutor.execute(GAME_ID, inner -> inner));
+        // Then
+        assertSame(game, nested);
+    }
+
+    @Test
+    void givenVirtualThreadsWhenExecuteThenCommandRunsInMailboxThread()
+        throws Exception {
+
+        // Given
+        createGame(GAME_ID);
+        this.gameExecutor = new MailboxGameExecutor(this.gameRegistry, 16, 1, true);
+        // When
+        final Thread thread = this.gameExecutor.execute(GAME_ID, game -> Thread.currentThread());
+        // Then (a platform thread of the pool before Java 21)
+        assertTrue(thread.getName().startsWith("game-mailbox-"));
+        if (VirtualThreads.isAvailable()) {
+            assertEquals(Boolean.TRUE, Thread.class.getMethod("isVirtual").invoke(thread));
+        }
+    }
+
+    private Game createGame(
+        final int gameId) {
+
+        final Game game = new Game();
+        game.setGameId(gameId);
+        this.gameRegistry.putIfAbsent(game);
+        return game;
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.github.sfragata.gameapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.github.sfragata.gameapi.domain.DealResult;
+import com.github.sfragata.gameapi.exception.GameNotFoundException;
+import com.github.sfragata.gameapi.exception.PlayerNotFoundException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit test for MeteredGameService class
+ * @author Silvio Fragata
+ *
+ */
+@ExtendWith(MockitoExtension.class)
+public class MeteredGameServiceUnitTest {
+
+    @Mock
+    private GameServiceImpl gameServiceImpl;
+
+    private MeterRegistry meterRegistry;
+
+    private MeteredGameService gameService;
+
+    public MeteredGameServiceUnitTest() {
+
+        super();
+    }
+
+    @BeforeEach
+    void setUp() {
+
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.gameService = new MeteredGameService(this.gameServiceImpl, this.meterRegistry);
+    }
+
+    @Test
+    void givenOperationsWhenCalledThenTimersAreRecorded()
+        throws Exception {
+
+        // Given
+        final DealResult dealResult = new DealResult(1, 2, null, 0, 0, 1);
+        when(this.gameServiceImpl.dealCard(1, 2)).thenReturn(dealResult);
+
+        // When
+        final DealResult result = this.gameService.dealCard(1, 2);
+        this.gameService.dealCard(1, 2);
+        this.gameService.shuffle(1);
+
+        // Then
+        assertSame(dealResult, result);
+        assertEquals(2, timerCount("dealCard"));
+        assertEquals(1, timerCount("shuffle"));
+        assertEquals(0, timerCount("dealRound"));
+    }
+
+    @Test
+    void givenMissingGameAndPlayerWhenCalledThenErrorsAreCounted()
+        throws Exception {
+
+        // Given
+        doThrow(new GameNotFoundException(1)).when(this.gameServiceImpl).shuffle(1);
+        when(this.gameServiceImpl.dealCard(1, 2)).thenThrow(new PlayerNotFoundException(2));
+
+        // When
+        assertThrows(GameNotFoundException.class, () -> this.gameService.shuffle(1));
+        assertThrows(PlayerNotFoundException.class, () -> this.gameService.dealCard(1, 2));
+        assertThrows(PlayerNotFoundException.class, () -> this.gameService.dealCard(1, 2));
+
+        // Then
+        assertEquals(1, errorCount(GameNotFoundException.class));
+        assertEquals(2, errorCount(PlayerNotFoundException.class));
+        assertEquals(1, timerCount("shuffle"));
+        assertEquals(2, timerCount("dealCard"));
+    }
+
+    private long timerCount(
+        final String operation) {
+
+        return this.meterRegistry.get(MeteredGameService.TIMER).tag("operation", operation).timer().count();
+    }
+
+    private double errorCount(
+        final Class<? extends Exception> exception) {
+
+        return this.meterRegistry.get(MeteredGameService.ERRORS).tag("exception", exception.getSimpleName()).counter()
+            .count();
+    }
+
+}
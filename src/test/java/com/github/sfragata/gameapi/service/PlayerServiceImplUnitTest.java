@@ -1,17 +1,18 @@
 package com.github.sfragata.gameapi.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import com.github.sfragata.gameapi.domain.Game;
 import com.github.sfragata.gameapi.domain.Player;
 import com.github.sfragata.gameapi.exception.PlayerNotFoundException;
 
@@ -41,31 +42,48 @@ public class PlayerServiceImplUnitTest {
     void givenExistantPlayerIdWhenFindByIdThenPlayerIsReturned()
         throws PlayerNotFoundException {
 
-        final Player player = this.playerService.getPlayer(PLAYER_ID, players);
+        final Game game = new Game();
+        players.forEach(game::addPlayer);
 
-        assertNotNull(player);
+        final Player player = this.playerService.getPlayer(PLAYER_ID, game);
+
+        assertSame(game.findPlayer(PLAYER_ID), player);
         assertEquals(PLAYER_ID, player.getPlayerId());
     }
 
     @Test
-    void givenValidPlayerIdAndNullListWhenFindByIdThenPlayerNotFoundExceptionIsThrown() {
+    void givenValidPlayerIdAndNullGameWhenFindByIdThenPlayerNotFoundExceptionIsThrown() {
 
         assertThrows(PlayerNotFoundException.class, () -> this.playerService.getPlayer(PLAYER_ID, null));
 
     }
 
     @Test
-    void givenValidPlayerIdAndEmptyListWhenFindByIdThenPlayerNotFoundExceptionIsThrown() {
+    void givenValidPlayerIdAndGameWithoutPlayersWhenFindByIdThenPlayerNotFoundExceptionIsThrown() {
 
-        assertThrows(PlayerNotFoundException.class,
-            () -> this.playerService.getPlayer(PLAYER_ID, Collections.emptyList()));
+        assertThrows(PlayerNotFoundException.class, () -> this.playerService.getPlayer(PLAYER_ID, new Game()));
 
     }
 
     @Test
     void givenNonExistantPlayerIdWhenFindByIdThenPlayerNotFoundExceptionIsThrown() {
 
-        assertThrows(PlayerNotFoundException.class, () -> this.playerService.getPlayer(999, players));
+        final Game game = new Game();
+        players.forEach(game::addPlayer);
+
+        assertThrows(PlayerNotFoundException.class, () -> this.playerService.getPlayer(999, game));
+
+    }
+
+    @Test
+    void givenRemovedPlayerWhenFindByIdThenPlayerNotFoundExceptionIsThrown() {
+
+        final Game game = new Game();
+        players.forEach(game::addPlayer);
+        game.removePlayer(PLAYER_ID);
+
+        assertThrows(PlayerNotFoundException.class, () -> this.playerService.getPlayer(PLAYER_ID, game));
+        assertEquals(List.of(2), game.getPlayers().stream().map(Player::getPlayerId).collect(Collectors.toList()));
 
     }
 
@@ -0,0 +1,98 @@
+package com.github.sfragata.gameapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for TimerWheel class
+ * @author Silvio Fragata
+ *
+ */
+public class TimerWheelUnitTest {
+
+    private static final long TICK = 10;
+
+    public TimerWheelUnitTest() {
+
+        super();
+    }
+
+    @Test
+    void givenItemsWhenAdvanceThenOnlyItemsUpToNowExpire() {
+
+        // Given
+        final TimerWheel<String> timerWheel = new TimerWheel<>(TICK, 4, 1000);
+        timerWheel.schedule("past", 500);
+        timerWheel.schedule("soon", 1025);
+        // more than one round of the wheel
+        timerWheel.schedule("later", 1200);
+        final List<String> expired = new ArrayList<>();
+
+        // When
+        timerWheel.advance(1030, expired::add);
+        final List<String> expiredFirst = new ArrayList<>(expired);
+        timerWheel.advance(1199, expired::add);
+        final int sizeBeforeLater = timerWheel.size();
+        timerWheel.advance(1209, expired::add);
+
+        // Then
+        assertEquals(List.of("past", "soon"), expiredFirst);
+        assertEquals(1, sizeBeforeLater);
+        assertEquals(List.of("past", "soon", "later"), expired);
+        assertEquals(0, timerWheel.size());
+    }
+
+    @Test
+    void givenConsumerFailingWhenAdvanceThenOtherItemsAreKeptAndTheItemExpiresAgain() {
+
+        // Given
+        final TimerWheel<String> timerWheel = new TimerWheel<>(TICK, 1, 0);
+        timerWheel.schedule("later", 100);
+        timerWheel.schedule("failing", 15);
+        timerWheel.schedule("soon", 15);
+        final List<String> expired = new ArrayList<>();
+
+        // When
+        timerWheel.advance(19, item -> {
+            if ("failing".equals(item) && !expired.contains(item)) {
+                expired.add(item);
+                throw new IllegalStateException("Spill failed");
+            }
+            expired.add(item);
+        });
+        final int sizeAfterFailure = timerWheel.size();
+        timerWheel.advance(29, expired::add);
+        timerWheel.advance(109, expired::add);
+
+        // Then
+        assertEquals(2, sizeAfterFailure);
+        assertEquals(List.of("failing", "soon", "failing", "later"), expired);
+        assertEquals(0, timerWheel.size());
+    }
+
+    @Test
+    void givenItemRescheduledWhenExpiredThenItExpiresAgainLater() {
+
+        // Given
+        final TimerWheel<String> timerWheel = new TimerWheel<>(TICK, 1, 0);
+        timerWheel.schedule("item", 15);
+        final List<String> expired = new ArrayList<>();
+
+        // When
+        timerWheel.advance(19, item -> {
+            expired.add(item);
+            timerWheel.schedule(item, 0);
+        });
+        final int sizeAfterReschedule = timerWheel.size();
+        timerWheel.advance(29, expired::add);
+
+        // Then
+        assertEquals(1, sizeAfterReschedule);
+        assertEquals(List.of("item", "item"), expired);
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.github.sfragata.gameapi.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.HandlerMapping;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import reactor.core.publisher.Mono;
+
+/**
+ * Unit test for AccessLogWebFilter class
+ * @author Silvio Fragata
+ *
+ */
+public class AccessLogWebFilterUnitTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(AccessLog.LOGGER_NAME);
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    public AccessLogWebFilterUnitTest() {
+
+        super();
+    }
+
+    @BeforeEach
+    void setUp() {
+
+        this.appender.start();
+        this.logger.addAppender(this.appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        this.logger.detachAppender(this.appender);
+    }
+
+    @Test
+    void givenAllRequestsSampledWhenFilterThenRequestIsLoggedWithFields() {
+
+        // Given
+        final AccessLogWebFilter filter = new AccessLogWebFilter(1);
+        final MockServerWebExchange exchange =
+            MockServerWebExchange.from(MockServerHttpRequest.post("/gameapi/2/player/1/deal"));
+
+        // When
+        filter.filter(exchange, filtered -> {
+            filtered.getAttributes().put(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE,
+                Map.of("gameId", "2", "playerId", "1"));
+            filtered.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+            return Mono.empty();
+        }).block();
+
+        // Then
+        assertEquals(1, this.appender.list.size());
+        final String message = this.appender.list.get(0).getFormattedMessage();
+        assertTrue(message.startsWith("method=POST path=/gameapi/2/player/1/deal status=404 latencyMicros="));
+        assertTrue(message.endsWith(" gameId=2 playerId=1"));
+    }
+
+    @Test
+    void givenNoRequestSampledWhenFilterFailsThenServerErrorIsLogged() {
+
+        // Given
+        final AccessLogWebFilter filter = new AccessLogWebFilter(0);
+
+        // When
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/gameapi/2/deck")), filtered -> Mono.empty())
+            .block();
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/gameapi/2/deck")),
+            filtered -> Mono.error(new IllegalStateException())).onErrorResume(error -> Mono.empty()).block();
+
+        // Then
+        assertEquals(1, this.appender.list.size());
+        assertTrue(this.appender.list.get(0).getFormattedMessage().contains(" status=500 "));
+    }
+
+}
@@ -0,0 +1,179 @@
+package com.github.sfragata.gameapi.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.github.sfragata.gameapi.domain.BatchDeal;
+import com.github.sfragata.gameapi.domain.Card;
+import com.github.sfragata.gameapi.domain.DealResult;
+import com.github.sfragata.gameapi.domain.FaceValue;
+import com.github.sfragata.gameapi.domain.Game;
+import com.github.sfragata.gameapi.domain.Suit;
+import com.github.sfragata.gameapi.exception.GameAlreadyExistsException;
+import com.github.sfragata.gameapi.exception.GameBusyException;
+import com.github.sfragata.gameapi.exception.GameNotFoundException;
+import com.github.sfragata.gameapi.exception.PlayerNotFoundException;
+import com.github.sfragata.gameapi.service.GameService;
+import com.github.sfragata.gameapi.service.PlayerIdGenerator;
+
+/**
+ * Unit test for GameRoutes and GameHandler classes
+ * @author Silvio Fragata
+ *
+ */
+public class GameRoutesUnitTest {
+
+    private static final String BASE_PATH = "/gameapi";
+
+    private final GameService gameService = mock(GameService.class);
+
+    private final WebTestClient client = WebTestClient.bindToRouterFunction(new GameRoutes().gameRouterFunction(
+        new GameHandler(this.gameService, new PlayerIdGenerator(), false, true, "lock", false, false,
+            false))).build();
+
+    public GameRoutesUnitTest() {
+
+        super();
+    }
+
+    @Test
+    void givenNewGameWhenCreateThenCreatedIsReturned()
+        throws Exception {
+
+        // When
+        this.client.post().uri(BASE_PATH + "/1?random=SECURE").exchange()
+            // Then
+            .expectStatus().isCreated();
+        verify(this.gameService).createGame(any(Game.class));
+    }
+
+    @Test
+    void givenExistingGameWhenCreateThenBadRequestIsReturned()
+        throws Exception {
+
+        // Given
+        doThrow(new GameAlreadyExistsException(1)).when(this.gameService).createGame(any(Game.class));
+
+        // When
+        this.client.post().uri(BASE_PATH + "/1").exchange()
+            // Then
+            .expectStatus().isBadRequest().expectBody(String.class).isEqualTo("Game 1 already exists");
+    }
+
+    @Test
+    void givenInvalidRandomStrategyWhenCreateThenBadRequestIsReturned()
+        throws Exception {
+
+        // When
+        this.client.post().uri(BASE_PATH + "/1?random=DICE").exchange()
+            // Then
+            .expectStatus().isBadRequest();
+        verify(this.gameService, never()).createGame(any(Game.class));
+    }
+
+    @Test
+    void givenPlayerWhenDealThenDealResultIsReturned()
+        throws Exception {
+
+        // Given
+        when(this.gameService.dealCard(1, 1))
+            .thenReturn(new DealResult(1, 1, new Card(Suit.SPADES, FaceValue.ACE), 1, 51, 3));
+
+        // When
+        this.client.post().uri(BASE_PATH + "/1/player/1/deal").exchange()
+            // Then
+            .expectStatus().isOk().expectBody().jsonPath("$.card.faceValue").isEqualTo("ACE")
+            .jsonPath("$.remainingCards").isEqualTo(51).jsonPath("$.version").isEqualTo(3);
+    }
+
+    @Test
+    void givenMissingPlayerWhenDealThenNotFoundIsReturned()
+        throws Exception {
+
+        // Given
+        when(this.gameService.dealCard(1, 1)).thenThrow(new PlayerNotFoundException(1));
+
+        // When
+        this.client.post().uri(BASE_PATH + "/1/player/1/deal").exchange()
+            // Then
+            .expectStatus().isNotFound().expectBody(String.class).isEqualTo("Player 1 not found");
+    }
+
+    @Test
+    void givenBodyWhenDealBatchThenCardsOfTheBodyAreDealt()
+        throws Exception {
+
+        // Given
+        when(this.gameService.dealCards(anyInt(), anyList())).thenReturn(new BatchDeal(1, List.of(), 40, 7));
+
+        // When
+        this.client.post().uri(BASE_PATH + "/1/deal").contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("[{\"playerId\":1,\"count\":2}]").exchange()
+            // Then
+            .expectStatus().isOk().expectBody().jsonPath("$.remainingCards").isEqualTo(40);
+        verify(this.gameService, never()).dealRound(anyInt(), anyInt());
+    }
+
+    @Test
+    void givenNoBodyWhenDealBatchThenRoundsAreDealt()
+        throws Exception {
+
+        // Given
+        when(this.gameService.dealRound(1, 2)).thenReturn(new BatchDeal(1, List.of(), 38, 9));
+
+        // When
+        this.client.post().uri(BASE_PATH + "/1/deal?cards=2").exchange()
+            // Then
+            .expectStatus().isOk().expectBody().jsonPath("$.version").isEqualTo(9);
+    }
+
+    @Test
+    void givenInvalidPageWhenListPlayersThenBadRequestIsReturned()
+        throws Exception {
+
+        // When
+        this.client.get().uri(BASE_PATH + "/1/players?page=-1").exchange()
+            // Then
+            .expectStatus().isBadRequest().expectBody(String.class).isEqualTo("Invalid page -1 of size 20");
+    }
+
+    @Test
+    void givenMissingGameWhenShuffleThenNotFoundIsReturned()
+        throws Exception {
+
+        // Given
+        doThrow(new GameNotFoundException(1)).when(this.gameService).shuffle(1);
+
+        // When
+        this.client.post().uri(BASE_PATH + "/1/shuffle").exchange()
+            // Then
+            .expectStatus().isNotFound().expectBody(String.class).isEqualTo("Game 1 not found");
+    }
+
+    @Test
+    void givenBusyGameWhenDealThenTooManyRequestsIsReturned()
+        throws Exception {
+
+        // Given
+        when(this.gameService.dealCard(1, 1)).thenThrow(new GameBusyException(1));
+
+        // When
+        this.client.post().uri(BASE_PATH + "/1/player/1/deal").exchange()
+            // Then
+            .expectStatus().isEqualTo(429).expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "1");
+    }
+
+}